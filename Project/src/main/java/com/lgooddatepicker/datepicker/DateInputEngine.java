@@ -0,0 +1,400 @@
+package com.lgooddatepicker.datepicker;
+
+import com.lgooddatepicker.optionalusertools.AsyncDateVetoPolicy;
+import com.lgooddatepicker.optionalusertools.DateHighlightPolicy;
+import com.lgooddatepicker.optionalusertools.DateVetoPolicy;
+import com.lgooddatepicker.zinternaltools.DateParsePlan;
+import com.lgooddatepicker.zinternaltools.IndicatorState;
+import com.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.lgooddatepicker.zinternaltools.LazyFormatterList;
+import com.lgooddatepicker.zinternaltools.LocaleDefaults;
+import com.lgooddatepicker.zinternaltools.LocaleDefaults.DateDefaults;
+import com.lgooddatepicker.zinternaltools.ParsedInput;
+import java.time.LocalDate;
+import java.time.chrono.IsoEra;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * DateInputEngine, This holds the date parsing, formatting, and validation rules of a date picker,
+ * without any Swing components. The date picker uses a date input engine to validate its text, so
+ * an engine that is built with the same settings gives exactly the same results as the date
+ * picker. This can be used to run the date picker validation on a server.
+ *
+ * A date input engine is immutable, and it is safe to share between any number of threads. The
+ * veto policy and the highlight policy of a shared engine must also be safe to call from those
+ * threads. (RecurrenceVetoPolicy and DateRangeVetoPolicy are both safe to share.) The engine
+ * parses text with a private DateParsePlan, which only changes the order in which the formatters
+ * are tried. The engine does not use any Swing classes.
+ *
+ * A date input engine can be created from a DatePickerSettings instance with
+ * DatePickerSettings.getInputEngine(), or without any picker settings by using a Builder.
+ *
+ * Example usage:
+ *
+ * DateInputEngine engine = new DateInputEngine.Builder(Locale.US)
+ * .vetoPolicy(myVetoPolicy).build();
+ * ParsedInput&lt;LocalDate&gt; input = engine.validate("March 5, 2016");
+ */
+public final class DateInputEngine {
+
+    /**
+     * allowEmptyDates, This indicates whether or not empty text is a valid date.
+     */
+    private final boolean allowEmptyDates;
+
+    /**
+     * formatForDatesBeforeCommonEra, This holds the format for displaying and parsing BC dates.
+     */
+    private final DateTimeFormatter formatForDatesBeforeCommonEra;
+
+    /**
+     * formatForDatesCommonEra, This holds the format for displaying and parsing AD dates.
+     */
+    private final DateTimeFormatter formatForDatesCommonEra;
+
+    /**
+     * highlightPolicy, This holds the highlight policy, or null.
+     */
+    private final DateHighlightPolicy highlightPolicy;
+
+    /**
+     * locale, This holds the locale of the engine.
+     */
+    private final Locale locale;
+
+    /**
+     * parsePlan, This holds the parse plan that is used to parse text. The parse plan holds the era
+     * formatters and the parsing formats of the engine. If the engine uses the default parsing
+     * formats of its locale, then those are only generated the first time that they are needed.
+     */
+    private final DateParsePlan parsePlan;
+
+    /**
+     * vetoPolicy, This holds the veto policy, or null.
+     */
+    private final DateVetoPolicy vetoPolicy;
+
+    /**
+     * Constructor, This creates an engine from the values of the supplied builder. Use
+     * Builder.build() to create an engine.
+     */
+    private DateInputEngine(Builder builder) {
+        this.allowEmptyDates = builder.allowEmptyDates;
+        this.formatForDatesBeforeCommonEra = builder.formatForDatesBeforeCommonEra;
+        this.formatForDatesCommonEra = builder.formatForDatesCommonEra;
+        this.highlightPolicy = builder.highlightPolicy;
+        this.locale = builder.locale;
+        this.vetoPolicy = builder.vetoPolicy;
+        this.parsePlan = (builder.parsePlan != null) ? builder.parsePlan
+                : new DateParsePlan(formatForDatesCommonEra, formatForDatesBeforeCommonEra,
+                        builder.formatsForParsing, locale);
+    }
+
+    /**
+     * formatDate, This returns the standard text for the supplied date, as it would be displayed in
+     * the date picker text field. AD dates use the common era format, and BC dates use the before
+     * common era format. This returns an empty string ("") for a null date.
+     */
+    public String formatDate(LocalDate date) {
+        if (date == null) {
+            return "";
+        }
+        return (date.getEra() == IsoEra.CE)
+                ? date.format(formatForDatesCommonEra) : date.format(formatForDatesBeforeCommonEra);
+    }
+
+    /**
+     * getAllowEmptyDates, This returns true if empty text is a valid date.
+     */
+    public boolean getAllowEmptyDates() {
+        return allowEmptyDates;
+    }
+
+    /**
+     * getHighlightPolicy, This returns the highlight policy, or null.
+     */
+    public DateHighlightPolicy getHighlightPolicy() {
+        return highlightPolicy;
+    }
+
+    /**
+     * getHighlightStringOrNull, This returns the highlight string of the supplied date, from the
+     * highlight policy. This returns null if there is no highlight policy, if the date is null, or
+     * if the date is not highlighted.
+     */
+    public String getHighlightStringOrNull(LocalDate date) {
+        if (highlightPolicy == null || date == null) {
+            return null;
+        }
+        return highlightPolicy.getHighlightStringOrNull(date);
+    }
+
+    /**
+     * getLocale, This returns the locale of the engine.
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * getParsePlan, This returns the parse plan of the engine. The date picker settings expose the
+     * parse plan of their current engine, so that the hit counters can be read.
+     */
+    DateParsePlan getParsePlan() {
+        return parsePlan;
+    }
+
+    /**
+     * getVetoPolicy, This returns the veto policy, or null.
+     */
+    public DateVetoPolicy getVetoPolicy() {
+        return vetoPolicy;
+    }
+
+    /**
+     * isDateAllowed, This returns true if the supplied date would be accepted by the date picker.
+     * A null date is allowed if empty dates are allowed. Any other date is allowed if it is not
+     * vetoed.
+     */
+    public boolean isDateAllowed(LocalDate date) {
+        if (date == null) {
+            return allowEmptyDates;
+        }
+        return !isDateVetoed(date);
+    }
+
+    /**
+     * isDateVetoed, This returns true if the supplied date is vetoed by the veto policy. A null
+     * date is never vetoed.
+     */
+    public boolean isDateVetoed(LocalDate date) {
+        return InternalUtilities.isDateVetoed(vetoPolicy, date);
+    }
+
+    /**
+     * parseDateOrNull, This tries to parse the supplied text into a date, with the same lenient
+     * rules that the date picker applies to typed text. This returns null if the text is empty or
+     * cannot be parsed. Nonexistent dates, such as February 31, are not accepted.
+     */
+    public LocalDate parseDateOrNull(String text) {
+        return parsePlan.getParsedDateOrNull(text);
+    }
+
+    /**
+     * validate, This parses the supplied text and checks it against the veto policy and the
+     * allowEmptyDates setting. The result holds the parsed date, the veto verdict, and the
+     * indicator state that the date picker would show for the text. An asynchronous veto policy is
+     * asked with its synchronous isDateAllowed() function.
+     */
+    public ParsedInput<LocalDate> validate(String text) {
+        LocalDate parsedDate = parseDateOrNull(text);
+        return zCreateParsedInput(text, parsedDate, isDateVetoed(parsedDate));
+    }
+
+    /**
+     * validateAsync, This parses and validates the supplied text in the same way as validate(),
+     * except that an AsyncDateVetoPolicy is asked with its isDateAllowedAsync() function. The
+     * returned future completes with the result when the veto answer arrives. A veto answer that
+     * fails is treated as a vetoed date. The returned future never completes exceptionally.
+     *
+     * If the veto policy is not asynchronous, or if the text does not hold a parsable date, then
+     * the returned future is already complete. The date picker uses this to validate its text.
+     */
+    public CompletableFuture<ParsedInput<LocalDate>> validateAsync(String text) {
+        LocalDate parsedDate = parseDateOrNull(text);
+        if ((parsedDate == null) || !(vetoPolicy instanceof AsyncDateVetoPolicy)) {
+            return CompletableFuture.completedFuture(
+                    zCreateParsedInput(text, parsedDate, isDateVetoed(parsedDate)));
+        }
+        return ((AsyncDateVetoPolicy) vetoPolicy).isDateAllowedAsync(parsedDate).handle(
+                (allowed, error) -> zCreateParsedInput(text, parsedDate,
+                        (error != null) || (!Boolean.TRUE.equals(allowed))));
+    }
+
+    /**
+     * zCreateParsedInput, This creates the validation result for the supplied text, when the text
+     * has already been parsed into the supplied date (or null), and the veto verdict is known.
+     */
+    private ParsedInput<LocalDate> zCreateParsedInput(String text, LocalDate parsedDate,
+            boolean dateIsVetoed) {
+        if (text == null || text.trim().isEmpty()) {
+            IndicatorState state = (allowEmptyDates)
+                    ? IndicatorState.ValidFullOrEmptyValue : IndicatorState.DisallowedEmptyValue;
+            return new ParsedInput<>(text, null, false, state);
+        }
+        if (parsedDate == null) {
+            return new ParsedInput<>(text, null, false, IndicatorState.UnparsableValue);
+        }
+        IndicatorState state = (dateIsVetoed)
+                ? IndicatorState.VetoedValue : IndicatorState.ValidFullOrEmptyValue;
+        return new ParsedInput<>(text, parsedDate, dateIsVetoed, state);
+    }
+
+    /**
+     * Builder, This is used to create a date input engine. The builder starts with the default
+     * formatters of the supplied locale, allows empty dates, and has no policies. A builder may be
+     * used to create more than one engine.
+     */
+    static public class Builder {
+
+        /**
+         * allowEmptyDates, This indicates whether or not empty text is a valid date.
+         */
+        private boolean allowEmptyDates = true;
+
+        /**
+         * formatForDatesBeforeCommonEra, This holds the format for BC dates.
+         */
+        private DateTimeFormatter formatForDatesBeforeCommonEra;
+
+        /**
+         * formatForDatesCommonEra, This holds the format for AD dates.
+         */
+        private DateTimeFormatter formatForDatesCommonEra;
+
+        /**
+         * formatsForParsing, This holds the parsing formats, or null to use the default parsing
+         * formats of the locale.
+         */
+        private ArrayList<DateTimeFormatter> formatsForParsing;
+
+        /**
+         * highlightPolicy, This holds the highlight policy, or null.
+         */
+        private DateHighlightPolicy highlightPolicy = null;
+
+        /**
+         * locale, This holds the locale of the engine.
+         */
+        private final Locale locale;
+
+        /**
+         * parsePlan, This holds a parse plan to reuse, or null to create a new parse plan. This is
+         * only set by the date picker settings, when the formatters have not changed since the
+         * previous engine was created, so that the hit counters of the plan are kept.
+         */
+        private DateParsePlan parsePlan = null;
+
+        /**
+         * vetoPolicy, This holds the veto policy, or null.
+         */
+        private DateVetoPolicy vetoPolicy = null;
+
+        /**
+         * Constructor, This creates a builder with the default formatters of the supplied locale.
+         * These are the same default formatters that are used by a new DatePickerSettings instance
+         * with the same locale.
+         */
+        public Builder(Locale locale) {
+            // Use the same Hindi locale correction as the date picker settings.
+            if ("hi".equals(locale.getLanguage()) && (locale.getCountry().isEmpty())) {
+                locale = new Locale("hi", "IN");
+            }
+            this.locale = locale;
+            DateDefaults defaults = LocaleDefaults.getDateDefaults(locale);
+            formatForDatesCommonEra = defaults.getFormatForDatesCommonEra();
+            formatForDatesBeforeCommonEra = defaults.getFormatForDatesBeforeCommonEra();
+            formatsForParsing = null;
+        }
+
+        /**
+         * Constructor, This creates a builder with the current values of the supplied date picker
+         * settings.
+         */
+        public Builder(DatePickerSettings settings) {
+            this.locale = settings.getLocale();
+            allowEmptyDates = settings.getAllowEmptyDates();
+            formatForDatesCommonEra = settings.getFormatForDatesCommonEra();
+            formatForDatesBeforeCommonEra = settings.getFormatForDatesBeforeCommonEra();
+            formatsForParsing = (settings.formatsForParsing == null
+                    || !LazyFormatterList.isGenerated(settings.formatsForParsing))
+                    ? null : new ArrayList<>(settings.formatsForParsing);
+            highlightPolicy = settings.highlightPolicy;
+            vetoPolicy = settings.getVetoPolicy();
+        }
+
+        /**
+         * allowEmptyDates, This sets whether or not empty text is a valid date.
+         */
+        public Builder allowEmptyDates(boolean allowEmptyDates) {
+            this.allowEmptyDates = allowEmptyDates;
+            return this;
+        }
+
+        /**
+         * build, This creates a date input engine with the values of this builder.
+         */
+        public DateInputEngine build() {
+            return new DateInputEngine(this);
+        }
+
+        /**
+         * formatForDatesBeforeCommonEra, This sets the format for displaying and parsing BC dates.
+         * The formatter may not be null.
+         */
+        public Builder formatForDatesBeforeCommonEra(DateTimeFormatter formatter) {
+            if (formatter == null) {
+                throw new RuntimeException("DateInputEngine.Builder."
+                        + "formatForDatesBeforeCommonEra(), The formatter may not be null.");
+            }
+            this.formatForDatesBeforeCommonEra = formatter;
+            this.parsePlan = null;
+            return this;
+        }
+
+        /**
+         * formatForDatesCommonEra, This sets the format for displaying and parsing AD dates. The
+         * formatter may not be null.
+         */
+        public Builder formatForDatesCommonEra(DateTimeFormatter formatter) {
+            if (formatter == null) {
+                throw new RuntimeException("DateInputEngine.Builder.formatForDatesCommonEra(), "
+                        + "The formatter may not be null.");
+            }
+            this.formatForDatesCommonEra = formatter;
+            this.parsePlan = null;
+            return this;
+        }
+
+        /**
+         * formatsForParsing, This sets the extra parsing formats, which are tried in order after
+         * the AD and BC formats. The list is copied.
+         */
+        public Builder formatsForParsing(List<DateTimeFormatter> formatsForParsing) {
+            this.formatsForParsing = (formatsForParsing == null)
+                    ? new ArrayList<>() : new ArrayList<>(formatsForParsing);
+            this.parsePlan = null;
+            return this;
+        }
+
+        /**
+         * highlightPolicy, This sets the highlight policy. The policy may be null.
+         */
+        public Builder highlightPolicy(DateHighlightPolicy highlightPolicy) {
+            this.highlightPolicy = highlightPolicy;
+            return this;
+        }
+
+        /**
+         * reuseParsePlan, This makes the engine use the supplied parse plan, instead of creating a
+         * new one. The plan must have been created for the same formatters as this builder. This
+         * is only intended to be called by the date picker settings.
+         */
+        Builder reuseParsePlan(DateParsePlan parsePlan) {
+            this.parsePlan = parsePlan;
+            return this;
+        }
+
+        /**
+         * vetoPolicy, This sets the veto policy. The policy may be null.
+         */
+        public Builder vetoPolicy(DateVetoPolicy vetoPolicy) {
+            this.vetoPolicy = vetoPolicy;
+            return this;
+        }
+    }
+}
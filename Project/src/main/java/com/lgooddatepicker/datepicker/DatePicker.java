@@ -5,23 +5,26 @@ import com.jgoodies.forms.factories.*;
 import com.jgoodies.forms.layout.*;
 import com.lgooddatepicker.zinternaltools.CalendarPanel;
 import java.awt.*;
-import com.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.lgooddatepicker.zinternaltools.ParsedInput;
 import com.lgooddatepicker.optionalusertools.DateChangeListener;
+import com.lgooddatepicker.optionalusertools.PickerBatchUpdate;
 import com.lgooddatepicker.optionalusertools.PickerUtilities;
 import java.awt.event.*;
 import javax.swing.*;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.chrono.IsoEra;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import com.lgooddatepicker.zinternaltools.Convert;
 import com.lgooddatepicker.zinternaltools.CustomPopup;
 import com.lgooddatepicker.zinternaltools.CustomPopup.CustomPopupCloseListener;
 import com.lgooddatepicker.zinternaltools.DateChangeEvent;
+import com.lgooddatepicker.zinternaltools.ListenerRegistry;
+import com.lgooddatepicker.zinternaltools.ParsedTextCache;
+import com.lgooddatepicker.zinternaltools.IndicatorState;
 import java.util.ArrayList;
-import com.lgooddatepicker.optionalusertools.DateVetoPolicy;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * DatePicker, This class implements a date picker GUI component.
@@ -68,10 +71,12 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     private Convert convert;
 
     /**
-     * dateChangeListeners, This holds a list of date change listeners that wish to be notified each
-     * time that the last valid date is changed.
+     * dateChangeListeners, This holds the date change listeners that wish to be notified each time
+     * that the last valid date is changed. Listeners can be added or removed from any thread, and
+     * during the dispatch of an event.
      */
-    private ArrayList<DateChangeListener> dateChangeListeners = new ArrayList<>();
+    private final ListenerRegistry<DateChangeListener> dateChangeListeners
+            = new ListenerRegistry<>(new DateChangeListener[0]);
 
     /**
      * lastPopupCloseTime, This holds a timestamp that indicates when the calendar was last closed.
@@ -91,6 +96,26 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
      */
     private LocalDate lastValidDate = null;
 
+    /**
+     * parseCache, This holds the most recent parse result for the text of this date picker. This
+     * allows the text to be parsed and checked against the veto policy only once per text change,
+     * even though the result is used by more than one function.
+     */
+    private ParsedTextCache<LocalDate> parseCache = new ParsedTextCache<>();
+
+    /**
+     * pooledCalendarPanel, This holds the calendar panel that is kept for reuse, when the settings
+     * specify that a pooled popup should be used. Otherwise this is null.
+     */
+    private CalendarPanel pooledCalendarPanel = null;
+
+    /**
+     * pooledPopup, This holds the custom popup that is kept for reuse, when the settings specify
+     * that a pooled popup should be used. Otherwise this is null. The pooled popup always contains
+     * the pooledCalendarPanel.
+     */
+    private CustomPopup pooledPopup = null;
+
     /**
      * popup, This is the custom popup instance for this date picker. This should remain null until
      * a popup is opened. Creating a custom popup class allowed us to control the details of when
@@ -227,7 +252,7 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
      * that are registered with this DatePicker.
      */
     public ArrayList<DateChangeListener> getDateChangeListeners() {
-        return new ArrayList<>(dateChangeListeners);
+        return dateChangeListeners.toArrayList();
     }
 
     /**
@@ -327,26 +352,9 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
         if (text == null) {
             return false;
         }
-        // If the text is empty, return the value of allowEmptyDates.
-        text = text.trim();
-        if (text.isEmpty()) {
-            return settings.getAllowEmptyDates();
-        }
-        // Try to get a parsed date.
-        LocalDate parsedDate = InternalUtilities.getParsedDateOrNull(text, settings.getFormatForDatesCommonEra(), settings.getFormatForDatesBeforeCommonEra(),
-                settings.formatsForParsing, settings.getLocale());
-
-        // If the date could not be parsed, return false.
-        if (parsedDate == null) {
-            return false;
-        }
-        // If the date is vetoed, return false.
-        DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
-        if (InternalUtilities.isDateVetoed(vetoPolicy, parsedDate)) {
-            return false;
-        }
-        // The date is valid, so return true.
-        return true;
+        // The text is valid if it is an allowed empty date, or a parsed date that is not vetoed.
+        IndicatorState state = zGetParseResult(text).getIndicatorState();
+        return (state == IndicatorState.ValidFullOrEmptyValue);
     }
 
     /**
@@ -360,7 +368,9 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
      *
      * This function creates a new calendar and a new custom popup instance each time that it is
      * called. The associated object instances are automatically disposed and set to null when a
-     * popup is closed.
+     * popup is closed. If DatePickerSettings.usePooledPopup is true, then the calendar and the
+     * popup are instead kept after the popup is closed, and they are reused the next time that
+     * this function is called.
      */
     public void openPopup() {
         // If the component is disabled, do nothing.
@@ -374,15 +384,33 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
         }
         // Get the last valid date, to pass to the calendar if needed.
         LocalDate selectedDateForCalendar = lastValidDate;
-        // Create a new calendar panel.
-        calendarPanel = new CalendarPanel(this, settings);
-        if (selectedDateForCalendar != null) {
+        Window topWindow = SwingUtilities.getWindowAncestor(this);
+        if (zIsPooledPopupReusable(topWindow)) {
+            // Reuse the pooled calendar panel and popup, and redraw the needed month.
+            calendarPanel = pooledCalendarPanel;
+            popup = pooledPopup;
+            calendarPanel.prepareForReuse();
             calendarPanel.setDisplayedSelectedDate(selectedDateForCalendar);
-            calendarPanel.drawCalendar(YearMonth.from(selectedDateForCalendar));
+            calendarPanel.drawCalendar((selectedDateForCalendar == null)
+                    ? YearMonth.now() : YearMonth.from(selectedDateForCalendar));
+        } else {
+            // Release any pooled popup that can no longer be used.
+            zDisposePooledPopup();
+            // Create a new calendar panel.
+            calendarPanel = new CalendarPanel(this, settings);
+            if (selectedDateForCalendar != null) {
+                calendarPanel.setDisplayedSelectedDate(selectedDateForCalendar);
+                calendarPanel.drawCalendar(YearMonth.from(selectedDateForCalendar));
+            }
+            // Create a new custom popup.
+            popup = new CustomPopup(calendarPanel, topWindow, this, settings.borderCalendarPopup);
+            // If needed, keep the new calendar panel and popup for reuse.
+            if (settings.usePooledPopup) {
+                popup.setReusable(true);
+                pooledCalendarPanel = calendarPanel;
+                pooledPopup = popup;
+            }
         }
-        // Create a new custom popup.
-        popup = new CustomPopup(calendarPanel, SwingUtilities.getWindowAncestor(this),
-                this, settings.borderCalendarPopup);
         int popupX = toggleCalendarButton.getLocationOnScreen().x
                 + toggleCalendarButton.getBounds().width - popup.getBounds().width - 2;
         int popupY = toggleCalendarButton.getLocationOnScreen().y
@@ -401,6 +429,17 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
         dateChangeListeners.remove(listener);
     }
 
+    /**
+     * removeNotify, This is called by Swing when the date picker is removed from its container
+     * hierarchy. This releases any pooled popup, because the pooled popup window belongs to the
+     * top window of the previous container hierarchy.
+     */
+    @Override
+    public void removeNotify() {
+        zDisposePooledPopup();
+        super.removeNotify();
+    }
+
     /**
      * setDate, This sets this date picker to the specified date. Dates that are set from this
      * function are processed through the same validation procedures as dates that are entered by
@@ -569,21 +608,49 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
         togglePopup();
     }
 
+    /**
+     * zGetParseResult, This returns the parse result for the supplied date text. The result
+     * includes the parsed date (or null), the veto verdict, and the text field indicator state.
+     *
+     * The most recent result is cached. The cached result is used if the text and the settings
+     * revision have not changed since the result was created. Otherwise the text is parsed and
+     * validated by the input engine of the settings, and the new result is stored in the cache.
+     * The returned result is immutable.
+     *
+     * If the veto policy is asynchronous and the veto answer for the parsed date is not yet known,
+     * then the result has the PendingValue state. When the answer arrives, it is stored in the
+     * cache on the Event Dispatch Thread, if the text field still contains the same text and the
+     * settings have not changed, and the text field is evaluated again. Answers for text that has
+     * since been changed are discarded.
+     */
+    private ParsedInput<LocalDate> zGetParseResult(String dateText) {
+        final int settingsRevision = settings.getSettingsRevision();
+        if (parseCache.isCurrent(dateText, settingsRevision)) {
+            return parseCache.getInput();
+        }
+        CompletableFuture<ParsedInput<LocalDate>> futureInput
+                = settings.getInputEngine().validateAsync(dateText);
+        ParsedInput<LocalDate> input = futureInput.getNow(null);
+        if (input == null) {
+            input = new ParsedInput<>(dateText, null, false, IndicatorState.PendingValue);
+            futureInput.thenAccept(answer -> SwingUtilities.invokeLater(() -> {
+                if ((settings.getSettingsRevision() == settingsRevision)
+                        && answer.getText().equals(dateTextField.getText())) {
+                    parseCache.store(settingsRevision, answer);
+                    zEventTextFieldChanged();
+                }
+            }));
+        }
+        parseCache.store(settingsRevision, input);
+        return input;
+    }
+
     /**
      * zGetStandardTextFieldDateString, This returns a string for the supplied date (or null), in
      * the standard format which could be used for displaying that date in the text field.
      */
     private String zGetStandardTextFieldDateString(LocalDate date) {
-        String standardDateString = "";
-        if (date == null) {
-            return standardDateString;
-        }
-        if (date.getEra() == IsoEra.CE) {
-            standardDateString = date.format(settings.getFormatForDatesCommonEra());
-        } else {
-            standardDateString = date.format(settings.getFormatForDatesBeforeCommonEra());
-        }
-        return standardDateString;
+        return settings.getInputEngine().formatDate(date);
     }
 
     /**
@@ -609,11 +676,14 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     private void zInternalSetLastValidDateAndNotifyListeners(LocalDate newDate) {
         LocalDate oldDate = lastValidDate;
         lastValidDate = newDate;
-        if (!PickerUtilities.isSameLocalDate(oldDate, newDate)) {
-            for (DateChangeListener dateChangeListener : dateChangeListeners) {
-                DateChangeEvent dateChangeEvent = new DateChangeEvent(this, oldDate, newDate);
-                dateChangeListener.dateChanged(dateChangeEvent);
-            }
+        if (PickerUtilities.isSameLocalDate(oldDate, newDate) || dateChangeListeners.isEmpty()) {
+            return;
+        }
+        // All the listeners share one event. The listeners are read from the current snapshot.
+        DateChangeEvent dateChangeEvent = new DateChangeEvent(this, oldDate, newDate);
+        DateChangeListener[] listeners = dateChangeListeners.getListeners();
+        for (int index = 0; index < listeners.length; ++index) {
+            listeners[index].dateChanged(dateChangeEvent);
         }
     }
 
@@ -633,28 +703,27 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
         if (skipTextFieldChangedFunctionWhileTrue) {
             return;
         }
+        // During a batch update, the text is validated once, when the batch update is committed.
+        if (PickerBatchUpdate.zDeferUntilCommit(this, this::zEventTextFieldChanged)) {
+            return;
+        }
         // Gather some variables that we will need.
         String dateText = dateTextField.getText();
         boolean textIsEmpty = dateText.trim().isEmpty();
-        DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
         boolean nullIsAllowed = settings.getAllowEmptyDates();
-        // If the text is not empty, then try to parse the date.
-        LocalDate parsedDate = null;
-        if (!textIsEmpty) {
-            parsedDate = InternalUtilities.getParsedDateOrNull(dateText, settings.getFormatForDatesCommonEra(), settings.getFormatForDatesBeforeCommonEra(),
-                    settings.formatsForParsing, settings.getLocale());
-        }
-        // If the date was parsed successfully, then check it against the veto policy.
-        boolean dateIsVetoed = false;
-        if (parsedDate != null) {
-            dateIsVetoed = InternalUtilities.isDateVetoed(vetoPolicy, parsedDate);
-        }
+        // Parse the date and check it against the veto policy. (This uses the parse cache.)
+        ParsedInput<LocalDate> parseResult = zGetParseResult(dateText);
+        LocalDate parsedDate = parseResult.getParsedValue();
+        boolean dateIsVetoed = parseResult.isVetoed();
         // If the date is a valid empty date, then set the last valid date to null.
         if (textIsEmpty && nullIsAllowed) {
             zInternalSetLastValidDateAndNotifyListeners(null);
         }
         // If the date is a valid parsed date, then store the last valid date.
-        if ((!textIsEmpty) && (parsedDate != null) && (dateIsVetoed == false)) {
+        // A date that is waiting for an asynchronous veto answer is not stored yet.
+        boolean vetoIsPending = (parseResult.getIndicatorState() == IndicatorState.PendingValue);
+        if ((!textIsEmpty) && (parsedDate != null) && (dateIsVetoed == false)
+                && (!vetoIsPending)) {
             zInternalSetLastValidDateAndNotifyListeners(parsedDate);
         }
         // Draw the date status indications for the user.
@@ -718,7 +787,7 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
      * the state of the text in the text field.
      *
      * Possibilities list: DisabledComponent, ValidFullOrEmptyValue, UnparsableValue, VetoedValue,
-     * DisallowedEmptyValue.
+     * DisallowedEmptyValue, PendingValue.
      */
     private void zDrawTextFieldIndicators() {
         if (!isEnabled()) {
@@ -735,36 +804,45 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
         dateTextField.setBackground(Color.white);
         dateTextField.setForeground(settings.colorTextValidDate);
         dateTextField.setFont(settings.fontValidDate);
-        // Get the text, and check to see if it is empty.
+        // Get the indicator state for the text. (This uses the parse cache.)
         String dateText = dateTextField.getText();
-        boolean textIsEmpty = dateText.trim().isEmpty();
+        IndicatorState state = zGetParseResult(dateText).getIndicatorState();
         // Handle the various possibilities.
-        if (textIsEmpty) {
-            if (settings.getAllowEmptyDates()) {
-                // (Possibility: ValidFullOrEmptyValue)
-            } else {
-                // (Possibility: DisallowedEmptyValue)
+        switch (state) {
+            case ValidFullOrEmptyValue:
+                break;
+            case PendingValue:
+                // The date is drawn in the neutral (normal) style until the veto answer arrives.
+                break;
+            case DisallowedEmptyValue:
                 dateTextField.setBackground(Color.pink);
-            }
-            return;
+                break;
+            case UnparsableValue:
+                dateTextField.setForeground(settings.colorTextInvalidDate);
+                dateTextField.setFont(settings.fontInvalidDate);
+                break;
+            case VetoedValue:
+                dateTextField.setForeground(settings.colorTextVetoedDate);
+                dateTextField.setFont(settings.getFontVetoedDate());
+                break;
         }
-        // The text is not empty.
-        LocalDate parsedDate = InternalUtilities.getParsedDateOrNull(dateText, settings.getFormatForDatesCommonEra(), settings.getFormatForDatesBeforeCommonEra(),
-                settings.formatsForParsing, settings.getLocale());
-        if (parsedDate == null) {
-            // (Possibility: UnparsableValue)
-            dateTextField.setForeground(settings.colorTextInvalidDate);
-            dateTextField.setFont(settings.fontInvalidDate);
+    }
+
+    /**
+     * zDisposePooledPopup, This releases the pooled calendar panel and popup, if they exist. This
+     * is called when the pooled popup can no longer be reused, or when the date picker is removed
+     * from its container hierarchy.
+     */
+    private void zDisposePooledPopup() {
+        if (pooledPopup == null) {
             return;
         }
-        // The text was parsed to a value.
-        DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
-        boolean isDateVetoed = InternalUtilities.isDateVetoed(vetoPolicy, parsedDate);
-        if (isDateVetoed) {
-            // (Possibility: VetoedValue)
-            dateTextField.setForeground(settings.colorTextVetoedDate);
-            dateTextField.setFont(settings.fontVetoedDate);
-        }
+        CustomPopup disposedPopup = pooledPopup;
+        CalendarPanel disposedCalendarPanel = pooledCalendarPanel;
+        pooledPopup = null;
+        pooledCalendarPanel = null;
+        disposedPopup.dispose();
+        disposedCalendarPanel.clearParent();
     }
 
     /**
@@ -779,10 +857,25 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     @Override
     public void zEventCustomPopupWasClosed(CustomPopup popup) {
         popup = null;
-        if (calendarPanel != null) {
+        // A pooled calendar panel keeps its parent, so that it can be reused. Any background
+        // prefetching of the pooled calendar panel is still cancelled.
+        if (calendarPanel != null && calendarPanel != pooledCalendarPanel) {
             calendarPanel.clearParent();
+        } else if (calendarPanel != null) {
+            calendarPanel.cancelPrefetching();
         }
         calendarPanel = null;
         lastPopupCloseTime = Instant.now();
     }
+
+    /**
+     * zIsPooledPopupReusable, This returns true if the settings specify that a pooled popup should
+     * be used, and the existing pooled popup and calendar panel can be reused with the supplied top
+     * window and the current settings.
+     */
+    private boolean zIsPooledPopupReusable(Window topWindow) {
+        return settings.usePooledPopup && (pooledPopup != null)
+                && pooledPopup.isReusableFor(topWindow, settings.borderCalendarPopup)
+                && pooledCalendarPanel.isReusableWith(settings);
+    }
 }
@@ -5,19 +5,18 @@ import com.jgoodies.forms.layout.ConstantSize;
 import com.jgoodies.forms.layout.FormLayout;
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.font.TextAttribute;
 import java.time.DayOfWeek;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.FormatStyle;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
 import java.util.Locale;
-import java.util.Map;
-import javax.swing.JTextField;
+import com.lgooddatepicker.zinternaltools.DateParsePlan;
 import com.lgooddatepicker.zinternaltools.InternalUtilities;
-import com.lgooddatepicker.zinternaltools.ExtraDateStrings;
-import com.lgooddatepicker.zinternaltools.TranslationSource;
+import com.lgooddatepicker.zinternaltools.LazyFormatterList;
+import com.lgooddatepicker.zinternaltools.LocaleDefaults;
+import com.lgooddatepicker.zinternaltools.LocaleDefaults.DateDefaults;
+import com.lgooddatepicker.zinternaltools.SharedLocaleDefaults;
+import com.lgooddatepicker.zinternaltools.SharedLocaleDefaults.TextFieldFonts;
 import java.time.LocalDate;
 import javax.swing.border.Border;
 import com.lgooddatepicker.optionalusertools.DateVetoPolicy;
@@ -158,6 +157,8 @@ public class DatePickerSettings {
     /**
      * fontVetoedDate, This is the text field text font for vetoed dates. The default font crosses
      * out the vetoed date. (Has a strikethrough font attribute.)
+     *
+     * The default font is shared by all the settings instances, so it is only generated once.
      */
     public Font fontVetoedDate;
 
@@ -166,8 +167,11 @@ public class DatePickerSettings {
      * dates in the date picker. The default value is generated using the locale of the settings
      * instance. A DateTimeFormatter can be created from a pattern string with the convenience
      * function DateUtilities.createFormatterFromPatternString();
+     *
+     * The default value is only generated the first time that this setting is read, because many
+     * date pickers never need to display or parse a date.
      */
-    private DateTimeFormatter formatForDatesCommonEra;
+    private DateTimeFormatter formatForDatesCommonEra = null;
 
     /**
      * formatForDatesBeforeCommonEra, This holds the default format that is used to display or parse
@@ -181,8 +185,11 @@ public class DatePickerSettings {
      * "-1" and "1 BC" are not the same thing. Astronomical years are zero-based, and BC dates are
      * one-based. Astronomical year "0", is the same year as "1 BC", and astronomical year "-1" is
      * the same year as "2 BC", and so forth.)
+     *
+     * The default value is only generated the first time that this setting is read, because many
+     * date pickers never need to display or parse a BCE date.
      */
-    private DateTimeFormatter formatForDatesBeforeCommonEra;
+    private DateTimeFormatter formatForDatesBeforeCommonEra = null;
 
     /**
      * formatTodayButton, This format is used to format today's date into a date string, which is
@@ -198,9 +205,18 @@ public class DatePickerSettings {
      * are always tried (in that order) before any other parsing formats. The default values for the
      * formatsForParsing are generated using the pickerLocale, using the enum constants in
      * java.time.format.FormatStyle.
+     *
+     * The formatters of the default list are only generated the first time that the list is read
+     * or modified, because many date pickers never parse typed text.
      */
     public ArrayList<DateTimeFormatter> formatsForParsing;
 
+    /**
+     * formattersRevision, This is incremented whenever the era formatters or the formatsForParsing
+     * list are changed. This is used to know when the parse plan of the input engine can be kept.
+     */
+    private int formattersRevision = 0;
+
     /**
      * gapBeforeButtonPixels, This specifies the desired width for the gap between the date picker
      * and the toggle calendar button (in pixels). The default value is null. If this is left at
@@ -231,6 +247,30 @@ public class DatePickerSettings {
      */
     public LocalDate initialDate = null;
 
+    /**
+     * inputEngine, This holds the most recently created input engine for these settings, or null.
+     * The engine is created again when the settings revision or the highlight policy is changed.
+     */
+    private DateInputEngine inputEngine = null;
+
+    /**
+     * inputEngineFormattersRevision, This holds the formatters revision that was used to create
+     * the current input engine.
+     */
+    private int inputEngineFormattersRevision = 0;
+
+    /**
+     * inputEngineHighlightPolicy, This holds the highlight policy that was used to create the
+     * current input engine.
+     */
+    private DateHighlightPolicy inputEngineHighlightPolicy = null;
+
+    /**
+     * inputEngineRevision, This holds the settings revision that was used to create the current
+     * input engine.
+     */
+    private int inputEngineRevision = 0;
+
     /**
      * locale, This holds the picker locale instance that indicates the user's language and culture.
      * The locale is used in translating text and determining default behaviors, for the date picker
@@ -248,6 +288,42 @@ public class DatePickerSettings {
      */
     private DatePicker parent;
 
+    /**
+     * prefetchAdjacentMonths, This specifies whether the calendar panel should evaluate the veto
+     * policy and the highlight policy for the months that neighbor the displayed month, on a
+     * background thread. The neighbors are the previous and next month, and the same month of the
+     * previous and next year. When the user navigates to a prefetched month, the policy data is
+     * served from memory. The displayed month is still evaluated each time that it is drawn, and
+     * the neighbors are evaluated again after each drawing, so policy changes are displayed the
+     * next time that the calendar is drawn. (A policy that implements MutableDatePolicy also
+     * discards the prefetched months as soon as it changes.) Any prefetching that has not started
+     * is cancelled when the calendar is closed. Asynchronous policies are not prefetched. When
+     * this is true, the veto policy and the highlight policy must be safe to call from a
+     * background thread. The default value is false.
+     */
+    public boolean prefetchAdjacentMonths = false;
+
+    /**
+     * revisionParsingFormats, This holds a copy of the formatsForParsing list, as it was when the
+     * settings revision was last calculated. This is used to notice changes to the list, because
+     * the list can be modified directly by the programmer. This is null if the list still held its
+     * default formats, and those formats had not been generated.
+     */
+    private DateTimeFormatter[] revisionParsingFormats = new DateTimeFormatter[0];
+
+    /**
+     * revisionParsingList, This holds the formatsForParsing list instance that was used when the
+     * settings revision was last calculated.
+     */
+    private ArrayList<DateTimeFormatter> revisionParsingList = null;
+
+    /**
+     * settingsRevision, This is incremented whenever a setting is changed that affects the parsing
+     * or the validation of the date picker text. This is used by the date picker to know when its
+     * cached parse result is no longer current.
+     */
+    private int settingsRevision = 0;
+
     /**
      * sizeDatePanelMinimumHeight, This specifies the minimum height, in pixels, of the date label
      * area. The date label area is the part of the calendar panel that holds (only) the date
@@ -333,6 +409,27 @@ public class DatePickerSettings {
      */
     public String translationToday;
 
+    /**
+     * useCustomPaintedDateGrid, This specifies whether the calendar panel should display its dates
+     * with a single custom painted month grid component, instead of with 42 separate date labels.
+     * The month grid paints all the dates in one pass, and it opens more quickly than the date
+     * labels. The colors, vetoed dates, highlighted dates, and tooltips are displayed the same way
+     * with either choice. The month grid also provides accessible information about each date for
+     * screen readers. The default value is false, which uses the date labels.
+     */
+    public boolean useCustomPaintedDateGrid = false;
+
+    /**
+     * usePooledPopup, This specifies whether the date picker should keep its calendar panel and
+     * popup window after the calendar is closed, and reuse them the next time that the calendar
+     * is opened. When this is true, opening the calendar only needs to redraw the displayed month,
+     * instead of constructing a new calendar panel and popup window. The pooled calendar is
+     * rebuilt automatically if the popup border, the date panel sizes, the custom painted date grid
+     * setting, the look and feel, or the top window of the date picker has been changed. The
+     * default value is false.
+     */
+    public boolean usePooledPopup = false;
+
     /**
      * vetoPolicy, If a veto policy is supplied, it will be used to determine which dates can and
      * cannot be selected in the calendar panel. (Vetoed dates are also not accepted into the date
@@ -364,38 +461,25 @@ public class DatePickerSettings {
         // Save the date picker locale.
         this.locale = pickerLocale;
 
+        // Get the shared default values for the locale. The default values are only generated
+        // the first time that a locale is used. Any mutable values are copied.
+        DateDefaults defaults = LocaleDefaults.getDateDefaults(pickerLocale);
+
         // Set the default translations for the locale.
-        translationToday = TranslationSource.getTranslation(pickerLocale, "today", "Today");
-        translationClear = TranslationSource.getTranslation(pickerLocale, "clear", "Clear");
+        translationToday = defaults.translationToday;
+        translationClear = defaults.translationClear;
 
         // Set the default month names for the current locale.
-        translationArrayMonthNames = ExtraDateStrings.getDefaultMonthNamesForLocale(pickerLocale);
-        translationArrayShortMonthNames = ExtraDateStrings.getDefaultShortMonthNamesForLocale(pickerLocale);
-
-        // Create default formatters for displaying the today button, and AD and BC dates, in
-        // the specified locale.
-        formatForTodayButton = DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(pickerLocale);
-        formatForDatesCommonEra = InternalUtilities.generateDefaultFormatterCE(pickerLocale);
-        formatForDatesBeforeCommonEra = InternalUtilities.generateDefaultFormatterBCE(pickerLocale);
-
-        // Create an array of all the FormatStyle enum values, from short to long.
-        FormatStyle[] allFormatStyles = new FormatStyle[]{
-            FormatStyle.SHORT, FormatStyle.MEDIUM, FormatStyle.LONG, FormatStyle.FULL};
-
-        // Create a set of default parsing formatters for the specified locale.
-        formatsForParsing = new ArrayList<>();
-        DateTimeFormatter parseFormat;
-        for (int i = 0; i < allFormatStyles.length; ++i) {
-            parseFormat = new DateTimeFormatterBuilder().parseLenient().parseCaseInsensitive().
-                    appendLocalized(allFormatStyles[i], null).toFormatter(pickerLocale);
-            formatsForParsing.add(parseFormat);
-        }
+        translationArrayMonthNames = defaults.getMonthNames();
+        translationArrayShortMonthNames = defaults.getShortMonthNames();
+
+        // Set the default formatter for displaying the today button. The default formatters for
+        // AD and BC dates are generated the first time that they are read.
+        formatForTodayButton = defaults.formatForTodayButton;
 
-        // Get any common extra parsing formats for the specified locale, and append them to
-        // the list of parsingFormatters.
-        ArrayList<DateTimeFormatter> extraFormatters
-                = ExtraDateStrings.getExtraParsingFormatsForLocale(pickerLocale);
-        formatsForParsing.addAll(extraFormatters);
+        // Create the default parsing formats list. The formatters of the list are generated the
+        // first time that the list is used.
+        formatsForParsing = new LazyFormatterList(defaults::getFormatsForParsing);
 
         // Set the minimum height, minimum width, and extra pixels for the date panel.
         sizeDatePanelMinimumHeight = (6 * 18);
@@ -406,13 +490,12 @@ public class DatePickerSettings {
         // Initialize the first day of the week.
         firstDayOfWeek = WeekFields.of(Locale.getDefault()).getFirstDayOfWeek();
 
-        // Generate the default fonts and text colors.
-        fontValidDate = new JTextField().getFont();
-        fontInvalidDate = new JTextField().getFont();
-        fontVetoedDate = new JTextField().getFont();
-        Map attributes = fontVetoedDate.getAttributes();
-        attributes.put(TextAttribute.STRIKETHROUGH, TextAttribute.STRIKETHROUGH_ON);
-        fontVetoedDate = new Font(attributes);
+        // Set the default fonts. The fonts are shared, because fonts are immutable. The shared
+        // vetoed date font is generated the first time that any settings instance needs it.
+        TextFieldFonts fonts = SharedLocaleDefaults.getTextFieldFonts();
+        fontValidDate = fonts.fontNormal;
+        fontInvalidDate = fonts.fontNormal;
+        fontVetoedDate = fonts.getFontStrikethrough();
     }
 
     /**
@@ -431,11 +514,26 @@ public class DatePickerSettings {
         return allowKeyboardEditing;
     }
 
+    /**
+     * getFontVetoedDate, This returns the text field text font for vetoed dates. If the font has
+     * been set to null, then the default font is stored in fontVetoedDate and returned.
+     */
+    public Font getFontVetoedDate() {
+        if (fontVetoedDate == null) {
+            fontVetoedDate = SharedLocaleDefaults.getTextFieldFonts().getFontStrikethrough();
+        }
+        return fontVetoedDate;
+    }
+
     /**
      * getFormatForDatesBeforeCommonEra, Returns the value this setting. See the "set" function for
      * setting information.
      */
     public DateTimeFormatter getFormatForDatesBeforeCommonEra() {
+        if (formatForDatesBeforeCommonEra == null) {
+            formatForDatesBeforeCommonEra = LocaleDefaults.getDateDefaults(locale).
+                    getFormatForDatesBeforeCommonEra();
+        }
         return formatForDatesBeforeCommonEra;
     }
 
@@ -444,9 +542,30 @@ public class DatePickerSettings {
      * setting information.
      */
     public DateTimeFormatter getFormatForDatesCommonEra() {
+        if (formatForDatesCommonEra == null) {
+            formatForDatesCommonEra = LocaleDefaults.getDateDefaults(locale).
+                    getFormatForDatesCommonEra();
+        }
         return formatForDatesCommonEra;
     }
 
+    /**
+     * getFormatsForParsing, This returns the list of extra parsing formats. If the list still holds
+     * the default formats, then the default formatters are generated. If the list has been set to
+     * null, then a new default list for the locale is stored in formatsForParsing. The returned
+     * list is the list that is used by the date picker, so any changes to the list take effect the
+     * next time that text is parsed.
+     */
+    public ArrayList<DateTimeFormatter> getFormatsForParsing() {
+        if (formatsForParsing == null) {
+            formatsForParsing = LocaleDefaults.getDateDefaults(locale).getFormatsForParsing();
+        }
+        if (formatsForParsing instanceof LazyFormatterList) {
+            ((LazyFormatterList) formatsForParsing).generateIfNeeded();
+        }
+        return formatsForParsing;
+    }
+
     /**
      * getGapBeforeButtonPixels, Returns the value of this setting. See the "set" function for
      * setting information.
@@ -455,6 +574,33 @@ public class DatePickerSettings {
         return gapBeforeButtonPixels;
     }
 
+    /**
+     * getInputEngine, This returns an immutable input engine that holds the current formatters,
+     * locale, policies, and allowEmptyDates setting of these settings. The engine can be used to
+     * parse, format, and validate date text without a date picker, and it is safe to share between
+     * threads. The date picker uses the same engine to validate its own text.
+     *
+     * The returned engine does not change if these settings are changed later. Call this function
+     * again to get an engine for the changed settings. An engine is only created when the settings
+     * have changed since the last call, so this function is inexpensive.
+     */
+    public DateInputEngine getInputEngine() {
+        int currentRevision = getSettingsRevision();
+        if (inputEngine == null || inputEngineRevision != currentRevision
+                || inputEngineHighlightPolicy != highlightPolicy) {
+            // Keep the parse plan (and its hit counters) if the formatters have not changed.
+            DateInputEngine.Builder builder = new DateInputEngine.Builder(this);
+            if (inputEngine != null && inputEngineFormattersRevision == formattersRevision) {
+                builder.reuseParsePlan(inputEngine.getParsePlan());
+            }
+            inputEngine = builder.build();
+            inputEngineFormattersRevision = formattersRevision;
+            inputEngineHighlightPolicy = highlightPolicy;
+            inputEngineRevision = currentRevision;
+        }
+        return inputEngine;
+    }
+
     /**
      * getLocale, This returns locale setting of the date picker. The locale can only be set in the
      * DatePickerSettings constructor.
@@ -463,6 +609,47 @@ public class DatePickerSettings {
         return locale;
     }
 
+    /**
+     * getParsePlan, This returns the compiled parse plan for the date formatters of these
+     * settings. The parse plan belongs to the current input engine, which uses it to parse the
+     * date picker text. The parse plan exposes a hit counter for each formatter, and the counters
+     * are kept until the formatters are changed. See the DateParsePlan class for details.
+     */
+    public DateParsePlan getParsePlan() {
+        return getInputEngine().getParsePlan();
+    }
+
+    /**
+     * getSettingsRevision, This returns a number that changes whenever a setting is changed that
+     * affects the parsing or the validation of the date picker text. This includes the formatters
+     * (including any changes to the formatsForParsing list), the veto policy, and the
+     * allowEmptyDates setting. The locale can only be set in the constructor, so it never changes.
+     */
+    int getSettingsRevision() {
+        // Notice any changes to the formatsForParsing list. The formatters are compared by
+        // identity, so this check is inexpensive. A default list whose formatters have not been
+        // generated is never read here, so this check never generates the formatters.
+        boolean listIsGenerated = LazyFormatterList.isGenerated(formatsForParsing);
+        int parsingListSize = (formatsForParsing == null || !listIsGenerated)
+                ? 0 : formatsForParsing.size();
+        boolean listIsUnchanged = (revisionParsingList == formatsForParsing)
+                && ((revisionParsingFormats != null) == listIsGenerated)
+                && ((revisionParsingFormats == null)
+                || (revisionParsingFormats.length == parsingListSize));
+        for (int i = 0; (listIsUnchanged && (i < parsingListSize)); ++i) {
+            listIsUnchanged = (revisionParsingFormats[i] == formatsForParsing.get(i));
+        }
+        if (!listIsUnchanged) {
+            revisionParsingList = formatsForParsing;
+            revisionParsingFormats = (!listIsGenerated) ? null : (formatsForParsing == null)
+                    ? new DateTimeFormatter[0]
+                    : formatsForParsing.toArray(new DateTimeFormatter[parsingListSize]);
+            ++formattersRevision;
+            ++settingsRevision;
+        }
+        return settingsRevision;
+    }
+
     /**
      * getVetoPolicy, This returns the veto policy.
      */
@@ -482,10 +669,7 @@ public class DatePickerSettings {
      * returns true.
      */
     public boolean isDateAllowed(LocalDate date) {
-        if (date == null) {
-            return allowEmptyDates;
-        }
-        return (!(InternalUtilities.isDateVetoed(vetoPolicy, date)));
+        return getInputEngine().isDateAllowed(date);
     }
 
     /**
@@ -505,6 +689,7 @@ public class DatePickerSettings {
      */
     public void setAllowEmptyDates(boolean allowEmptyDates) {
         this.allowEmptyDates = allowEmptyDates;
+        ++settingsRevision;
         if (parent != null) {
             zApplyAllowEmptyDates();
         }
@@ -548,6 +733,8 @@ public class DatePickerSettings {
      */
     public void setFormatForDatesBeforeCommonEra(DateTimeFormatter formatForDatesBeforeCommonEra) {
         this.formatForDatesBeforeCommonEra = formatForDatesBeforeCommonEra;
+        ++formattersRevision;
+        ++settingsRevision;
         if (parent != null) {
             parent.setTextFieldToValidStateIfNeeded();
         }
@@ -564,6 +751,8 @@ public class DatePickerSettings {
      */
     public void setFormatForDatesCommonEra(DateTimeFormatter formatForDatesCommonEra) {
         this.formatForDatesCommonEra = formatForDatesCommonEra;
+        ++formattersRevision;
+        ++settingsRevision;
         if (parent != null) {
             parent.setTextFieldToValidStateIfNeeded();
         }
@@ -623,6 +812,7 @@ public class DatePickerSettings {
                     + "A veto policy can only be set after constructing the DatePicker.");
         }
         this.vetoPolicy = vetoPolicy;
+        ++settingsRevision;
         return isDateAllowed(parent.getDate());
     }
 
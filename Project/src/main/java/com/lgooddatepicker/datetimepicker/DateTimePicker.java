@@ -6,11 +6,14 @@ import com.lgooddatepicker.datepicker.DatePicker;
 import com.lgooddatepicker.datepicker.DatePickerSettings;
 import com.lgooddatepicker.optionalusertools.DateChangeListener;
 import com.lgooddatepicker.optionalusertools.DateTimeChangeListener;
+import com.lgooddatepicker.optionalusertools.PickerBatchUpdate;
+import com.lgooddatepicker.optionalusertools.PickerUtilities;
 import com.lgooddatepicker.optionalusertools.TimeChangeListener;
 import com.lgooddatepicker.timepicker.TimePicker;
 import com.lgooddatepicker.timepicker.TimePickerSettings;
 import com.lgooddatepicker.zinternaltools.DateChangeEvent;
 import com.lgooddatepicker.zinternaltools.DateTimeChangeEvent;
+import com.lgooddatepicker.zinternaltools.ListenerRegistry;
 import com.lgooddatepicker.zinternaltools.TimeChangeEvent;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -42,16 +45,47 @@ import javax.swing.*;
  */
 public class DateTimePicker extends JPanel {
 
+    /**
+     * changeEventsAreHeld, While this is true, the date and time changes of the inner pickers are
+     * recorded as pending changes, instead of being sent to the listeners. This is true while
+     * setDateTime() is changing the inner pickers.
+     */
+    private boolean changeEventsAreHeld = false;
+
+    /**
+     * coalesceChangeEvents, This indicates whether date and time changes that occur during the same
+     * Event Dispatch Thread event are merged into one change event. See setCoalesceChangeEvents().
+     */
+    private boolean coalesceChangeEvents = false;
+
     /**
      * datePicker, This holds the date picker component of this DateTimePicker.
      */
     private DatePicker datePicker;
 
     /**
-     * dateTimeChangeListeners, This holds a list of dateTimeChangeListeners that wish to be
-     * notified whenever the last valid date or the last valid time has changed.
+     * dateTimeChangeListeners, This holds the dateTimeChangeListeners that wish to be notified
+     * whenever the last valid date or the last valid time has changed. Listeners can be added or
+     * removed from any thread, and during the dispatch of an event.
      */
-    private ArrayList<DateTimeChangeListener> dateTimeChangeListeners = new ArrayList<>();
+    private final ListenerRegistry<DateTimeChangeListener> dateTimeChangeListeners
+            = new ListenerRegistry<>(new DateTimeChangeListener[0]);
+
+    /**
+     * pendingDateChangeEvent, pendingTimeChangeEvent, These hold the date change and the time
+     * change that have not yet been sent to the listeners, or null. If a value changes more than
+     * once before it is sent, then the pending event holds the first old value and the latest new
+     * value.
+     */
+    private DateChangeEvent pendingDateChangeEvent = null;
+    private TimeChangeEvent pendingTimeChangeEvent = null;
+
+    /**
+     * pendingEventsAreScheduled, This indicates that the pending change events will be sent by a
+     * task that was queued on the Event Dispatch Thread. This is only used when coalescing change
+     * events.
+     */
+    private boolean pendingEventsAreScheduled = false;
 
     /**
      * timePicker, This holds the time picker component of this DateTimePicker.
@@ -183,12 +217,21 @@ public class DateTimePicker extends JPanel {
         return LocalDateTime.of(dateValue, timeValue);
     }
 
+    /**
+     * getCoalesceChangeEvents, This returns true if date and time changes that occur during the
+     * same Event Dispatch Thread event are merged into one change event. See
+     * setCoalesceChangeEvents().
+     */
+    public boolean getCoalesceChangeEvents() {
+        return coalesceChangeEvents;
+    }
+
     /**
      * getDateTimeChangeListeners, This returns a new ArrayList, that contains any change listeners
      * that are registered with this DateTimePicker.
      */
     public ArrayList<DateTimeChangeListener> getDateTimeChangeListeners() {
-        return new ArrayList<>(dateTimeChangeListeners);
+        return dateTimeChangeListeners.toArrayList();
     }
 
     /**
@@ -254,15 +297,43 @@ public class DateTimePicker extends JPanel {
      *
      * For additional details about the automatic date and time validation, see:
      * DatePicker.setDate() and TimePicker.setTime().
+     *
+     * The date and the time are changed as one atomic update. If both values change, then the
+     * change listeners are notified once, after both values have been set. The event contains both
+     * the date change and the time change, so the listeners never see the new date with the old
+     * time.
      */
     public void setDateTime(LocalDateTime optionalDateTime) {
-        if (optionalDateTime == null) {
-            datePicker.setDate(null);
-            timePicker.setTime(null);
-            return;
+        boolean eventsWereHeld = changeEventsAreHeld;
+        changeEventsAreHeld = true;
+        try {
+            datePicker.setDate((optionalDateTime == null) ? null : optionalDateTime.toLocalDate());
+            timePicker.setTime((optionalDateTime == null) ? null : optionalDateTime.toLocalTime());
+        } finally {
+            changeEventsAreHeld = eventsWereHeld;
+        }
+        if (!changeEventsAreHeld) {
+            zSendPendingChangeEvents();
+        }
+    }
+
+    /**
+     * setCoalesceChangeEvents, This sets whether date and time changes that occur during the same
+     * Event Dispatch Thread event should be merged into one change event. The default value is
+     * false, which sends one change event for each change of the date or the time.
+     *
+     * When this is true, the first change during an Event Dispatch Thread event does not notify
+     * the listeners immediately. Instead, the listeners are notified by a task that is queued with
+     * SwingUtilities.invokeLater(). That task sends a single DateTimeChangeEvent, which describes
+     * every change of the date and the time since the last event. This means that the listeners
+     * are called slightly later than the change, and that a listener that needs the new value
+     * immediately after a call to a picker function should read the value directly instead.
+     */
+    public void setCoalesceChangeEvents(boolean coalesceChangeEvents) {
+        this.coalesceChangeEvents = coalesceChangeEvents;
+        if (!coalesceChangeEvents) {
+            zSendPendingChangeEvents();
         }
-        datePicker.setDate(optionalDateTime.toLocalDate());
-        timePicker.setTime(optionalDateTime.toLocalTime());
     }
 
     /**
@@ -368,6 +439,33 @@ public class DateTimePicker extends JPanel {
     // JFormDesigner - Variables declaration - DO NOT MODIFY  //GEN-BEGIN:variables
     // JFormDesigner - End of variables declaration  //GEN-END:variables
     //
+    /**
+     * zSendPendingChangeEvents, This notifies the change listeners of the pending date and time
+     * changes, with a single event. A pending change whose new value is the same as its old value
+     * is left out. If no change remains, then no event is sent.
+     */
+    private void zSendPendingChangeEvents() {
+        DateChangeEvent dateEvent = pendingDateChangeEvent;
+        TimeChangeEvent timeEvent = pendingTimeChangeEvent;
+        pendingDateChangeEvent = null;
+        pendingTimeChangeEvent = null;
+        boolean dateIsUnchanged = (dateEvent != null)
+                && PickerUtilities.isSameLocalDate(dateEvent.getOldDate(), dateEvent.getNewDate());
+        boolean timeIsUnchanged = (timeEvent != null)
+                && PickerUtilities.isSameLocalTime(timeEvent.getOldTime(), timeEvent.getNewTime());
+        dateEvent = (dateIsUnchanged) ? null : dateEvent;
+        timeEvent = (timeIsUnchanged) ? null : timeEvent;
+        if ((dateEvent == null && timeEvent == null) || dateTimeChangeListeners.isEmpty()) {
+            return;
+        }
+        DateTimeChangeEvent summaryEvent = new DateTimeChangeEvent(this,
+                datePicker, timePicker, dateEvent, timeEvent);
+        DateTimeChangeListener[] listeners = dateTimeChangeListeners.getListeners();
+        for (int index = 0; index < listeners.length; ++index) {
+            listeners[index].dateOrTimeChanged(summaryEvent);
+        }
+    }
+
     /**
      * DateTimeChangeListenerImplementation, This private class implements the listener interfaces
      * for the DatePicker and the TimePicker. An instance of this class is added to the DatePicker
@@ -405,14 +503,42 @@ public class DateTimePicker extends JPanel {
         }
 
         /**
-         * reportDateOrTimeChange, This notifies any DateTimePicker change listeners of the
-         * specified change events.
+         * reportDateOrTimeChange, This records the specified change event as a pending change,
+         * and merges it with any pending change of the same value. The pending changes are sent
+         * immediately, unless the change events are held by setDateTime(), a PickerBatchUpdate is
+         * being committed, or the change events are being coalesced.
          */
         private void reportDateOrTimeChange(DateChangeEvent dateEvent, TimeChangeEvent timeEvent) {
-            DateTimeChangeEvent summaryEvent = new DateTimeChangeEvent(source,
-                    source.datePicker, source.timePicker, dateEvent, timeEvent);
-            for (DateTimeChangeListener listener : dateTimeChangeListeners) {
-                listener.dateOrTimeChanged(summaryEvent);
+            if (dateEvent != null) {
+                pendingDateChangeEvent = (pendingDateChangeEvent == null) ? dateEvent
+                        : new DateChangeEvent(source.datePicker,
+                                pendingDateChangeEvent.getOldDate(), dateEvent.getNewDate());
+            }
+            if (timeEvent != null) {
+                pendingTimeChangeEvent = (pendingTimeChangeEvent == null) ? timeEvent
+                        : new TimeChangeEvent(source.timePicker,
+                                pendingTimeChangeEvent.getOldTime(), timeEvent.getNewTime());
+            }
+            if (changeEventsAreHeld) {
+                return;
+            }
+            // During a batch update, the inner pickers are updated one after the other. The
+            // pending changes are sent once, after both inner pickers have been updated.
+            if (PickerBatchUpdate.zRunAfterPickerWork(source, source::zSendPendingChangeEvents)) {
+                return;
+            }
+            if (!coalesceChangeEvents) {
+                zSendPendingChangeEvents();
+                return;
+            }
+            if (!pendingEventsAreScheduled) {
+                pendingEventsAreScheduled = true;
+                SwingUtilities.invokeLater(() -> {
+                    pendingEventsAreScheduled = false;
+                    if (!changeEventsAreHeld) {
+                        zSendPendingChangeEvents();
+                    }
+                });
             }
         }
 
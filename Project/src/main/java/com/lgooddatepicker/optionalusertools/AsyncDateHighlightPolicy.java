@@ -0,0 +1,34 @@
+package com.lgooddatepicker.optionalusertools;
+
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AsyncDateHighlightPolicy, This is an optional extension of the DateHighlightPolicy interface,
+ * for highlight policies that need a noticeable amount of time to answer. An asynchronous
+ * highlight policy returns the highlights of a month through a CompletableFuture, so that the
+ * Swing Event Dispatch Thread does not need to wait for the answers.
+ *
+ * When the highlight policy of a date picker implements this interface, the calendar panel asks
+ * for the highlights of each displayed month with getHighlightStringsAsync(). If the future is not
+ * yet complete, the calendar is drawn immediately without highlights, and the highlights are added
+ * on the Event Dispatch Thread when the future completes. Results that arrive after the user has
+ * navigated to a different month are discarded. A future that completes exceptionally is treated
+ * as if no day of the month was highlighted.
+ *
+ * The synchronous getHighlightStringOrNull() function must still be implemented. The futures may
+ * be completed on any thread.
+ */
+public interface AsyncDateHighlightPolicy extends DateHighlightPolicy {
+
+    /**
+     * getHighlightStringsAsync, Implement this function to supply the highlights of the supplied
+     * month. The future should complete with an array that has the same meaning as the result of
+     * BulkDateHighlightPolicy.getHighlightStringsOrNull(). The array may be null if no day of the
+     * month is highlighted. The array will not be modified by the date picker.
+     *
+     * The value of null will never be passed to this function, under any case.
+     */
+    public CompletableFuture<String[]> getHighlightStringsAsync(YearMonth yearMonth);
+
+}
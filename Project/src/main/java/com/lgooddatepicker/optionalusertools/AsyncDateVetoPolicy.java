@@ -0,0 +1,58 @@
+package com.lgooddatepicker.optionalusertools;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AsyncDateVetoPolicy,
+ *
+ * This is an optional extension of the DateVetoPolicy interface, for veto policies that need a
+ * noticeable amount of time to answer. (For example, veto policies that read a slow local store or
+ * a remote service.) An asynchronous veto policy returns its answers through a CompletableFuture,
+ * so that the Swing Event Dispatch Thread does not need to wait for the answers.
+ *
+ * When the veto policy of a date picker implements this interface:
+ *
+ * The calendar panel asks for the vetoed days of each displayed month with
+ * getVetoedDaysMaskAsync(). If the future is not yet complete, the calendar is drawn immediately,
+ * with the days of the month in a neutral "pending" state that cannot be selected. When the future
+ * completes, the days are updated on the Event Dispatch Thread. Results that arrive after the user
+ * has navigated to a different month are discarded.
+ *
+ * The date picker text field asks about each typed date with isDateAllowedAsync(). While the
+ * future is not complete, the typed date is not committed to the date picker, and the text field
+ * is drawn without any validity indication. When the future completes, the typed date is committed
+ * if it is allowed, or shown as vetoed. Results for text that has since been changed are
+ * discarded.
+ *
+ * A future that completes exceptionally is treated as if every requested date was vetoed.
+ *
+ * The synchronous isDateAllowed() function must still be implemented. It is used by operations
+ * that require an immediate answer, such as DatePicker.isDateAllowed(), and by the setting of the
+ * veto policy. The futures may be completed on any thread. Returning a future that is already
+ * complete (for example, for answers that are already known) is allowed, and such answers are
+ * used immediately.
+ */
+public interface AsyncDateVetoPolicy extends DateVetoPolicy {
+
+    /**
+     * getVetoedDaysMaskAsync, Implement this function to supply the vetoed days of the supplied
+     * month. The future should complete with a bit mask, with the same meaning as the result of
+     * BulkDateVetoPolicy.getVetoedDaysMask(): Bit zero represents the first day of the month, and
+     * a set bit indicates a vetoed day.
+     *
+     * The value of null will never be passed to this function, under any case.
+     */
+    public CompletableFuture<Integer> getVetoedDaysMaskAsync(YearMonth yearMonth);
+
+    /**
+     * isDateAllowedAsync, Implement this function to supply whether or not the supplied date is
+     * allowed. The future should complete with true to indicate that the date is allowed, or with
+     * false to indicate that the date is vetoed.
+     *
+     * The value of null will never be passed to this function, under any case.
+     */
+    public CompletableFuture<Boolean> isDateAllowedAsync(LocalDate date);
+
+}
@@ -0,0 +1,330 @@
+package com.lgooddatepicker.optionalusertools;
+
+import com.lgooddatepicker.datepicker.DateInputEngine;
+import com.lgooddatepicker.timepicker.TimeInputEngine;
+import com.lgooddatepicker.zinternaltools.IndicatorState;
+import com.lgooddatepicker.zinternaltools.ParsedInput;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * BatchInputParser, This parses large numbers of date or time strings, such as the cells of an
+ * imported spreadsheet, with exactly the same lenient rules that the pickers apply to typed text.
+ * Each string is parsed and validated by a DateInputEngine or a TimeInputEngine. The result holds
+ * the parsed value and the failure reason (if any) of each string, together with the failure
+ * counts and the throughput of the batch.
+ *
+ * A batch can be parsed sequentially on the calling thread, or in parallel on a ForkJoinPool. In
+ * parallel mode, the strings are split into ranges that are parsed by the pool threads. Each range
+ * keeps a scratch memo of the strings that it has recently validated, so repeated cell values
+ * (which are common in imported data) are only parsed once per range. The memo is discarded when
+ * its range is complete, so nothing is left behind in the pool threads. The result of each string
+ * only depends on the string and the engine, so the sequential and the parallel modes always give
+ * identical results.
+ *
+ * An engine can be created from picker settings with DatePickerSettings.getInputEngine() or
+ * TimePickerSettings.getInputEngine(). Any veto policy of the engine must be safe to call from the
+ * pool threads, and must always give the same answer for the same value.
+ *
+ * Example usage:
+ *
+ * BatchInputParser.Result&lt;LocalDate&gt; result = BatchInputParser.parseDates(
+ * cellTexts, datePickerSettings.getInputEngine(), true);
+ */
+public class BatchInputParser {
+
+    /**
+     * maximumMemoSize, This is the number of distinct strings that the scratch memo of one range
+     * may hold. The memo is cleared when it is full.
+     */
+    static private final int maximumMemoSize = 4096;
+
+    /**
+     * minimumRangeSize, This is the smallest number of strings that a parallel task will split
+     * into smaller tasks.
+     */
+    static private final int minimumRangeSize = 1024;
+
+    /**
+     * Constructor, This class only has static members.
+     */
+    private BatchInputParser() {
+    }
+
+    /**
+     * parseDates, This parses and validates each of the supplied strings with the supplied date
+     * engine. If parallel is true, the work is split across the common ForkJoinPool. Null strings
+     * are treated as empty text.
+     */
+    static public Result<LocalDate> parseDates(List<String> texts, DateInputEngine engine,
+            boolean parallel) {
+        return parseDates(texts.toArray(new String[texts.size()]), engine, parallel);
+    }
+
+    /**
+     * parseDates, This parses and validates each of the supplied strings with the supplied date
+     * engine. If parallel is true, the work is split across the common ForkJoinPool. Null strings
+     * are treated as empty text.
+     */
+    static public Result<LocalDate> parseDates(String[] texts, DateInputEngine engine,
+            boolean parallel) {
+        if (engine == null) {
+            throw new RuntimeException("BatchInputParser.parseDates(), "
+                    + "The engine may not be null.");
+        }
+        return zParseAll(texts, engine::validate, parallel);
+    }
+
+    /**
+     * parseTimes, This parses and validates each of the supplied strings with the supplied time
+     * engine. If parallel is true, the work is split across the common ForkJoinPool. Null strings
+     * are treated as empty text.
+     */
+    static public Result<LocalTime> parseTimes(List<String> texts, TimeInputEngine engine,
+            boolean parallel) {
+        return parseTimes(texts.toArray(new String[texts.size()]), engine, parallel);
+    }
+
+    /**
+     * parseTimes, This parses and validates each of the supplied strings with the supplied time
+     * engine. If parallel is true, the work is split across the common ForkJoinPool. Null strings
+     * are treated as empty text.
+     */
+    static public Result<LocalTime> parseTimes(String[] texts, TimeInputEngine engine,
+            boolean parallel) {
+        if (engine == null) {
+            throw new RuntimeException("BatchInputParser.parseTimes(), "
+                    + "The engine may not be null.");
+        }
+        return zParseAll(texts, engine::validate, parallel);
+    }
+
+    /**
+     * zParseAll, This validates every supplied string with the supplied validation function, and
+     * creates the batch result. A batch that is too small to split is parsed sequentially, even if
+     * parallel mode was requested. The result records the mode that was actually used.
+     */
+    static private <T> Result<T> zParseAll(String[] texts,
+            Function<String, ParsedInput<T>> validator, boolean parallel) {
+        if (texts == null) {
+            throw new RuntimeException("BatchInputParser, The texts may not be null.");
+        }
+        long startNanoTime = System.nanoTime();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ParsedInput<T>[] inputs = (ParsedInput<T>[]) new ParsedInput[texts.length];
+        boolean runInParallel = parallel && (texts.length > minimumRangeSize);
+        if (runInParallel) {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            int rangeSize = Math.max(minimumRangeSize,
+                    texts.length / (pool.getParallelism() * 4));
+            pool.invoke(new ParseRangeTask<>(
+                    texts, inputs, validator, 0, texts.length, rangeSize));
+        } else {
+            zParseRange(texts, inputs, validator, 0, texts.length);
+        }
+        int[] failureCounts = new int[IndicatorState.values().length];
+        int failureCount = 0;
+        for (ParsedInput<T> input : inputs) {
+            if (!input.isValid()) {
+                ++failureCount;
+                ++failureCounts[input.getIndicatorState().ordinal()];
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanoTime;
+        return new Result<>(inputs, failureCount, failureCounts, elapsedNanos, runInParallel);
+    }
+
+    /**
+     * zParseRange, This validates the strings in the supplied index range, and stores the results
+     * at the same indexes. The scratch memo belongs to this range only, and it is discarded when
+     * the range is complete.
+     */
+    static private <T> void zParseRange(String[] texts, ParsedInput<T>[] inputs,
+            Function<String, ParsedInput<T>> validator, int fromIndex, int toIndex) {
+        HashMap<String, ParsedInput<T>> memo = new HashMap<>();
+        for (int index = fromIndex; index < toIndex; ++index) {
+            String text = texts[index];
+            ParsedInput<T> input = memo.get(text);
+            if (input == null) {
+                input = validator.apply(text);
+                if (memo.size() >= maximumMemoSize) {
+                    memo.clear();
+                }
+                memo.put(text, input);
+            }
+            inputs[index] = input;
+        }
+    }
+
+    /**
+     * ParseRangeTask, This is the ForkJoin task that validates one range of a parallel batch. A
+     * range that is larger than the range size is split in half.
+     */
+    static private class ParseRangeTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final int fromIndex;
+        private final ParsedInput<T>[] inputs;
+        private final int rangeSize;
+        private final String[] texts;
+        private final int toIndex;
+        private final Function<String, ParsedInput<T>> validator;
+
+        ParseRangeTask(String[] texts, ParsedInput<T>[] inputs,
+                Function<String, ParsedInput<T>> validator,
+                int fromIndex, int toIndex, int rangeSize) {
+            this.texts = texts;
+            this.inputs = inputs;
+            this.validator = validator;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.rangeSize = rangeSize;
+        }
+
+        @Override
+        protected void compute() {
+            if ((toIndex - fromIndex) <= rangeSize) {
+                zParseRange(texts, inputs, validator, fromIndex, toIndex);
+                return;
+            }
+            int middleIndex = (fromIndex + toIndex) >>> 1;
+            invokeAll(new ParseRangeTask<>(
+                    texts, inputs, validator, fromIndex, middleIndex, rangeSize),
+                    new ParseRangeTask<>(
+                            texts, inputs, validator, middleIndex, toIndex, rangeSize));
+        }
+    }
+
+    /**
+     * Result, This holds the result of one batch. The results of the strings are stored in the
+     * same order as the supplied strings. A result is immutable.
+     */
+    static public class Result<T> {
+
+        /**
+         * elapsedNanos, This holds the time that was taken to parse the batch, in nanoseconds.
+         */
+        private final long elapsedNanos;
+
+        /**
+         * failureCount, This holds the number of strings that were not valid.
+         */
+        private final int failureCount;
+
+        /**
+         * failureCounts, This holds the number of strings that were not valid, for each indicator
+         * state. The array is indexed by the ordinal of the indicator state.
+         */
+        private final int[] failureCounts;
+
+        /**
+         * inputs, This holds the parse result of each string.
+         */
+        private final ParsedInput<T>[] inputs;
+
+        /**
+         * wasParallel, This indicates whether or not the batch was actually parsed in parallel
+         * mode.
+         */
+        private final boolean wasParallel;
+
+        /**
+         * Constructor, This is only called by the BatchInputParser.
+         */
+        private Result(ParsedInput<T>[] inputs, int failureCount, int[] failureCounts,
+                long elapsedNanos, boolean wasParallel) {
+            this.inputs = inputs;
+            this.failureCount = failureCount;
+            this.failureCounts = failureCounts;
+            this.elapsedNanos = elapsedNanos;
+            this.wasParallel = wasParallel;
+        }
+
+        /**
+         * getElapsedNanos, This returns the time that was taken to parse the batch, in
+         * nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * getFailureCount, This returns the number of strings that were not valid.
+         */
+        public int getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * getFailureCount, This returns the number of strings that were not valid because of the
+         * supplied reason. The reason is UnparsableValue, VetoedValue, or DisallowedEmptyValue.
+         */
+        public int getFailureCount(IndicatorState reason) {
+            return failureCounts[reason.ordinal()];
+        }
+
+        /**
+         * getFailureReasonOrNull, This returns the reason that the string at the supplied index
+         * was not valid, or null if the string was valid.
+         */
+        public IndicatorState getFailureReasonOrNull(int index) {
+            return (inputs[index].isValid()) ? null : inputs[index].getIndicatorState();
+        }
+
+        /**
+         * getInput, This returns the full parse result of the string at the supplied index.
+         */
+        public ParsedInput<T> getInput(int index) {
+            return inputs[index];
+        }
+
+        /**
+         * getItemsPerSecond, This returns the throughput of the batch, in strings per second.
+         */
+        public double getItemsPerSecond() {
+            return (elapsedNanos <= 0) ? 0 : (inputs.length * 1_000_000_000.0) / elapsedNanos;
+        }
+
+        /**
+         * getValueOrNull, This returns the value of the string at the supplied index, or null if
+         * the string was empty or was not valid. Vetoed values are not returned. The vetoed value
+         * is still available from getInput().
+         */
+        public T getValueOrNull(int index) {
+            return (inputs[index].isValid()) ? inputs[index].getParsedValue() : null;
+        }
+
+        /**
+         * getValues, This returns a new list with the value of each string, in the same order as
+         * the supplied strings. See getValueOrNull() for details.
+         */
+        public ArrayList<T> getValues() {
+            ArrayList<T> values = new ArrayList<>(inputs.length);
+            for (int index = 0; index < inputs.length; ++index) {
+                values.add(getValueOrNull(index));
+            }
+            return values;
+        }
+
+        /**
+         * size, This returns the number of strings in the batch.
+         */
+        public int size() {
+            return inputs.length;
+        }
+
+        /**
+         * wasParallel, This returns true if the batch was actually parsed in parallel mode. This
+         * returns false if parallel mode was requested, but the batch was too small to split.
+         */
+        public boolean wasParallel() {
+            return wasParallel;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.lgooddatepicker.optionalusertools;
+
+import java.time.YearMonth;
+
+/**
+ * BulkDateHighlightPolicy, This is an optional extension of the DateHighlightPolicy interface. A
+ * highlight policy can implement this interface when it is able to answer for all the days of a
+ * month at once, more efficiently than it can answer for each day separately.
+ *
+ * When the highlight policy of a date picker implements this interface, the calendar panel asks
+ * for the highlights of each displayed month with a single call to getHighlightStringsOrNull(),
+ * instead of calling getHighlightStringOrNull() for each day of the month. Highlight policies that
+ * do not implement this interface are still called once for each day.
+ *
+ * The getHighlightStringOrNull() function must still be implemented, and it should always agree
+ * with the result of getHighlightStringsOrNull().
+ */
+public interface BulkDateHighlightPolicy extends DateHighlightPolicy {
+
+    /**
+     * getHighlightStringsOrNull, Implement this function to indicate which days of the supplied
+     * month should be highlighted. Return an array that is indexed by the zero based day of the
+     * month, (index zero represents the first day of the month). Each element of the array has the
+     * same meaning as the result of getHighlightStringOrNull(): An element with tooltip text
+     * highlights the day with a tooltip, an empty string ("") highlights the day without a
+     * tooltip, and null does not highlight the day. The array may be shorter than the month, in
+     * which case the missing days are not highlighted. If no day of the month should be
+     * highlighted, the function may return null.
+     *
+     * The returned array will not be modified by the date picker.
+     *
+     * The value of null will never be passed to this function, under any case.
+     */
+    public String[] getHighlightStringsOrNull(YearMonth yearMonth);
+
+}
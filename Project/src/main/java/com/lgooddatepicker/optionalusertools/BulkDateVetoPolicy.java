@@ -0,0 +1,38 @@
+package com.lgooddatepicker.optionalusertools;
+
+import java.time.YearMonth;
+
+/**
+ * BulkDateVetoPolicy,
+ *
+ * This is an optional extension of the DateVetoPolicy interface. A veto policy can implement this
+ * interface when it is able to answer for all the days of a month at once, more efficiently than
+ * it can answer for each day separately. (For example, when the vetoed dates are retrieved from
+ * an indexed table or a remote service.)
+ *
+ * When the veto policy of a date picker implements this interface, the calendar panel asks for
+ * the vetoed days of each displayed month with a single call to getVetoedDaysMask(), instead of
+ * calling isDateAllowed() for each day of the month. The validation of typed dates also uses
+ * getVetoedDaysMask(). Veto policies that do not implement this interface are still called once for
+ * each day.
+ *
+ * The isDateAllowed() function must still be implemented, and it should always agree with the
+ * result of getVetoedDaysMask().
+ */
+public interface BulkDateVetoPolicy extends DateVetoPolicy {
+
+    /**
+     * getVetoedDaysMask, Implement this function to indicate which days of the supplied month are
+     * vetoed. Bit zero of the result represents the first day of the month, bit one represents the
+     * second day of the month, and so on. Set a bit to indicate that a day is vetoed, or leave the
+     * bit cleared to indicate that the day is allowed. Any bits beyond the last day of the month
+     * are ignored.
+     *
+     * For example, a result of zero allows every day of the month, and a result of (1 << 14)
+     * vetoes only the 15th day of the month.
+     *
+     * The value of null will never be passed to this function, under any case.
+     */
+    public int getVetoedDaysMask(YearMonth yearMonth);
+
+}
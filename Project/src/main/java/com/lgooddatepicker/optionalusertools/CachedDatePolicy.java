@@ -0,0 +1,303 @@
+package com.lgooddatepicker.optionalusertools;
+
+import com.lgooddatepicker.zinternaltools.InternalUtilities;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CachedDatePolicy, This is an optional wrapper that remembers the answers of a DateVetoPolicy and
+ * a DateHighlightPolicy. This can be used when the wrapped policies are expensive to call, for
+ * example when they look up dates in a holiday table or a database. The date picker asks the veto
+ * policy about every visible day each time that the calendar is drawn, and also asks about the
+ * typed date each time that the date text is changed.
+ *
+ * The answers are remembered one month at a time. The first time that any date in a month is
+ * requested, the wrapped policies are asked about every day of that month. The veto results of the
+ * month are stored as a single bit mask, and the highlight strings of the month are stored in one
+ * array. (If no day of a month is highlighted, then no array is stored for that month.) The number
+ * of remembered months is limited. When the limit is exceeded, the least recently used month is
+ * forgotten.
+ *
+ * If the data behind the wrapped policies is changed, call invalidate(YearMonth) for each changed
+ * month, or call invalidateAll(), so that the new answers will be retrieved from the wrapped
+ * policies. If the calendar is currently open, the changes will be displayed the next time that
+ * the calendar is drawn. This class also implements MutableDatePolicy, so any prefetched months of
+ * the calendar panel are forgotten when the cached policy is invalidated.
+ *
+ * Example usage:
+ *
+ * CachedDatePolicy cachedPolicy = new CachedDatePolicy(myVetoPolicy, myHighlightPolicy);
+ * dateSettings.setVetoPolicy(cachedPolicy);
+ * dateSettings.highlightPolicy = cachedPolicy;
+ *
+ * This class implements the bulk policy interfaces, so the calendar panel retrieves each displayed
+ * month from the cache with a single call. If the wrapped policies also implement the bulk policy
+ * interfaces, then each month is retrieved from the wrapped policies with a single call.
+ *
+ * The functions of this class are synchronized, so a cached policy may also be used or invalidated
+ * from threads other than the Swing Event Dispatch Thread.
+ */
+public class CachedDatePolicy
+        implements BulkDateVetoPolicy, BulkDateHighlightPolicy, MutableDatePolicy {
+
+    /**
+     * defaultMaximumCachedMonths, This is the default maximum number of months that will be
+     * remembered by a cached policy.
+     */
+    static public final int defaultMaximumCachedMonths = 120;
+
+    /**
+     * highlightPolicy, This holds the wrapped highlight policy, or null if no highlight policy was
+     * supplied.
+     */
+    private final DateHighlightPolicy highlightPolicy;
+
+    /**
+     * maximumCachedMonths, This is the maximum number of months that will be remembered by this
+     * cached policy.
+     */
+    private final int maximumCachedMonths;
+
+    /**
+     * months, This maps each remembered month to the remembered answers for that month. This map
+     * is kept in least recently used order.
+     */
+    private final LinkedHashMap<YearMonth, MonthAnswers> months;
+
+    /**
+     * policyRevision, This is incremented every time that any remembered answers are forgotten by
+     * invalidate() or invalidateAll().
+     */
+    private long policyRevision = 0;
+
+    /**
+     * vetoPolicy, This holds the wrapped veto policy, or null if no veto policy was supplied.
+     */
+    private final DateVetoPolicy vetoPolicy;
+
+    /**
+     * Constructor, This creates a cached policy for the supplied veto policy and highlight policy,
+     * that remembers up to the default maximum number of months. Either policy may be null.
+     */
+    public CachedDatePolicy(DateVetoPolicy vetoPolicy, DateHighlightPolicy highlightPolicy) {
+        this(vetoPolicy, highlightPolicy, defaultMaximumCachedMonths);
+    }
+
+    /**
+     * Constructor, This creates a cached policy for the supplied veto policy and highlight policy,
+     * that remembers up to the specified maximum number of months. Either policy may be null. The
+     * maximum number of months must be at least one.
+     */
+    public CachedDatePolicy(DateVetoPolicy vetoPolicy, DateHighlightPolicy highlightPolicy,
+            int maximumCachedMonths) {
+        if (maximumCachedMonths < 1) {
+            throw new RuntimeException("CachedDatePolicy.CachedDatePolicy(), "
+                    + "The maximum number of cached months must be at least one.");
+        }
+        this.vetoPolicy = vetoPolicy;
+        this.highlightPolicy = highlightPolicy;
+        this.maximumCachedMonths = maximumCachedMonths;
+        this.months = new LinkedHashMap<YearMonth, MonthAnswers>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<YearMonth, MonthAnswers> eldest) {
+                return size() > CachedDatePolicy.this.maximumCachedMonths;
+            }
+        };
+    }
+
+    /**
+     * getCachedMonthCount, This returns the number of months that are currently remembered.
+     */
+    public synchronized int getCachedMonthCount() {
+        return months.size();
+    }
+
+    /**
+     * getHighlightPolicy, This returns the wrapped highlight policy, or null if no highlight policy
+     * was supplied.
+     */
+    public DateHighlightPolicy getHighlightPolicy() {
+        return highlightPolicy;
+    }
+
+    /**
+     * getHighlightStringOrNull, Part of DateHighlightPolicy. This returns the remembered answer of
+     * the wrapped highlight policy for the supplied date. If there is no wrapped highlight policy,
+     * this returns null.
+     */
+    @Override
+    public synchronized String getHighlightStringOrNull(LocalDate date) {
+        if (highlightPolicy == null || date == null) {
+            return null;
+        }
+        String[] highlights = getMonthAnswers(YearMonth.from(date)).getHighlights();
+        return (highlights == null) ? null : highlights[date.getDayOfMonth() - 1];
+    }
+
+    /**
+     * getHighlightStringsOrNull, Part of BulkDateHighlightPolicy. This returns the remembered
+     * answers of the wrapped highlight policy for every day of the supplied month. See the
+     * BulkDateHighlightPolicy interface for details. The returned array should not be modified.
+     */
+    @Override
+    public synchronized String[] getHighlightStringsOrNull(YearMonth yearMonth) {
+        if (highlightPolicy == null) {
+            return null;
+        }
+        return getMonthAnswers(yearMonth).getHighlights();
+    }
+
+    /**
+     * getMaximumCachedMonths, This returns the maximum number of months that will be remembered.
+     */
+    public int getMaximumCachedMonths() {
+        return maximumCachedMonths;
+    }
+
+    /**
+     * getPolicyRevision, Part of MutableDatePolicy. This returns a number that changes every time
+     * that invalidate() or invalidateAll() is called.
+     */
+    @Override
+    public synchronized long getPolicyRevision() {
+        return policyRevision;
+    }
+
+    /**
+     * getVetoedDaysMask, Part of BulkDateVetoPolicy. This returns the remembered veto results of
+     * the wrapped veto policy for every day of the supplied month. Bit zero of the result
+     * represents the first day of the month, bit one represents the second day, and so on. A set
+     * bit indicates that the day is vetoed. If there is no wrapped veto policy, this returns zero.
+     */
+    @Override
+    public synchronized int getVetoedDaysMask(YearMonth yearMonth) {
+        if (vetoPolicy == null) {
+            return 0;
+        }
+        return getMonthAnswers(yearMonth).getVetoedDaysMask();
+    }
+
+    /**
+     * getVetoPolicy, This returns the wrapped veto policy, or null if no veto policy was supplied.
+     */
+    public DateVetoPolicy getVetoPolicy() {
+        return vetoPolicy;
+    }
+
+    /**
+     * invalidate, This forgets the remembered answers for the supplied month. The next request for
+     * a date in that month will call the wrapped policies again.
+     */
+    public synchronized void invalidate(YearMonth yearMonth) {
+        months.remove(yearMonth);
+        ++policyRevision;
+    }
+
+    /**
+     * invalidateAll, This forgets the remembered answers for every month.
+     */
+    public synchronized void invalidateAll() {
+        months.clear();
+        ++policyRevision;
+    }
+
+    /**
+     * isDateAllowed, Part of DateVetoPolicy. This returns the remembered answer of the wrapped veto
+     * policy for the supplied date. If there is no wrapped veto policy, this returns true.
+     */
+    @Override
+    public synchronized boolean isDateAllowed(LocalDate date) {
+        if (vetoPolicy == null || date == null) {
+            return true;
+        }
+        int vetoedDaysMask = getMonthAnswers(YearMonth.from(date)).getVetoedDaysMask();
+        return (vetoedDaysMask & (1 << (date.getDayOfMonth() - 1))) == 0;
+    }
+
+    /**
+     * getMonthAnswers, This returns the remembered answers for the supplied month. If the month is
+     * not remembered, then a new (empty) entry is created for the month.
+     */
+    private MonthAnswers getMonthAnswers(YearMonth yearMonth) {
+        MonthAnswers answers = months.get(yearMonth);
+        if (answers == null) {
+            answers = new MonthAnswers(yearMonth);
+            months.put(yearMonth, answers);
+        }
+        return answers;
+    }
+
+    /**
+     * MonthAnswers, This holds the remembered answers of the wrapped policies for one month. The
+     * veto answers and the highlight answers are each retrieved the first time that they are
+     * needed.
+     */
+    private class MonthAnswers {
+
+        /**
+         * highlights, This holds the highlight string of each day of the month, indexed by the
+         * zero based day of the month. This is null if no day of the month is highlighted.
+         */
+        private String[] highlights = null;
+
+        /**
+         * highlightsAreLoaded, This indicates whether or not the highlight answers of this month
+         * have been retrieved.
+         */
+        private boolean highlightsAreLoaded = false;
+
+        /**
+         * vetoedDaysMask, This holds the veto answers of this month. See getVetoedDaysMask() in the
+         * enclosing class for details.
+         */
+        private int vetoedDaysMask = 0;
+
+        /**
+         * vetoesAreLoaded, This indicates whether or not the veto answers of this month have been
+         * retrieved.
+         */
+        private boolean vetoesAreLoaded = false;
+
+        /**
+         * yearMonth, This is the month of these answers.
+         */
+        private final YearMonth yearMonth;
+
+        /**
+         * Constructor, This creates an empty set of answers for the supplied month.
+         */
+        private MonthAnswers(YearMonth yearMonth) {
+            this.yearMonth = yearMonth;
+        }
+
+        /**
+         * getHighlights, This returns the highlight strings of the month. The wrapped highlight
+         * policy is asked about the whole month the first time that this is called. A private
+         * copy of the answers is kept, so that the cache is not affected if the wrapped policy
+         * later modifies an array that it returned.
+         */
+        private String[] getHighlights() {
+            if (!highlightsAreLoaded) {
+                String[] answers = InternalUtilities.getHighlightStringsOrNull(
+                        highlightPolicy, yearMonth);
+                highlights = (answers == null) ? null : answers.clone();
+                highlightsAreLoaded = true;
+            }
+            return highlights;
+        }
+
+        /**
+         * getVetoedDaysMask, This returns the veto answers of the month. The wrapped veto policy
+         * is asked about the whole month the first time that this is called.
+         */
+        private int getVetoedDaysMask() {
+            if (!vetoesAreLoaded) {
+                vetoedDaysMask = InternalUtilities.getVetoedDaysMask(vetoPolicy, yearMonth);
+                vetoesAreLoaded = true;
+            }
+            return vetoedDaysMask;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.lgooddatepicker.optionalusertools;
+
+import java.time.LocalTime;
+
+/**
+ * CompiledTimeVetoPolicy, This is an optional wrapper that precompiles the answers of a
+ * TimeVetoPolicy into a bitmap of allowed times. The time picker asks the veto policy about every
+ * menu time each time that the time menu is opened, about every time that is reached with the
+ * spinner buttons, and about every typed time. A compiled veto policy answers each of these
+ * questions with a single bit test.
+ *
+ * The bitmap has one bit for each minute of the day (1440 bits), or optionally one bit for each
+ * second of the day (86400 bits). The wrapped policy is asked about every minute or second of the
+ * day when the compiled policy is created, and again each time that rebuild() is called. Times at
+ * the bitmap resolution are answered with the answers of the wrapped policy at the time of the
+ * last rebuild. Times that are more precise than the bitmap resolution (for example, a time with
+ * seconds, when the bitmap has minute resolution) are not in the bitmap, so they are passed to the
+ * wrapped policy when they are checked, and they receive the current answer of the wrapped policy.
+ *
+ * The time menu of a time picker is filtered by copying whole words of the bitmap, whenever the
+ * menu times line up with the bitmap resolution. (For example, a menu with one minute increments
+ * and a minute bitmap, or a menu with one second increments and a second bitmap.)
+ *
+ * If the rules of the wrapped policy are changed, the bitmap must be rebuilt. When the compiled
+ * policy is used by a time picker, call TimePickerSettings.rebuildCompiledVetoPolicy(), which
+ * rebuilds the bitmap and makes the time picker validate its text again. Otherwise call rebuild().
+ *
+ * Example usage:
+ *
+ * timeSettings.setVetoPolicy(new CompiledTimeVetoPolicy(myVetoPolicy));
+ */
+public class CompiledTimeVetoPolicy implements TimeVetoPolicy {
+
+    /**
+     * allowedTimes, This holds the bitmap of allowed times. Bit n represents minute n of the day,
+     * or second n of the day if seconds are used. A set bit indicates an allowed time. A new array
+     * is created by each rebuild, so a bitmap array is never modified after it is published.
+     */
+    private volatile long[] allowedTimes;
+
+    /**
+     * usesSeconds, This indicates whether the bitmap has one bit for each second of the day,
+     * instead of one bit for each minute of the day.
+     */
+    private final boolean usesSeconds;
+
+    /**
+     * vetoPolicy, This holds the wrapped veto policy.
+     */
+    private final TimeVetoPolicy vetoPolicy;
+
+    /**
+     * Constructor, This creates a compiled veto policy for the supplied veto policy, with one bit
+     * for each minute of the day. The veto policy may not be null.
+     */
+    public CompiledTimeVetoPolicy(TimeVetoPolicy vetoPolicy) {
+        this(vetoPolicy, false);
+    }
+
+    /**
+     * Constructor, This creates a compiled veto policy for the supplied veto policy. If usesSeconds
+     * is true, the bitmap has one bit for each second of the day. Otherwise the bitmap has one bit
+     * for each minute of the day. The veto policy may not be null.
+     */
+    public CompiledTimeVetoPolicy(TimeVetoPolicy vetoPolicy, boolean usesSeconds) {
+        if (vetoPolicy == null) {
+            throw new RuntimeException("CompiledTimeVetoPolicy.CompiledTimeVetoPolicy(), "
+                    + "The veto policy may not be null.");
+        }
+        this.vetoPolicy = vetoPolicy;
+        this.usesSeconds = usesSeconds;
+        rebuild();
+    }
+
+    /**
+     * getAllowedTimesBitmap, This returns a copy of the bitmap of allowed times. Bit n of the
+     * bitmap (bit (n % 64) of word (n / 64)) represents minute n of the day, or second n of the day
+     * if seconds are used. A set bit indicates an allowed time. The copy is taken from a single
+     * rebuild, so it is always consistent.
+     */
+    public long[] getAllowedTimesBitmap() {
+        return allowedTimes.clone();
+    }
+
+    /**
+     * getVetoPolicy, This returns the wrapped veto policy.
+     */
+    public TimeVetoPolicy getVetoPolicy() {
+        return vetoPolicy;
+    }
+
+    /**
+     * isTimeAllowed, Part of TimeVetoPolicy. This returns the compiled answer for the supplied
+     * time. If the time is more precise than the bitmap resolution, this returns the answer of the
+     * wrapped veto policy.
+     */
+    @Override
+    public boolean isTimeAllowed(LocalTime time) {
+        boolean isTooPrecise = (time.getNano() != 0) || ((!usesSeconds) && time.getSecond() != 0);
+        if (isTooPrecise) {
+            return vetoPolicy.isTimeAllowed(time);
+        }
+        int bit = (usesSeconds) ? time.toSecondOfDay() : (time.getHour() * 60 + time.getMinute());
+        return (allowedTimes[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * rebuild, This asks the wrapped veto policy about every minute (or every second) of the day,
+     * and replaces the bitmap with the new answers. Call this after the rules of the wrapped policy
+     * have been changed.
+     */
+    public void rebuild() {
+        int bitCount = (usesSeconds) ? 86400 : 1440;
+        int secondsPerBit = (usesSeconds) ? 1 : 60;
+        long[] bitmap = new long[(bitCount + 63) >>> 6];
+        for (int bit = 0; bit < bitCount; ++bit) {
+            if (vetoPolicy.isTimeAllowed(LocalTime.ofSecondOfDay(bit * secondsPerBit))) {
+                bitmap[bit >>> 6] |= (1L << bit);
+            }
+        }
+        allowedTimes = bitmap;
+    }
+
+    /**
+     * usesSeconds, This returns true if the bitmap has one bit for each second of the day, or
+     * false if the bitmap has one bit for each minute of the day.
+     */
+    public boolean usesSeconds() {
+        return usesSeconds;
+    }
+}
@@ -0,0 +1,187 @@
+package com.lgooddatepicker.optionalusertools;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * DateRangeVetoPolicy, This is a ready made veto policy that vetoes every date inside of a set of
+ * date ranges. This is intended for large sets of ranges, such as booking blackout periods.
+ *
+ * The ranges are stored as a sorted set of non-overlapping ranges of epoch days. Overlapping or
+ * touching ranges are merged when they are added, and ranges are split when part of a range is
+ * removed. Checking a single date takes O(log n) time, where n is the number of stored ranges.
+ * Finding the vetoed days of a month takes O(log n + k) time, where k is the number of stored
+ * ranges that intersect the month. Ranges can be added and removed at any time, without
+ * rebuilding the stored ranges.
+ *
+ * This class implements BulkDateVetoPolicy, so the calendar panel asks about each displayed month
+ * with a single call. The functions of this class are synchronized, so a range veto policy may
+ * also be used or changed from threads other than the Swing Event Dispatch Thread. If the ranges
+ * are changed while the calendar is open, the changes will be displayed the next time that the
+ * calendar is drawn. This class also implements MutableDatePolicy, so any prefetched months of
+ * the calendar panel are forgotten when the ranges are changed.
+ *
+ * Example usage:
+ *
+ * DateRangeVetoPolicy blackouts = new DateRangeVetoPolicy();
+ * blackouts.addVetoedRange(LocalDate.of(2016, 12, 24), LocalDate.of(2016, 12, 26));
+ * dateSettings.setVetoPolicy(blackouts);
+ */
+public class DateRangeVetoPolicy implements BulkDateVetoPolicy, MutableDatePolicy {
+
+    /**
+     * policyRevision, This is incremented every time that the stored ranges are changed.
+     */
+    private long policyRevision = 0;
+
+    /**
+     * ranges, This maps the first epoch day of each stored range to the last epoch day of the same
+     * range. Both days are inclusive. The stored ranges never overlap or touch each other.
+     */
+    private final TreeMap<Long, Long> ranges = new TreeMap<>();
+
+    /**
+     * addVetoedRange, This vetoes every date from the first date to the last date, inclusive. The
+     * new range is merged with any stored ranges that it overlaps or touches. Neither date may be
+     * null, and the first date may not be after the last date.
+     */
+    public synchronized void addVetoedRange(LocalDate firstDate, LocalDate lastDate) {
+        long first = toFirstEpochDay(firstDate, lastDate, "addVetoedRange");
+        long last = lastDate.toEpochDay();
+        ++policyRevision;
+        // Extend the new range to include a stored range that starts before it and reaches it.
+        Map.Entry<Long, Long> lower = ranges.floorEntry(first);
+        if (lower != null && lower.getValue() >= first - 1) {
+            first = lower.getKey();
+            last = Math.max(last, lower.getValue());
+        }
+        // Remove and absorb every stored range that starts inside of the new range, or that
+        // starts on the day after the new range.
+        NavigableMap<Long, Long> absorbed = ranges.subMap(first, true, last + 1, true);
+        for (Long absorbedLast : absorbed.values()) {
+            last = Math.max(last, absorbedLast);
+        }
+        absorbed.clear();
+        ranges.put(first, last);
+    }
+
+    /**
+     * clear, This removes every stored range, so that no date is vetoed.
+     */
+    public synchronized void clear() {
+        ranges.clear();
+        ++policyRevision;
+    }
+
+    /**
+     * getPolicyRevision, Part of MutableDatePolicy. This returns a number that changes every time
+     * that the stored ranges are changed.
+     */
+    @Override
+    public synchronized long getPolicyRevision() {
+        return policyRevision;
+    }
+
+    /**
+     * getRangeCount, This returns the number of stored ranges, after any merging of the ranges.
+     */
+    public synchronized int getRangeCount() {
+        return ranges.size();
+    }
+
+    /**
+     * getVetoedDaysMask, Part of BulkDateVetoPolicy. This returns the vetoed days of the supplied
+     * month as a bit mask. Bit zero represents the first day of the month, and a set bit indicates
+     * a vetoed day.
+     */
+    @Override
+    public synchronized int getVetoedDaysMask(YearMonth yearMonth) {
+        long monthFirst = yearMonth.atDay(1).toEpochDay();
+        long monthLast = monthFirst + yearMonth.lengthOfMonth() - 1;
+        // Start with the stored range that begins on or before the first day of the month, if any,
+        // and continue with every stored range that begins inside of the month.
+        Long startKey = ranges.floorKey(monthFirst);
+        NavigableMap<Long, Long> candidates = ranges.subMap(
+                (startKey == null) ? monthFirst : startKey, true, monthLast, true);
+        int mask = 0;
+        for (Map.Entry<Long, Long> range : candidates.entrySet()) {
+            long first = Math.max(range.getKey(), monthFirst);
+            long last = Math.min(range.getValue(), monthLast);
+            if (first > last) {
+                continue;
+            }
+            int firstBit = (int) (first - monthFirst);
+            int bitCount = (int) (last - first) + 1;
+            // Set the bits from firstBit to (firstBit + bitCount - 1). A month has at most 31
+            // days, so the shifts never reach the sign bit.
+            mask |= (((1 << bitCount) - 1) << firstBit);
+        }
+        return mask;
+    }
+
+    /**
+     * isDateAllowed, Part of DateVetoPolicy. This returns false if the supplied date is inside of
+     * any stored range. Otherwise this returns true.
+     */
+    @Override
+    public synchronized boolean isDateAllowed(LocalDate date) {
+        if (date == null) {
+            return true;
+        }
+        long epochDay = date.toEpochDay();
+        Map.Entry<Long, Long> range = ranges.floorEntry(epochDay);
+        return (range == null) || (range.getValue() < epochDay);
+    }
+
+    /**
+     * removeVetoedRange, This allows every date from the first date to the last date, inclusive.
+     * Any stored range that partly overlaps the removed dates is shortened or split. Neither date
+     * may be null, and the first date may not be after the last date.
+     */
+    public synchronized void removeVetoedRange(LocalDate firstDate, LocalDate lastDate) {
+        long first = toFirstEpochDay(firstDate, lastDate, "removeVetoedRange");
+        long last = lastDate.toEpochDay();
+        ++policyRevision;
+        // Shorten a stored range that starts before the removed dates and reaches them. If that
+        // range continues after the removed dates, keep its remaining part as a new range.
+        Map.Entry<Long, Long> lower = ranges.lowerEntry(first);
+        if (lower != null && lower.getValue() >= first) {
+            ranges.put(lower.getKey(), first - 1);
+            if (lower.getValue() > last) {
+                ranges.put(last + 1, lower.getValue());
+                return;
+            }
+        }
+        // Remove every stored range that starts inside of the removed dates. If the last of those
+        // ranges continues after the removed dates, keep its remaining part.
+        NavigableMap<Long, Long> removed = ranges.subMap(first, true, last, true);
+        long remainingLast = Long.MIN_VALUE;
+        for (Long removedLast : removed.values()) {
+            remainingLast = Math.max(remainingLast, removedLast);
+        }
+        removed.clear();
+        if (remainingLast > last) {
+            ranges.put(last + 1, remainingLast);
+        }
+    }
+
+    /**
+     * toFirstEpochDay, This validates the supplied range dates, and returns the epoch day of the
+     * first date.
+     */
+    static private long toFirstEpochDay(LocalDate firstDate, LocalDate lastDate,
+            String functionName) {
+        if (firstDate == null || lastDate == null) {
+            throw new RuntimeException("DateRangeVetoPolicy." + functionName + "(), "
+                    + "The range dates may not be null.");
+        }
+        if (firstDate.isAfter(lastDate)) {
+            throw new RuntimeException("DateRangeVetoPolicy." + functionName + "(), "
+                    + "The first date may not be after the last date.");
+        }
+        return firstDate.toEpochDay();
+    }
+}
@@ -0,0 +1,29 @@
+package com.lgooddatepicker.optionalusertools;
+
+/**
+ * MutableDatePolicy,
+ *
+ * This is an optional interface for a veto policy or a highlight policy whose answers can change
+ * after the policy has been set in the date picker settings. (For example, when dates are added
+ * to or removed from the policy.) A policy can implement this interface to tell the date picker
+ * when its answers have changed.
+ *
+ * When the prefetchAdjacentMonths setting of a date picker is enabled, the calendar panel
+ * remembers the policy answers of the months that neighbor the displayed month. If the veto
+ * policy or the highlight policy implements this interface, then the calendar panel forgets those
+ * remembered answers whenever the policy revision changes. The displayed month is always asked
+ * again each time that the calendar is drawn.
+ *
+ * The DateRangeVetoPolicy and CachedDatePolicy classes implement this interface.
+ */
+public interface MutableDatePolicy {
+
+    /**
+     * getPolicyRevision, Implement this function to return a number that changes every time that
+     * the answers of the policy change. The number only needs to be different from the previous
+     * number, it does not need to increase. This function may be called from any thread, so it
+     * must be thread safe.
+     */
+    public long getPolicyRevision();
+
+}
@@ -0,0 +1,184 @@
+package com.lgooddatepicker.optionalusertools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * PickerBatchUpdate, This is used to change the values of many pickers at once, such as when a
+ * record is loaded into a form. This applies to every DatePicker, TimePicker, and DateTimePicker.
+ *
+ * While a batch update is active, setting a date, a time, or the text of a picker only writes the
+ * new text into the picker text field. Parsing the text, checking the veto policy, storing the
+ * last valid value, drawing the text field indicators, and notifying the change listeners are all
+ * deferred until the batch update is committed. When the batch update is committed, each picker
+ * that was changed does this work once, for its final text, and sends at most one change event.
+ *
+ * Note: While a batch update is active, getDate() and getTime() still return the values that the
+ * pickers had before their text was changed.
+ *
+ * Batch updates may be nested. The deferred work is only done when the outermost batch update is
+ * committed. This class may only be used from the Swing Event Dispatch Thread.
+ *
+ * Example usage:
+ *
+ * PickerBatchUpdate.begin();
+ * try {
+ * datePicker.setDate(record.getDate());
+ * timePicker.setTime(record.getTime());
+ * } finally {
+ * PickerBatchUpdate.commit();
+ * }
+ */
+public class PickerBatchUpdate {
+
+    /**
+     * deferredPickers, This holds each picker that was changed during the active batch update.
+     * Pickers are compared by identity.
+     */
+    static private final Set<Object> deferredPickers
+            = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * deferredWorkOrder, This holds the deferred work of the active batch update, in the order that
+     * the pickers were first changed.
+     */
+    static private final ArrayList<Runnable> deferredWorkOrder = new ArrayList<>();
+
+    /**
+     * finalWorkOrder, This holds the work that must be done after the deferred work of every
+     * picker has been done, in the order that it was first requested. This is used by the
+     * DateTimePicker, to send one change event after both of its inner pickers have been updated.
+     */
+    static private final ArrayList<Runnable> finalWorkOrder = new ArrayList<>();
+
+    /**
+     * finalWorkOwners, This holds each component that requested final work during the current
+     * commit. Components are compared by identity.
+     */
+    static private final Set<Object> finalWorkOwners
+            = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * isCommitting, This is true while the deferred work of the pickers is being done by commit().
+     */
+    static private boolean isCommitting = false;
+
+    /**
+     * nestingDepth, This holds the number of batch updates that have begun, and have not yet been
+     * committed.
+     */
+    static private int nestingDepth = 0;
+
+    /**
+     * Constructor, This class only has static members.
+     */
+    private PickerBatchUpdate() {
+    }
+
+    /**
+     * begin, This begins a batch update. Every call to begin() must be followed by a call to
+     * commit(), usually in a finally block.
+     */
+    static public void begin() {
+        ++nestingDepth;
+    }
+
+    /**
+     * commit, This commits the batch update that was most recently begun. If this commits the
+     * outermost batch update, then every picker that was changed during the batch update validates
+     * its text, draws its text field indicators, and notifies its listeners, in the order that the
+     * pickers were first changed. A DateTimePicker notifies its listeners once, after both of its
+     * inner pickers have done their work.
+     *
+     * If the deferred work of any picker throws an exception, then the work of the remaining
+     * pickers is still done, and the first exception is thrown afterwards.
+     */
+    static public void commit() {
+        if (nestingDepth == 0) {
+            throw new RuntimeException("PickerBatchUpdate.commit(), "
+                    + "A batch update must be begun before it can be committed.");
+        }
+        --nestingDepth;
+        if (nestingDepth > 0) {
+            return;
+        }
+        Runnable[] work = deferredWorkOrder.toArray(new Runnable[deferredWorkOrder.size()]);
+        deferredPickers.clear();
+        deferredWorkOrder.clear();
+        RuntimeException firstException;
+        isCommitting = true;
+        try {
+            firstException = zRunAll(work, null);
+        } finally {
+            isCommitting = false;
+        }
+        Runnable[] finalWork = finalWorkOrder.toArray(new Runnable[finalWorkOrder.size()]);
+        finalWorkOwners.clear();
+        finalWorkOrder.clear();
+        firstException = zRunAll(finalWork, firstException);
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * isActive, This returns true if a batch update has begun, and has not yet been committed.
+     */
+    static public boolean isActive() {
+        return nestingDepth > 0;
+    }
+
+    /**
+     * zRunAfterPickerWork, This is called by the DateTimePicker, and is not intended to be called
+     * by the programmer. If a batch update is active or is being committed, this records that the
+     * supplied work must be done after the deferred work of every picker has been done, and returns
+     * true. Work from the same owner is only recorded once per commit. Otherwise this returns
+     * false, and the work should be done immediately.
+     */
+    static public boolean zRunAfterPickerWork(Object owner, Runnable work) {
+        if (nestingDepth == 0 && !isCommitting) {
+            return false;
+        }
+        if (finalWorkOwners.add(owner)) {
+            finalWorkOrder.add(work);
+        }
+        return true;
+    }
+
+    /**
+     * zRunAll, This runs each supplied work item, even if an earlier item throws an exception.
+     * This returns the supplied first exception, or the first exception that was thrown by the
+     * work if the supplied exception is null.
+     */
+    static private RuntimeException zRunAll(Runnable[] work, RuntimeException firstException) {
+        for (Runnable item : work) {
+            try {
+                item.run();
+            } catch (RuntimeException ex) {
+                if (firstException == null) {
+                    firstException = ex;
+                }
+            }
+        }
+        return firstException;
+    }
+
+    /**
+     * zDeferUntilCommit, This is called by the pickers, and is not intended to be called by the
+     * programmer. If a batch update is active, this records that the supplied picker must do the
+     * supplied work when the batch update is committed, and returns true. A picker that is changed
+     * more than once only does its work once. If no batch update is active, this returns false,
+     * and the picker should do the work immediately.
+     */
+    static public boolean zDeferUntilCommit(Object picker, Runnable work) {
+        if (nestingDepth == 0) {
+            return false;
+        }
+        if (deferredPickers.add(picker)) {
+            deferredWorkOrder.add(work);
+        }
+        return true;
+    }
+}
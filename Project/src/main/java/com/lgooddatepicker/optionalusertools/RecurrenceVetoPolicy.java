@@ -0,0 +1,249 @@
+package com.lgooddatepicker.optionalusertools;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RecurrenceVetoPolicy, This is a ready made veto policy that vetoes dates according to a list of
+ * recurrence rules. The supported rules are: days of the week (such as weekends), a numbered day
+ * of the week in every month (such as the second Tuesday), fixed holidays (such as December 25),
+ * and floating holidays (such as the last Monday of May).
+ *
+ * A recurrence veto policy is created with a Builder. The rules are compiled into one bitmap for
+ * each year, with one bit for each day of the year. The bitmap of a year is created the first time
+ * that any date in that year is requested, and it is cached for later requests. After that,
+ * checking a date is a single bit test, and the vetoed days of a month are copied out of the year
+ * bitmap with a few shifts. This class implements BulkDateVetoPolicy, so the calendar panel asks
+ * about each displayed month with a single call.
+ *
+ * A recurrence veto policy is immutable, and it may be used from any thread.
+ *
+ * Example usage:
+ *
+ * RecurrenceVetoPolicy vetoPolicy = new RecurrenceVetoPolicy.Builder()
+ * .vetoDaysOfWeek(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)
+ * .vetoDayOfWeekInMonth(2, DayOfWeek.TUESDAY)
+ * .vetoMonthDay(Month.DECEMBER, 25)
+ * .vetoDayOfWeekInMonth(Month.MAY, -1, DayOfWeek.MONDAY)
+ * .build();
+ * dateSettings.setVetoPolicy(vetoPolicy);
+ */
+public class RecurrenceVetoPolicy implements BulkDateVetoPolicy {
+
+    /**
+     * maximumCachedYears, This is the maximum number of year bitmaps that will be cached by one
+     * recurrence veto policy. If this number is exceeded, the cache is cleared.
+     */
+    static private final int maximumCachedYears = 400;
+
+    /**
+     * rules, This holds the recurrence rules of this policy. This list is never modified.
+     */
+    private final List<YearRule> rules;
+
+    /**
+     * yearBitmaps, This caches the compiled bitmap of each requested year. Bit (n - 1) of a year
+     * bitmap represents day of the year n, and a set bit indicates a vetoed day. Each bitmap is
+     * stored in an array of 6 longs, and the bitmaps are never modified after they are created.
+     */
+    private final ConcurrentHashMap<Integer, long[]> yearBitmaps = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor, This creates a recurrence veto policy with the rules of the supplied builder.
+     * Use Builder.build() to create a recurrence veto policy.
+     */
+    private RecurrenceVetoPolicy(Builder builder) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(builder.rules));
+    }
+
+    /**
+     * getVetoedDaysMask, Part of BulkDateVetoPolicy. This returns the vetoed days of the supplied
+     * month as a bit mask. Bit zero represents the first day of the month, and a set bit indicates
+     * a vetoed day. The mask is copied from the bitmap of the year.
+     */
+    @Override
+    public int getVetoedDaysMask(YearMonth yearMonth) {
+        long[] bitmap = getYearBitmap(yearMonth.getYear());
+        int firstBit = yearMonth.atDay(1).getDayOfYear() - 1;
+        int lengthOfMonth = yearMonth.lengthOfMonth();
+        // The month may span two of the longs in the bitmap.
+        int wordIndex = firstBit >>> 6;
+        int bitIndex = firstBit & 63;
+        long bits = bitmap[wordIndex] >>> bitIndex;
+        if (bitIndex + lengthOfMonth > 64) {
+            bits |= bitmap[wordIndex + 1] << (64 - bitIndex);
+        }
+        return (int) (bits & ((1L << lengthOfMonth) - 1));
+    }
+
+    /**
+     * isDateAllowed, Part of DateVetoPolicy. This returns false if the supplied date matches any
+     * of the rules of this policy. Otherwise this returns true.
+     */
+    @Override
+    public boolean isDateAllowed(LocalDate date) {
+        if (date == null) {
+            return true;
+        }
+        long[] bitmap = getYearBitmap(date.getYear());
+        int bit = date.getDayOfYear() - 1;
+        return (bitmap[bit >>> 6] & (1L << bit)) == 0;
+    }
+
+    /**
+     * getYearBitmap, This returns the compiled bitmap of the supplied year. The bitmap is compiled
+     * the first time that it is requested.
+     */
+    private long[] getYearBitmap(int year) {
+        long[] bitmap = yearBitmaps.get(year);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        if (yearBitmaps.size() >= maximumCachedYears) {
+            yearBitmaps.clear();
+        }
+        return yearBitmaps.computeIfAbsent(year, this::compileYear);
+    }
+
+    /**
+     * compileYear, This creates the bitmap of the supplied year, by applying every rule of this
+     * policy to the year.
+     */
+    private long[] compileYear(int year) {
+        long[] bitmap = new long[6];
+        for (YearRule rule : rules) {
+            rule.markVetoedDays(year, bitmap);
+        }
+        return bitmap;
+    }
+
+    /**
+     * markDate, This sets the bit of the supplied date in the supplied year bitmap.
+     */
+    static private void markDate(LocalDate date, long[] bitmap) {
+        int bit = date.getDayOfYear() - 1;
+        bitmap[bit >>> 6] |= (1L << bit);
+    }
+
+    /**
+     * YearRule, This is implemented by each compiled recurrence rule. A year rule sets the bits of
+     * every day in the supplied year that is vetoed by the rule.
+     */
+    private interface YearRule {
+
+        void markVetoedDays(int year, long[] bitmap);
+    }
+
+    /**
+     * Builder, This is used to create a recurrence veto policy. Add any number of rules to the
+     * builder, and then call build(). A date is vetoed if it matches any of the rules. A builder
+     * may be used to create more than one policy.
+     */
+    static public class Builder {
+
+        /**
+         * rules, This holds the rules that have been added to this builder.
+         */
+        private final ArrayList<YearRule> rules = new ArrayList<>();
+
+        /**
+         * build, This creates a recurrence veto policy with the rules that have been added to this
+         * builder.
+         */
+        public RecurrenceVetoPolicy build() {
+            return new RecurrenceVetoPolicy(this);
+        }
+
+        /**
+         * vetoDayOfWeekInMonth, This vetoes a numbered day of the week in every month. For example,
+         * (2, TUESDAY) vetoes the second Tuesday of every month. The ordinal may be from 1 to 5 to
+         * count from the start of the month, or from -1 to -5 to count from the end of the month.
+         * For example, (-1, FRIDAY) vetoes the last Friday of every month. In months that do not
+         * have the requested day, no day is vetoed.
+         */
+        public Builder vetoDayOfWeekInMonth(int ordinal, DayOfWeek dayOfWeek) {
+            return vetoDayOfWeekInMonth(null, ordinal, dayOfWeek);
+        }
+
+        /**
+         * vetoDayOfWeekInMonth, This vetoes a numbered day of the week in one month of every year.
+         * This is used for floating holidays. For example, (MAY, -1, MONDAY) vetoes the last
+         * Monday of May. If the month is null, then the day is vetoed in every month. See
+         * vetoDayOfWeekInMonth(int, DayOfWeek) for the meaning of the ordinal.
+         */
+        public Builder vetoDayOfWeekInMonth(final Month month, final int ordinal,
+                final DayOfWeek dayOfWeek) {
+            if (ordinal == 0 || ordinal < -5 || ordinal > 5 || dayOfWeek == null) {
+                throw new RuntimeException("RecurrenceVetoPolicy.Builder.vetoDayOfWeekInMonth(), "
+                        + "The ordinal must be from 1 to 5 or from -1 to -5, "
+                        + "and the day of the week may not be null.");
+            }
+            rules.add((int year, long[] bitmap) -> {
+                for (Month candidateMonth : Month.values()) {
+                    if (month != null && candidateMonth != month) {
+                        continue;
+                    }
+                    LocalDate firstOfMonth = LocalDate.of(year, candidateMonth, 1);
+                    LocalDate date = firstOfMonth.with(
+                            TemporalAdjusters.dayOfWeekInMonth(ordinal, dayOfWeek));
+                    // A fifth day of the week can fall outside of the month.
+                    if (date.getMonth() == candidateMonth) {
+                        markDate(date, bitmap);
+                    }
+                }
+            });
+            return this;
+        }
+
+        /**
+         * vetoDaysOfWeek, This vetoes every date that falls on any of the supplied days of the
+         * week. For example, (SATURDAY, SUNDAY) vetoes every weekend day.
+         */
+        public Builder vetoDaysOfWeek(DayOfWeek... daysOfWeek) {
+            int dayOfWeekMask = 0;
+            for (DayOfWeek dayOfWeek : daysOfWeek) {
+                if (dayOfWeek == null) {
+                    throw new RuntimeException("RecurrenceVetoPolicy.Builder.vetoDaysOfWeek(), "
+                            + "The days of the week may not be null.");
+                }
+                dayOfWeekMask |= (1 << dayOfWeek.ordinal());
+            }
+            final int vetoedDayOfWeekMask = dayOfWeekMask;
+            rules.add((int year, long[] bitmap) -> {
+                int dayOfWeekIndex = LocalDate.of(year, 1, 1).getDayOfWeek().ordinal();
+                int lengthOfYear = Year.of(year).length();
+                for (int bit = 0; bit < lengthOfYear; ++bit) {
+                    if ((vetoedDayOfWeekMask & (1 << dayOfWeekIndex)) != 0) {
+                        bitmap[bit >>> 6] |= (1L << bit);
+                    }
+                    dayOfWeekIndex = (dayOfWeekIndex == 6) ? 0 : dayOfWeekIndex + 1;
+                }
+            });
+            return this;
+        }
+
+        /**
+         * vetoMonthDay, This vetoes the same month and day in every year. This is used for fixed
+         * holidays. For example, (DECEMBER, 25) vetoes December 25 of every year. February 29 is
+         * only vetoed in leap years.
+         */
+        public Builder vetoMonthDay(Month month, int dayOfMonth) {
+            final MonthDay monthDay = MonthDay.of(month, dayOfMonth);
+            rules.add((int year, long[] bitmap) -> {
+                if (monthDay.isValidYear(year)) {
+                    markDate(monthDay.atYear(year), bitmap);
+                }
+            });
+            return this;
+        }
+    }
+}
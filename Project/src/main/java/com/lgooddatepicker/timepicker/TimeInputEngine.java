@@ -0,0 +1,352 @@
+package com.lgooddatepicker.timepicker;
+
+import com.lgooddatepicker.optionalusertools.TimeVetoPolicy;
+import com.lgooddatepicker.zinternaltools.IndicatorState;
+import com.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.lgooddatepicker.zinternaltools.LazyFormatterList;
+import com.lgooddatepicker.zinternaltools.LocaleDefaults;
+import com.lgooddatepicker.zinternaltools.LocaleDefaults.TimeDefaults;
+import com.lgooddatepicker.zinternaltools.ParsedInput;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * TimeInputEngine, This holds the time parsing, formatting, and validation rules of a time picker,
+ * without any Swing components. The time picker uses a time input engine to validate its text, so
+ * an engine that is built with the same settings gives exactly the same results as the time
+ * picker.
+ *
+ * A time input engine is immutable, and it is safe to share between any number of threads. The
+ * veto policy of a shared engine must also be safe to call from those threads.
+ *
+ * A time input engine can be created from a TimePickerSettings instance with
+ * TimePickerSettings.getInputEngine(), or without any picker settings by using a Builder.
+ */
+public final class TimeInputEngine {
+
+    /**
+     * noFormats, This is an empty list of parsing formats. This list is never modified.
+     */
+    static private final ArrayList<DateTimeFormatter> noFormats = new ArrayList<>();
+
+    /**
+     * allowEmptyTimes, This indicates whether or not empty text is a valid time.
+     */
+    private final boolean allowEmptyTimes;
+
+    /**
+     * formatForDisplayTime, This holds the format for displaying and parsing times.
+     */
+    private final DateTimeFormatter formatForDisplayTime;
+
+    /**
+     * formatForMenuTimes, This holds the format of the menu times, which is also used for parsing.
+     */
+    private final DateTimeFormatter formatForMenuTimes;
+
+    /**
+     * formatsForParsing, This holds a private copy of the parsing formats. If the engine uses the
+     * default parsing formats of its locale, then the default list is only generated the first
+     * time that text is parsed. The list is never modified after it is stored.
+     */
+    private volatile ArrayList<DateTimeFormatter> formatsForParsing;
+
+    /**
+     * locale, This holds the locale of the engine.
+     */
+    private final Locale locale;
+
+    /**
+     * useLowercaseForDisplayTime, This indicates whether or not the display time is shown in
+     * lowercase.
+     */
+    private final boolean useLowercaseForDisplayTime;
+
+    /**
+     * vetoPolicy, This holds the veto policy, or null.
+     */
+    private final TimeVetoPolicy vetoPolicy;
+
+    /**
+     * Constructor, This creates an engine from the values of the supplied builder. Use
+     * Builder.build() to create an engine.
+     */
+    private TimeInputEngine(Builder builder) {
+        this.allowEmptyTimes = builder.allowEmptyTimes;
+        this.formatForDisplayTime = builder.formatForDisplayTime;
+        this.formatForMenuTimes = builder.formatForMenuTimes;
+        this.formatsForParsing = (builder.formatsForParsing == null)
+                ? null : new ArrayList<>(builder.formatsForParsing);
+        this.locale = builder.locale;
+        this.useLowercaseForDisplayTime = builder.useLowercaseForDisplayTime;
+        this.vetoPolicy = builder.vetoPolicy;
+    }
+
+    /**
+     * applyDisplayCase, This returns the supplied text in the letter case of the display time. If
+     * the display time is shown in lowercase, then the text is converted to lowercase with the
+     * locale of the engine. Otherwise the text is returned unchanged.
+     */
+    String applyDisplayCase(String text) {
+        return (useLowercaseForDisplayTime) ? text.toLowerCase(locale) : text;
+    }
+
+    /**
+     * formatTime, This returns the standard text for the supplied time, exactly as it would be
+     * displayed in the time picker text field. This uses the display format, and the lowercase
+     * setting of the display time. This returns an empty string ("") for a null time.
+     */
+    public String formatTime(LocalTime time) {
+        if (time == null) {
+            return "";
+        }
+        return applyDisplayCase(time.format(formatForDisplayTime));
+    }
+
+    /**
+     * getAllowEmptyTimes, This returns true if empty text is a valid time.
+     */
+    public boolean getAllowEmptyTimes() {
+        return allowEmptyTimes;
+    }
+
+    /**
+     * getLocale, This returns the locale of the engine.
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * getUseLowercaseForDisplayTime, This returns true if the display time is shown in lowercase.
+     */
+    public boolean getUseLowercaseForDisplayTime() {
+        return useLowercaseForDisplayTime;
+    }
+
+    /**
+     * getVetoPolicy, This returns the veto policy, or null.
+     */
+    public TimeVetoPolicy getVetoPolicy() {
+        return vetoPolicy;
+    }
+
+    /**
+     * isTimeAllowed, This returns true if the supplied time would be accepted by the time picker.
+     * A null time is allowed if empty times are allowed. Any other time is allowed if it is not
+     * vetoed.
+     */
+    public boolean isTimeAllowed(LocalTime time) {
+        if (time == null) {
+            return allowEmptyTimes;
+        }
+        return !isTimeVetoed(time);
+    }
+
+    /**
+     * isTimeVetoed, This returns true if the supplied time is vetoed by the veto policy. A null
+     * time is never vetoed.
+     */
+    public boolean isTimeVetoed(LocalTime time) {
+        return InternalUtilities.isTimeVetoed(vetoPolicy, time);
+    }
+
+    /**
+     * parseTimeOrNull, This tries to parse the supplied text into a time, with the same lenient
+     * rules that the time picker applies to typed text. This returns null if the text is empty or
+     * cannot be parsed.
+     */
+    public LocalTime parseTimeOrNull(String text) {
+        // If the default parsing formats have not been generated, try the display and menu formats
+        // first. Those formats are always tried first, so this gives the same result.
+        if (formatsForParsing == null) {
+            LocalTime parsedTime = InternalUtilities.getParsedTimeOrNull(text,
+                    formatForDisplayTime, formatForMenuTimes, noFormats, locale);
+            if (parsedTime != null) {
+                return parsedTime;
+            }
+        }
+        return InternalUtilities.getParsedTimeOrNull(text, formatForDisplayTime,
+                formatForMenuTimes, zGetFormatsForParsing(), locale);
+    }
+
+    /**
+     * validate, This parses the supplied text and checks it against the veto policy and the
+     * allowEmptyTimes setting. The result holds the parsed time, the veto verdict, and the
+     * indicator state that the time picker would show for the text.
+     */
+    public ParsedInput<LocalTime> validate(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            IndicatorState state = (allowEmptyTimes)
+                    ? IndicatorState.ValidFullOrEmptyValue : IndicatorState.DisallowedEmptyValue;
+            return new ParsedInput<>(text, null, false, state);
+        }
+        LocalTime parsedTime = parseTimeOrNull(text);
+        if (parsedTime == null) {
+            return new ParsedInput<>(text, null, false, IndicatorState.UnparsableValue);
+        }
+        boolean timeIsVetoed = isTimeVetoed(parsedTime);
+        IndicatorState state = (timeIsVetoed)
+                ? IndicatorState.VetoedValue : IndicatorState.ValidFullOrEmptyValue;
+        return new ParsedInput<>(text, parsedTime, timeIsVetoed, state);
+    }
+
+    /**
+     * zGetFormatsForParsing, This returns the parsing formats of the engine. If the engine uses the
+     * default parsing formats of its locale, then the default list is generated the first time
+     * that this is called. (Two threads may both generate the list, but the lists are equal.)
+     */
+    private ArrayList<DateTimeFormatter> zGetFormatsForParsing() {
+        ArrayList<DateTimeFormatter> formats = formatsForParsing;
+        if (formats == null) {
+            formats = LocaleDefaults.getTimeDefaults(locale).getFormatsForParsing();
+            formatsForParsing = formats;
+        }
+        return formats;
+    }
+
+    /**
+     * Builder, This is used to create a time input engine. The builder starts with the default
+     * formatters of the supplied locale, allows empty times, shows the display time in lowercase,
+     * and has no veto policy. A builder may be used to create more than one engine.
+     */
+    static public class Builder {
+
+        /**
+         * allowEmptyTimes, This indicates whether or not empty text is a valid time.
+         */
+        private boolean allowEmptyTimes = true;
+
+        /**
+         * formatForDisplayTime, This holds the display format.
+         */
+        private DateTimeFormatter formatForDisplayTime;
+
+        /**
+         * formatForMenuTimes, This holds the menu format.
+         */
+        private DateTimeFormatter formatForMenuTimes;
+
+        /**
+         * formatsForParsing, This holds the parsing formats, or null to use the default parsing
+         * formats of the locale.
+         */
+        private ArrayList<DateTimeFormatter> formatsForParsing;
+
+        /**
+         * locale, This holds the locale of the engine.
+         */
+        private final Locale locale;
+
+        /**
+         * useLowercaseForDisplayTime, This indicates whether or not the display time is shown in
+         * lowercase.
+         */
+        private boolean useLowercaseForDisplayTime = true;
+
+        /**
+         * vetoPolicy, This holds the veto policy, or null.
+         */
+        private TimeVetoPolicy vetoPolicy = null;
+
+        /**
+         * Constructor, This creates a builder with the default formatters of the supplied locale.
+         * These are the same default formatters that are used by a new TimePickerSettings instance
+         * with the same locale.
+         */
+        public Builder(Locale locale) {
+            this.locale = locale;
+            TimeDefaults defaults = LocaleDefaults.getTimeDefaults(locale);
+            formatForDisplayTime = defaults.getFormatForDisplayTime();
+            formatForMenuTimes = defaults.getFormatForMenuTimes();
+            formatsForParsing = null;
+        }
+
+        /**
+         * Constructor, This creates a builder with the current values of the supplied time picker
+         * settings.
+         */
+        public Builder(TimePickerSettings settings) {
+            this.locale = settings.getLocale();
+            allowEmptyTimes = settings.getAllowEmptyTimes();
+            formatForDisplayTime = settings.getFormatForDisplayTime();
+            formatForMenuTimes = settings.getFormatForMenuTimes();
+            formatsForParsing = (settings.formatsForParsing == null
+                    || !LazyFormatterList.isGenerated(settings.formatsForParsing))
+                    ? null : new ArrayList<>(settings.formatsForParsing);
+            useLowercaseForDisplayTime = settings.useLowercaseForDisplayTime;
+            vetoPolicy = settings.getVetoPolicy();
+        }
+
+        /**
+         * allowEmptyTimes, This sets whether or not empty text is a valid time.
+         */
+        public Builder allowEmptyTimes(boolean allowEmptyTimes) {
+            this.allowEmptyTimes = allowEmptyTimes;
+            return this;
+        }
+
+        /**
+         * build, This creates a time input engine with the values of this builder.
+         */
+        public TimeInputEngine build() {
+            return new TimeInputEngine(this);
+        }
+
+        /**
+         * formatForDisplayTime, This sets the format for displaying and parsing times. The
+         * formatter may not be null.
+         */
+        public Builder formatForDisplayTime(DateTimeFormatter formatter) {
+            if (formatter == null) {
+                throw new RuntimeException("TimeInputEngine.Builder.formatForDisplayTime(), "
+                        + "The formatter may not be null.");
+            }
+            this.formatForDisplayTime = formatter;
+            return this;
+        }
+
+        /**
+         * formatForMenuTimes, This sets the format of the menu times, which is also used for
+         * parsing. The formatter may not be null.
+         */
+        public Builder formatForMenuTimes(DateTimeFormatter formatter) {
+            if (formatter == null) {
+                throw new RuntimeException("TimeInputEngine.Builder.formatForMenuTimes(), "
+                        + "The formatter may not be null.");
+            }
+            this.formatForMenuTimes = formatter;
+            return this;
+        }
+
+        /**
+         * formatsForParsing, This sets the extra parsing formats, which are tried in order after
+         * the display and menu formats. The list is copied.
+         */
+        public Builder formatsForParsing(List<DateTimeFormatter> formatsForParsing) {
+            this.formatsForParsing = (formatsForParsing == null)
+                    ? new ArrayList<>() : new ArrayList<>(formatsForParsing);
+            return this;
+        }
+
+        /**
+         * useLowercaseForDisplayTime, This sets whether or not the display time is shown in
+         * lowercase.
+         */
+        public Builder useLowercaseForDisplayTime(boolean useLowercaseForDisplayTime) {
+            this.useLowercaseForDisplayTime = useLowercaseForDisplayTime;
+            return this;
+        }
+
+        /**
+         * vetoPolicy, This sets the veto policy. The policy may be null.
+         */
+        public Builder vetoPolicy(TimeVetoPolicy vetoPolicy) {
+            this.vetoPolicy = vetoPolicy;
+            return this;
+        }
+    }
+}
@@ -5,11 +5,14 @@ import com.jgoodies.forms.layout.*;
 import com.lgooddatepicker.zinternaltools.TimeMenuPanel;
 import java.awt.*;
 import javax.swing.border.*;
+import com.lgooddatepicker.optionalusertools.PickerBatchUpdate;
 import com.lgooddatepicker.optionalusertools.PickerUtilities;
 import com.lgooddatepicker.optionalusertools.TimeChangeListener;
-import com.lgooddatepicker.optionalusertools.TimeVetoPolicy;
+import com.lgooddatepicker.zinternaltools.ParsedTextCache;
+import com.lgooddatepicker.zinternaltools.IndicatorState;
 import com.lgooddatepicker.zinternaltools.CustomPopup;
-import com.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.lgooddatepicker.zinternaltools.ParsedInput;
+import com.lgooddatepicker.zinternaltools.ListenerRegistry;
 import com.lgooddatepicker.zinternaltools.TimeChangeEvent;
 import com.lgooddatepicker.zinternaltools.TimeSpinnerTimer;
 import java.awt.Color;
@@ -81,6 +84,26 @@ public class TimePicker
      */
     private LocalTime lastValidTime = null;
 
+    /**
+     * parseCache, This holds the most recent parse result for the text of this time picker. This
+     * allows the text to be parsed and checked against the veto policy only once per text change,
+     * even though the result is used by more than one function.
+     */
+    private ParsedTextCache<LocalTime> parseCache = new ParsedTextCache<>();
+
+    /**
+     * pooledPopup, This holds the custom popup that is kept for reuse, when the settings specify
+     * that a pooled popup should be used. Otherwise this is null. The pooled popup always contains
+     * the pooledTimeMenuPanel.
+     */
+    private CustomPopup pooledPopup = null;
+
+    /**
+     * pooledTimeMenuPanel, This holds the time menu panel that is kept for reuse, when the settings
+     * specify that a pooled popup should be used. Otherwise this is null.
+     */
+    private TimeMenuPanel pooledTimeMenuPanel = null;
+
     /**
      * popup, This is the custom popup instance for this time picker. This should remain null until
      * a popup is opened. Creating a custom popup class allowed us to control the details of when
@@ -103,10 +126,43 @@ public class TimePicker
     private boolean skipTextFieldChangedFunctionWhileTrue = false;
 
     /**
-     * timeChangeListeners, This holds a list of time change listeners that wish to be notified
-     * whenever the last valid time is changed.
+     * spinnerEventIsPending, This indicates that the last valid time was changed by the spinner,
+     * and that the time change listeners have not yet been notified of that change. This is only
+     * true when spinner events are being coalesced. See the setting named
+     * TimePickerSettings.spinnerEventIntervalMillis.
+     */
+    private boolean spinnerEventIsPending = false;
+
+    /**
+     * spinnerEventOldTime, This holds the last valid time that was last sent to the time change
+     * listeners, while a spinner event is pending. This is used as the old time of the coalesced
+     * event.
      */
-    private ArrayList<TimeChangeListener> timeChangeListeners = new ArrayList<>();
+    private LocalTime spinnerEventOldTime = null;
+
+    /**
+     * spinnerLastEventNanoTime, This holds the System.nanoTime() value of the last time change
+     * event that was sent by the spinner.
+     */
+    private long spinnerLastEventNanoTime = 0;
+
+    /**
+     * spinnerUsesFastPath, This indicates whether the spinner may set the text and the last valid
+     * time directly, without parsing the text that it produced. This is set after the first step
+     * of each spinner activation, if the text of that step was parsed back into the exact time that
+     * the spinner produced. The standard formats always pass this check. A custom display format
+     * that omits the minutes or seconds of the time will not pass, and the spinner then uses the
+     * normal validation procedure for every step.
+     */
+    private boolean spinnerUsesFastPath = false;
+
+    /**
+     * timeChangeListeners, This holds the time change listeners that wish to be notified whenever
+     * the last valid time is changed. Listeners can be added or removed from any thread, and during
+     * the dispatch of an event.
+     */
+    private final ListenerRegistry<TimeChangeListener> timeChangeListeners
+            = new ListenerRegistry<>(new TimeChangeListener[0]);
 
     /**
      * timeMenuPanel, This holds the menu panel GUI component of this time picker. This should be
@@ -114,8 +170,6 @@ public class TimePicker
      * picker menu is opened.
      */
     private TimeMenuPanel timeMenuPanel;
-    private TimeSpinnerTimer decreaseTimer = zCreateTimeSpinnerTimer(-1);
-    private TimeSpinnerTimer increaseTimer = zCreateTimeSpinnerTimer(1);
 
     /**
      * JFormDesigner GUI components, These variables are automatically generated by JFormDesigner.
@@ -267,7 +321,7 @@ public class TimePicker
      * that are registered with this TimePicker.
      */
     public ArrayList<TimeChangeListener> getTimeChangeListeners() {
-        return new ArrayList<>(timeChangeListeners);
+        return timeChangeListeners.toArrayList();
     }
 
     /**
@@ -360,26 +414,9 @@ public class TimePicker
         if (text == null) {
             return false;
         }
-        // If the text is empty, return the value of allowEmptyTimes.
-        text = text.trim();
-        if (text.isEmpty()) {
-            return settings.getAllowEmptyTimes();
-        }
-        // Try to get a parsed time.
-        LocalTime parsedTime = InternalUtilities.getParsedTimeOrNull(text, settings.getFormatForDisplayTime(), settings.getFormatForMenuTimes(),
-                settings.formatsForParsing, settings.getLocale());
-
-        // If the time could not be parsed, return false.
-        if (parsedTime == null) {
-            return false;
-        }
-        // If the time is vetoed, return false.
-        TimeVetoPolicy vetoPolicy = settings.getVetoPolicy();
-        if (InternalUtilities.isTimeVetoed(vetoPolicy, parsedTime)) {
-            return false;
-        }
-        // The time is valid, so return true.
-        return true;
+        // The text is valid if it is an allowed empty time, or a parsed time that is not vetoed.
+        IndicatorState state = zGetParseResult(text).getIndicatorState();
+        return (state == IndicatorState.ValidFullOrEmptyValue);
     }
 
     /**
@@ -402,7 +439,9 @@ public class TimePicker
      *
      * This function creates a new menu panel and a new custom popup instance each time that it is
      * called. The associated object instances are automatically disposed and set to null when a
-     * popup is closed.
+     * popup is closed. If TimePickerSettings.usePooledPopup is true, then the menu panel and the
+     * popup are instead kept after the popup is closed, and they are reused the next time that
+     * this function is called.
      */
     public void openPopup() {
         // If the component is disabled, do nothing.
@@ -418,12 +457,28 @@ public class TimePicker
         if (!timeTextField.hasFocus()) {
             timeTextField.requestFocusInWindow();
         }
-        // Create a new time menu.
-        timeMenuPanel = new TimeMenuPanel(this, settings);
-
-        // Create a new custom popup.
-        popup = new CustomPopup(timeMenuPanel, SwingUtilities.getWindowAncestor(this),
-                this, settings.borderTimePopup);
+        Window topWindow = SwingUtilities.getWindowAncestor(this);
+        if (zIsPooledPopupReusable(topWindow)) {
+            // Reuse the pooled time menu and popup, with freshly generated menu times.
+            timeMenuPanel = pooledTimeMenuPanel;
+            popup = pooledPopup;
+            timeMenuPanel.prepareForReuse();
+            popup.pack();
+        } else {
+            // Release any pooled popup that can no longer be used.
+            zDisposePooledPopup();
+            // Create a new time menu.
+            timeMenuPanel = new TimeMenuPanel(this, settings);
+
+            // Create a new custom popup.
+            popup = new CustomPopup(timeMenuPanel, topWindow, this, settings.borderTimePopup);
+            // If needed, keep the new time menu and popup for reuse.
+            if (settings.usePooledPopup) {
+                popup.setReusable(true);
+                pooledTimeMenuPanel = timeMenuPanel;
+                pooledPopup = popup;
+            }
+        }
         popup.setMinimumSize(new Dimension(
                 this.getSize().width + 1, timeMenuPanel.getSize().height));
         //   int popupX = toggleTimeMenuButton.getLocationOnScreen().x
@@ -439,6 +494,17 @@ public class TimePicker
         timeMenuPanel.requestListFocus();
     }
 
+    /**
+     * removeNotify, This is called by Swing when the time picker is removed from its container
+     * hierarchy. This releases any pooled popup, because the pooled popup window belongs to the
+     * top window of the previous container hierarchy.
+     */
+    @Override
+    public void removeNotify() {
+        zDisposePooledPopup();
+        super.removeNotify();
+    }
+
     /**
      * removeTimeChangeListener, This removes the specified time change listener from this time
      * picker.
@@ -629,11 +695,12 @@ public class TimePicker
                         return;
                     }
                     upPressed = true;
+                    zEventSpinnerPressed();
                     if (getTime() == null) {
                         setTime(LocalTime.NOON);
                     }
                     zInternalTryChangeTimeByIncrement(1);
-                    increaseTimer.start();
+                    TimeSpinnerTimer.start(TimePicker.this, 1);
                 }
                 // Handled the down arrow key, which activates the spinner function to decrease 
                 // the time value.
@@ -643,11 +710,12 @@ public class TimePicker
                         return;
                     }
                     downPressed = true;
+                    zEventSpinnerPressed();
                     if (getTime() == null) {
                         setTime(LocalTime.NOON);
                     }
                     zInternalTryChangeTimeByIncrement(-1);
-                    decreaseTimer.start();
+                    TimeSpinnerTimer.start(TimePicker.this, -1);
                 }
             }
 
@@ -656,12 +724,14 @@ public class TimePicker
                 if (e.isActionKey() && e.getKeyCode() == KeyEvent.VK_UP) {
                     e.consume();
                     upPressed = false;
-                    increaseTimer.stop();
+                    TimeSpinnerTimer.stop(TimePicker.this, 1);
+                    zEventSpinnerReleased();
                 }
                 if (e.isActionKey() && e.getKeyCode() == KeyEvent.VK_DOWN) {
                     e.consume();
-                    decreaseTimer.stop();
+                    TimeSpinnerTimer.stop(TimePicker.this, -1);
                     downPressed = false;
+                    zEventSpinnerReleased();
                 }
             }
 
@@ -691,16 +761,6 @@ public class TimePicker
         });
     }
 
-    /**
-     * zCreateTimeSpinnerTimer, This creates a time spinner timer for this time picker, which is set
-     * to the specified amount of changeAmountMinutes. The changeAmountMinutes indicates how many
-     * minutes will be added to the currently set time with each increment. Negative values are
-     * accepted. The changeAmountMinutes parameter will normally be set to -1 or 1.
-     */
-    private TimeSpinnerTimer zCreateTimeSpinnerTimer(int changeAmountMinutes) {
-        return new TimeSpinnerTimer(this, changeAmountMinutes);
-    }
-
     /**
      * zDrawTextFieldIndicators, This will draw the text field indicators, to indicate to the user
      * the state of the text in the text field.
@@ -723,36 +783,42 @@ public class TimePicker
         timeTextField.setBackground(Color.white);
         timeTextField.setForeground(settings.colorTextValidTime);
         timeTextField.setFont(settings.fontValidTime);
-        // Get the text, and check to see if it is empty.
+        // Get the indicator state for the text. (This uses the parse cache.)
         String timeText = timeTextField.getText();
-        boolean textIsEmpty = timeText.trim().isEmpty();
+        IndicatorState state = zGetParseResult(timeText).getIndicatorState();
         // Handle the various possibilities.
-        if (textIsEmpty) {
-            if (settings.getAllowEmptyTimes()) {
-                // (Possibility: ValidFullOrEmptyValue)
-            } else {
-                // (Possibility: DisallowedEmptyValue)
+        switch (state) {
+            case ValidFullOrEmptyValue:
+                break;
+            case DisallowedEmptyValue:
                 timeTextField.setBackground(Color.pink);
-            }
-            return;
+                break;
+            case UnparsableValue:
+                timeTextField.setForeground(settings.colorTextInvalidTime);
+                timeTextField.setFont(settings.fontInvalidTime);
+                break;
+            case VetoedValue:
+                timeTextField.setForeground(settings.colorTextVetoedTime);
+                timeTextField.setFont(settings.getFontVetoedTime());
+                break;
         }
-        // The text is not empty.
-        LocalTime parsedTime = InternalUtilities.getParsedTimeOrNull(timeText, settings.getFormatForDisplayTime(), settings.getFormatForMenuTimes(),
-                settings.formatsForParsing, settings.getLocale());
-        if (parsedTime == null) {
-            // (Possibility: UnparsableValue)
-            timeTextField.setForeground(settings.colorTextInvalidTime);
-            timeTextField.setFont(settings.fontInvalidTime);
+    }
+
+    /**
+     * zDisposePooledPopup, This releases the pooled time menu panel and popup, if they exist. This
+     * is called when the pooled popup can no longer be reused, or when the time picker is removed
+     * from its container hierarchy.
+     */
+    private void zDisposePooledPopup() {
+        if (pooledPopup == null) {
             return;
         }
-        // The text was parsed to a value.
-        TimeVetoPolicy vetoPolicy = settings.getVetoPolicy();
-        boolean isTimeVetoed = InternalUtilities.isTimeVetoed(vetoPolicy, parsedTime);
-        if (isTimeVetoed) {
-            // (Possibility: VetoedValue)
-            timeTextField.setForeground(settings.colorTextVetoedTime);
-            timeTextField.setFont(settings.fontVetoedTime);
-        }
+        CustomPopup disposedPopup = pooledPopup;
+        TimeMenuPanel disposedTimeMenuPanel = pooledTimeMenuPanel;
+        pooledPopup = null;
+        pooledTimeMenuPanel = null;
+        disposedPopup.dispose();
+        disposedTimeMenuPanel.clearParent();
     }
 
     /**
@@ -768,24 +834,50 @@ public class TimePicker
     @Override
     public void zEventCustomPopupWasClosed(CustomPopup popup) {
         popup = null;
-        if (timeMenuPanel != null) {
+        // A pooled time menu panel keeps its parent, so that it can be reused.
+        if (timeMenuPanel != null && timeMenuPanel != pooledTimeMenuPanel) {
             timeMenuPanel.clearParent();
         }
         timeMenuPanel = null;
         lastPopupCloseTime = Instant.now();
     }
 
+    /**
+     * zIsPooledPopupReusable, This returns true if the settings specify that a pooled popup should
+     * be used, and the existing pooled popup and time menu panel can be reused with the supplied
+     * top window and the current settings.
+     */
+    private boolean zIsPooledPopupReusable(Window topWindow) {
+        return settings.usePooledPopup && (pooledPopup != null)
+                && pooledPopup.isReusableFor(topWindow, settings.borderTimePopup)
+                && pooledTimeMenuPanel.isReusableWith(settings);
+    }
+
+    /**
+     * zGetParseResult, This returns the parse result for the supplied time text. The result
+     * includes the parsed time (or null), the veto verdict, and the text field indicator state.
+     *
+     * The most recent result is cached. The cached result is used if the text and the settings
+     * revision have not changed since the result was created. Otherwise the text is parsed, and
+     * checked against the veto policy, and the new result is stored in the cache. The returned
+     * result is immutable.
+     */
+    private ParsedInput<LocalTime> zGetParseResult(String timeText) {
+        int settingsRevision = settings.getSettingsRevision();
+        if (parseCache.isCurrent(timeText, settingsRevision)) {
+            return parseCache.getInput();
+        }
+        ParsedInput<LocalTime> input = settings.getInputEngine().validate(timeText);
+        parseCache.store(settingsRevision, input);
+        return input;
+    }
+
     /**
      * zGetStandardTextFieldTimeString, This returns a string for the supplied time (or null), in
      * the standard format which could be used for displaying that time in the text field.
      */
     private String zGetStandardTextFieldTimeString(LocalTime time) {
-        String standardTimeString = "";
-        if (time == null) {
-            return standardTimeString;
-        }
-        standardTimeString = time.format(settings.getFormatForDisplayTime());
-        return standardTimeString;
+        return settings.getInputEngine().formatTime(time);
     }
 
     /**
@@ -805,15 +897,16 @@ public class TimePicker
                 if (!isEnabled()) {
                     return;
                 }
+                zEventSpinnerPressed();
                 if (getTime() == null) {
                     setTime(LocalTime.NOON);
                 }
                 if (event.getSource() == decreaseButton) {
                     setTime(getTime().plusMinutes(-1));
-                    decreaseTimer.start();
+                    TimeSpinnerTimer.start(TimePicker.this, -1);
                 } else {
                     setTime(getTime().plusMinutes(1));
-                    increaseTimer.start();
+                    TimeSpinnerTimer.start(TimePicker.this, 1);
                 }
             }
 
@@ -823,10 +916,11 @@ public class TimePicker
             @Override
             public void mouseReleased(MouseEvent event) {
                 if (event.getSource() == decreaseButton) {
-                    decreaseTimer.stop();
+                    TimeSpinnerTimer.stop(TimePicker.this, -1);
                 } else {
-                    increaseTimer.stop();
+                    TimeSpinnerTimer.stop(TimePicker.this, 1);
                 }
+                zEventSpinnerReleased();
             }
         });
     }
@@ -838,16 +932,63 @@ public class TimePicker
      * any other tasks besides those described here.
      */
     private void zInternalSetLastValidTimeAndNotifyListeners(LocalTime newTime) {
-        LocalTime oldTime = lastValidTime;
+        // If a coalesced spinner event is pending, then this event also describes that change.
+        LocalTime oldTime = (spinnerEventIsPending) ? spinnerEventOldTime : lastValidTime;
+        spinnerEventIsPending = false;
+        spinnerEventOldTime = null;
         lastValidTime = newTime;
-        if (!PickerUtilities.isSameLocalTime(oldTime, newTime)) {
-            for (TimeChangeListener timeChangeListener : timeChangeListeners) {
-                TimeChangeEvent timeChangeEvent = new TimeChangeEvent(this, oldTime, newTime);
-                timeChangeListener.timeChanged(timeChangeEvent);
-            }
+        if (PickerUtilities.isSameLocalTime(oldTime, newTime) || timeChangeListeners.isEmpty()) {
+            return;
+        }
+        // All the listeners share one event. The listeners are read from the current snapshot.
+        TimeChangeEvent timeChangeEvent = new TimeChangeEvent(this, oldTime, newTime);
+        TimeChangeListener[] listeners = timeChangeListeners.getListeners();
+        for (int index = 0; index < listeners.length; ++index) {
+            listeners[index].timeChanged(timeChangeEvent);
         }
     }
 
+    /**
+     * zInternalSetSpinnerTime, This is the fast path that is used by the spinner to set a time that
+     * it produced itself. The supplied time must not be vetoed. The text is written into the text
+     * field once, and the parse result of that text is stored directly in the parse cache, so the
+     * text is never parsed. The last valid time is stored directly, and the time change listeners
+     * are notified as allowed by TimePickerSettings.spinnerEventIntervalMillis.
+     */
+    private void zInternalSetSpinnerTime(LocalTime time) {
+        String text = zGetStandardTextFieldTimeString(time);
+        parseCache.store(settings.getSettingsRevision(),
+                new ParsedInput<>(text, time, false, IndicatorState.ValidFullOrEmptyValue));
+        skipTextFieldChangedFunctionWhileTrue = true;
+        timeTextField.setText(text);
+        skipTextFieldChangedFunctionWhileTrue = false;
+        zDrawTextFieldIndicators();
+        if (PickerUtilities.isSameLocalTime(lastValidTime, time)) {
+            return;
+        }
+        if (!spinnerEventIsPending) {
+            spinnerEventOldTime = lastValidTime;
+            spinnerEventIsPending = true;
+        }
+        lastValidTime = time;
+        long intervalNanos = settings.spinnerEventIntervalMillis * 1000000L;
+        if (System.nanoTime() - spinnerLastEventNanoTime >= intervalNanos) {
+            zInternalSendPendingSpinnerEvent();
+        }
+    }
+
+    /**
+     * zInternalSendPendingSpinnerEvent, If a coalesced spinner event is pending, this notifies the
+     * time change listeners of every change since the last event, with a single event.
+     */
+    private void zInternalSendPendingSpinnerEvent() {
+        if (!spinnerEventIsPending) {
+            return;
+        }
+        spinnerLastEventNanoTime = System.nanoTime();
+        zInternalSetLastValidTimeAndNotifyListeners(lastValidTime);
+    }
+
     /**
      * zInternalSetTimeTextField, This is called whenever we need to programmatically change the
      * time text field. The purpose of this function is to make sure that text field change events
@@ -857,19 +998,30 @@ public class TimePicker
      */
     private void zInternalSetTimeTextField(String text) {
         skipTextFieldChangedFunctionWhileTrue = true;
-        if (settings.useLowercaseForDisplayTime) {
-            text = text.toLowerCase(settings.getLocale());
-        }
-        timeTextField.setText(text);
+        timeTextField.setText(settings.getInputEngine().applyDisplayCase(text));
         skipTextFieldChangedFunctionWhileTrue = false;
         zEventTextFieldChanged();
     }
 
+    /**
+     * zInternalTryChangeTimeByIncrement, This is called by the spinner to add the supplied number
+     * of minutes to the last valid time. The time is not changed if the new time would be vetoed.
+     *
+     * The first step of each spinner activation uses setTime(), so the text is validated in the
+     * normal way. If that text was parsed back into the exact time that was set, then the later
+     * steps use the fast path in zInternalSetSpinnerTime(), which does not parse the text.
+     */
     public void zInternalTryChangeTimeByIncrement(int changeAmountMinutes) {
         LocalTime timeToTry = getTime().plusMinutes(changeAmountMinutes);
-        if (!InternalUtilities.isTimeVetoed(settings.getVetoPolicy(), timeToTry)) {
-            setTime(timeToTry);
+        if (settings.getInputEngine().isTimeVetoed(timeToTry)) {
+            return;
+        }
+        if (spinnerUsesFastPath) {
+            zInternalSetSpinnerTime(timeToTry);
+            return;
         }
+        setTime(timeToTry);
+        spinnerUsesFastPath = timeToTry.equals(lastValidTime);
     }
 
     /**
@@ -888,22 +1040,18 @@ public class TimePicker
         if (skipTextFieldChangedFunctionWhileTrue) {
             return;
         }
+        // During a batch update, the text is validated once, when the batch update is committed.
+        if (PickerBatchUpdate.zDeferUntilCommit(this, this::zEventTextFieldChanged)) {
+            return;
+        }
         // Gather some variables that we will need.
         String timeText = timeTextField.getText();
         boolean textIsEmpty = timeText.trim().isEmpty();
-        TimeVetoPolicy vetoPolicy = settings.getVetoPolicy();
         boolean nullIsAllowed = settings.getAllowEmptyTimes();
-        // If the text is not empty, then try to parse the time.
-        LocalTime parsedTime = null;
-        if (!textIsEmpty) {
-            parsedTime = InternalUtilities.getParsedTimeOrNull(timeText, settings.getFormatForDisplayTime(), settings.getFormatForMenuTimes(),
-                    settings.formatsForParsing, settings.getLocale());
-        }
-        // If the time was parsed successfully, then check it against the veto policy.
-        boolean timeIsVetoed = false;
-        if (parsedTime != null) {
-            timeIsVetoed = InternalUtilities.isTimeVetoed(vetoPolicy, parsedTime);
-        }
+        // Parse the time and check it against the veto policy. (This uses the parse cache.)
+        ParsedInput<LocalTime> parseResult = zGetParseResult(timeText);
+        LocalTime parsedTime = parseResult.getParsedValue();
+        boolean timeIsVetoed = parseResult.isVetoed();
         // If the time is a valid empty time, then set the last valid time to null.
         if (textIsEmpty && nullIsAllowed) {
             zInternalSetLastValidTimeAndNotifyListeners(null);
@@ -916,6 +1064,26 @@ public class TimePicker
         zDrawTextFieldIndicators();
     }
 
+    /**
+     * zEventSpinnerPressed, This is called when the user presses a spinner button or a spinner
+     * arrow key. This makes the first spinner step validate its text in the normal way. The first
+     * step always notifies the listeners immediately, so it starts the first event interval.
+     */
+    private void zEventSpinnerPressed() {
+        spinnerUsesFastPath = false;
+        spinnerLastEventNanoTime = System.nanoTime();
+    }
+
+    /**
+     * zEventSpinnerReleased, This is called when the user releases a spinner button or a spinner
+     * arrow key. If the time change listeners have not been notified of the latest spinner time,
+     * then they are notified now.
+     */
+    private void zEventSpinnerReleased() {
+        spinnerUsesFastPath = false;
+        zInternalSendPendingSpinnerEvent();
+    }
+
     /**
      * zEventToggleTimeMenuButtonMousePressed, This is called when the user clicks on the "toggle
      * time menu" button of the time picker.
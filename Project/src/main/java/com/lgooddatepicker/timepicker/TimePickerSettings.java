@@ -4,23 +4,25 @@ import com.jgoodies.forms.layout.ColumnSpec;
 import com.jgoodies.forms.layout.ConstantSize;
 import com.jgoodies.forms.layout.FormLayout;
 import com.lgooddatepicker.optionalusertools.PickerUtilities;
+import com.lgooddatepicker.optionalusertools.CompiledTimeVetoPolicy;
 import com.lgooddatepicker.optionalusertools.TimeVetoPolicy;
-import com.lgooddatepicker.zinternaltools.ExtraTimeStrings;
 import com.lgooddatepicker.zinternaltools.InternalConstants;
 import com.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.lgooddatepicker.zinternaltools.LazyFormatterList;
+import com.lgooddatepicker.zinternaltools.LocaleDefaults;
+import com.lgooddatepicker.zinternaltools.LocaleDefaults.TimeDefaults;
+import com.lgooddatepicker.zinternaltools.SharedLocaleDefaults;
+import com.lgooddatepicker.zinternaltools.SharedLocaleDefaults.TextFieldFonts;
+import com.lgooddatepicker.zinternaltools.TimeMenuEntries;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
-import java.awt.font.TextAttribute;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.Locale;
-import java.util.Map;
 import java.util.TreeSet;
-import javax.swing.JTextField;
 import javax.swing.border.Border;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
@@ -96,6 +98,13 @@ public class TimePickerSettings {
      */
     public Color colorTextVetoedTime = Color.black;
 
+    /**
+     * displayFormatIsAutomatic, This is true while the display format has not been supplied by the
+     * programmer. An automatic display format includes seconds when the menu times are generated
+     * with an increment that is not a whole number of minutes.
+     */
+    private boolean displayFormatIsAutomatic = true;
+
     /**
      * displayToggleTimeMenuButton, This controls whether or not the toggle menu button is displayed
      * (and enabled), on the time picker. The default value is true.
@@ -122,20 +131,24 @@ public class TimePickerSettings {
     /**
      * fontVetoedTime, This is the text field text font for vetoed times. The default font crosses
      * out the vetoed time. (Has a strikethrough font attribute.)
+     *
+     * The default font is shared by all the settings instances, so it is only generated once.
      */
     public Font fontVetoedTime;
 
     /**
      * formatForDisplayTime, This is used to format and display the time values in the main text
-     * field of the time picker. By default, a format is generated from the time picker locale.
+     * field of the time picker. By default, a format is generated from the time picker locale. The
+     * default format is only generated the first time that this setting is read.
      */
-    private DateTimeFormatter formatForDisplayTime;
+    private DateTimeFormatter formatForDisplayTime = null;
 
     /**
      * formatForMenuTimes, This is used to format and display the time values in the menu of the
-     * time picker. By default, a format is generated from the time picker locale.
+     * time picker. By default, a format is generated from the time picker locale. The default
+     * format is only generated the first time that this setting is read.
      */
-    private DateTimeFormatter formatForMenuTimes;
+    private DateTimeFormatter formatForMenuTimes = null;
 
     /**
      * formatsForParsing, This holds a list of formats that are used to attempt to parse times that
@@ -144,6 +157,9 @@ public class TimePickerSettings {
      * tried (in that order) before any other parsing formats. The default values for the
      * formatsForParsing are generated using the timeLocale, using the enum constants in
      * java.time.format.FormatStyle.
+     *
+     * The formatters of the default list are only generated the first time that the list is read
+     * or modified, because many time pickers never parse typed text.
      */
     public ArrayList<DateTimeFormatter> formatsForParsing;
 
@@ -169,6 +185,24 @@ public class TimePickerSettings {
      */
     public LocalTime initialTime = null;
 
+    /**
+     * inputEngine, This holds the most recently created input engine for these settings, or null.
+     * The engine is created again when the settings revision or the lowercase setting is changed.
+     */
+    private TimeInputEngine inputEngine = null;
+
+    /**
+     * inputEngineRevision, This holds the settings revision that was used to create the current
+     * input engine.
+     */
+    private int inputEngineRevision = 0;
+
+    /**
+     * inputEngineUsesLowercase, This holds the value of useLowercaseForDisplayTime that was used to
+     * create the current input engine.
+     */
+    private boolean inputEngineUsesLowercase = true;
+
     /**
      * maximumVisibleMenuRows, This is the maximum number of rows that can be displayed in the time
      * selection menu without using a scroll bar. In other words, this specifies the default maximum
@@ -179,6 +213,13 @@ public class TimePickerSettings {
      */
     public int maximumVisibleMenuRows = 10;
 
+    /**
+     * menuFormatIsAutomatic, This is true while the menu format has not been supplied by the
+     * programmer. An automatic menu format includes seconds when the menu times are generated with
+     * an increment that is not a whole number of minutes.
+     */
+    private boolean menuFormatIsAutomatic = true;
+
     /**
      * minimumSpinnerButtonWidthInPixels, This sets the minimum width of the spinner buttons. The
      * default value is 20 pixels.
@@ -191,6 +232,34 @@ public class TimePickerSettings {
      */
     private int minimumToggleTimeMenuButtonWidthInPixels = 26;
 
+    /**
+     * menuEntries, This holds the formatted entries of every potential menu time. This is created
+     * the first time that it is needed, and created again if the menu times or the settings that
+     * affect the menu text have been changed. See getMenuEntries().
+     */
+    private TimeMenuEntries menuEntries = null;
+
+    /**
+     * menuEntriesWithoutVetoedTimes, This holds the menu entries that remain after the vetoed times
+     * are removed. This is created again if the menu entries, the veto policy, or the settings
+     * revision have been changed. See getMenuEntriesWithoutVetoedTimes().
+     */
+    private TimeMenuEntries menuEntriesWithoutVetoedTimes = null;
+
+    /**
+     * menuEntriesWithoutVetoedTimesRevision, menuEntriesWithoutVetoedTimesSource,
+     * menuEntriesWithoutVetoedTimesVetoPolicy, These hold the settings revision, the unfiltered
+     * menu entries, and the veto policy that were used to create menuEntriesWithoutVetoedTimes.
+     */
+    private int menuEntriesWithoutVetoedTimesRevision = 0;
+    private TimeMenuEntries menuEntriesWithoutVetoedTimesSource = null;
+    private TimeVetoPolicy menuEntriesWithoutVetoedTimesVetoPolicy = null;
+
+    /**
+     * menuTimesRevision, This is incremented whenever the potential menu times are generated.
+     */
+    private int menuTimesRevision = 0;
+
     /**
      * parent, This holds a reference to the parent time picker that is associated with these
      * settings. This variable is only intended to be set from the time picker constructor.
@@ -199,15 +268,64 @@ public class TimePickerSettings {
      */
     private TimePicker parent;
 
+    /**
+     * potentialMenuFirstSecond, potentialMenuIncrementSeconds, potentialMenuTimeCount, These
+     * describe the potential menu times when they were generated from an increment. The menu
+     * times are the times that start at the first second of the day, and that are separated by the
+     * increment. The menu times are calculated from these values when they are needed, so that
+     * menus with very small increments do not need to store their menu times. The increment is
+     * zero if the potential menu times are held in the potentialMenuTimes list instead.
+     */
+    private int potentialMenuFirstSecond = 0;
+    private int potentialMenuIncrementSeconds = 0;
+    private int potentialMenuTimeCount = 0;
+
     /**
      * potentialMenuTimes, This is a list of candidate time values for populating the drop down
      * menu. All of these times that are not vetoed will be added to the drop down menu. Any vetoed
-     * times will be ignored. By default, this contains a list of LocalTime values going from
-     * Midnight to 11:30PM, in 30 minute increments. This variable is private to ensure the validity
-     * of the menu times list. To customize the menu times, call one of the
-     * generatePotentialMenuTimes() functions with your desired parameters.
+     * times will be ignored. By default, the menu times go from Midnight to 11:30PM, in 30 minute
+     * increments. This variable is private to ensure the validity of the menu times list. To
+     * customize the menu times, call one of the generatePotentialMenuTimes() functions with your
+     * desired parameters.
+     *
+     * This list is null when the menu times were generated from an increment, because those menu
+     * times are described by the potentialMenuFirstSecond, potentialMenuIncrementSeconds, and
+     * potentialMenuTimeCount variables. The default menu times are only generated the first time
+     * that the menu times are read, because many time pickers never open the menu.
+     */
+    private ArrayList<LocalTime> potentialMenuTimes = null;
+
+    /**
+     * revisionParsingFormats, This holds a copy of the formatsForParsing list, as it was when the
+     * settings revision was last calculated. This is used to notice changes to the list, because
+     * the list can be modified directly by the programmer. This is null if the list still held its
+     * default formats, and those formats had not been generated.
+     */
+    private DateTimeFormatter[] revisionParsingFormats = new DateTimeFormatter[0];
+
+    /**
+     * revisionParsingList, This holds the formatsForParsing list instance that was used when the
+     * settings revision was last calculated.
      */
-    private ArrayList<LocalTime> potentialMenuTimes;
+    private ArrayList<DateTimeFormatter> revisionParsingList = null;
+
+    /**
+     * settingsRevision, This is incremented whenever a setting is changed that affects the parsing
+     * or the validation of the time picker text. This is used by the time picker to know when its
+     * cached parse result is no longer current.
+     */
+    private int settingsRevision = 0;
+
+    /**
+     * spinnerEventIntervalMillis, This specifies the minimum number of milliseconds between time
+     * change events while the user is holding a spinner button or a spinner arrow key. The time
+     * picker text is still updated with every spinner step. If the time changes more than once
+     * during the interval, then the listeners receive a single event that describes all of those
+     * changes. A final event is always sent when the spinner is released, if the time has changed
+     * since the last event. A value of 16 limits the events to about one per display frame. The
+     * default value is 0, which sends one event for every spinner step.
+     */
+    public int spinnerEventIntervalMillis = 0;
 
     /**
      * timeLocale, This is the locale of the time picker, which is used to generate some of the
@@ -215,6 +333,12 @@ public class TimePickerSettings {
      */
     private Locale locale;
 
+    /**
+     * uses24HourClock, This is true if use24HourClockFormat() has been called. The automatic
+     * formats then use the 24-hour clock.
+     */
+    private boolean uses24HourClock = false;
+
     /**
      * useLowercaseForDisplayTime, This indicates if the display time should always be shown in
      * lowercase. The default value is true. If this is true, the display time will always be shown
@@ -231,12 +355,23 @@ public class TimePickerSettings {
      */
     public boolean useLowercaseForMenuTimes = true;
 
+    /**
+     * usePooledPopup, This specifies whether the time picker should keep its time menu panel and
+     * popup window after the time menu is closed, and reuse them the next time that the time menu
+     * is opened. When this is true, opening the time menu only needs to regenerate the menu times,
+     * instead of constructing a new menu panel and popup window. The pooled time menu is rebuilt
+     * automatically if the popup border, the look and feel, or the top window of the time picker
+     * has been changed. The default value is false.
+     */
+    public boolean usePooledPopup = false;
+
     /**
      * vetoPolicy, If a veto policy is supplied, it will be used to determine which times can and
      * cannot be selected in the time picker. Vetoed times can not be selected using the keyboard or
      * the mouse. By default, there is no veto policy. (The default value is null.) See the
      * TimeVetoPolicy Javadocs for details regarding when a veto policy is enforced. See the demo
-     * class for an example of constructing a veto policy.
+     * class for an example of constructing a veto policy. A slow veto policy can be wrapped in a
+     * CompiledTimeVetoPolicy, so that each time is checked with a single bit test.
      */
     private TimeVetoPolicy vetoPolicy = null;
 
@@ -265,41 +400,20 @@ public class TimePickerSettings {
         // Save the locale.
         this.locale = timeLocale;
 
-        // Generate default menu times.
-        generatePotentialMenuTimes(TimeIncrement.ThirtyMinutes, null, null);
-
-        // Generate a default display and menu formats.
-        formatForDisplayTime = ExtraTimeStrings.getDefaultFormatForDisplayTime(timeLocale);
-        formatForMenuTimes = ExtraTimeStrings.getDefaultFormatForMenuTimes(timeLocale);
-
-        // Generate default parsing formats.
-        FormatStyle[] allFormatStyles = new FormatStyle[]{
-            FormatStyle.SHORT, FormatStyle.MEDIUM, FormatStyle.LONG, FormatStyle.FULL};
-        formatsForParsing = new ArrayList<>();
-        formatsForParsing.add(DateTimeFormatter.ISO_LOCAL_TIME);
-        for (FormatStyle formatStyle : allFormatStyles) {
-            DateTimeFormatter parseFormat = new DateTimeFormatterBuilder().parseLenient().
-                    parseCaseInsensitive().appendLocalized(null, formatStyle).
-                    toFormatter(timeLocale);
-            formatsForParsing.add(parseFormat);
-        }
-
-        // Get any common extra parsing formats for the specified locale, and append them to
-        // the list of parsingFormatters.
-        ArrayList<DateTimeFormatter> extraFormatters
-                = ExtraTimeStrings.getExtraTimeParsingFormatsForLocale(timeLocale);
-        formatsForParsing.addAll(extraFormatters);
-
         // Set the default popup border. This can be overridden by the user if they desire. 
         borderTimePopup = new EmptyBorder(0, 0, 0, 0);
 
-        // Generate the default fonts and text colors.
-        fontValidTime = new JTextField().getFont();
-        fontInvalidTime = new JTextField().getFont();
-        fontVetoedTime = new JTextField().getFont();
-        Map attributes = fontVetoedTime.getAttributes();
-        attributes.put(TextAttribute.STRIKETHROUGH, TextAttribute.STRIKETHROUGH_ON);
-        fontVetoedTime = new Font(attributes);
+        // Set the default fonts. The fonts are shared, because fonts are immutable. The shared
+        // vetoed time font is generated the first time that any settings instance needs it.
+        TextFieldFonts fonts = SharedLocaleDefaults.getTextFieldFonts();
+        fontValidTime = fonts.fontNormal;
+        fontInvalidTime = fonts.fontNormal;
+        fontVetoedTime = fonts.getFontStrikethrough();
+
+        // Create the default parsing formats list. The formatters of the list are generated the
+        // first time that the list is used.
+        TimeDefaults defaults = LocaleDefaults.getTimeDefaults(timeLocale);
+        formatsForParsing = new LazyFormatterList(defaults::getFormatsForParsing);
     }
 
     /**
@@ -314,29 +428,59 @@ public class TimePickerSettings {
      * Example usage: generatePotentialMenuTimes(TimeIncrement.FifteenMinutes);
      *
      * Number of entries: If no veto policy has been created, the number of entries in the drop down
-     * menu would be determined by the size of the increment as follows; FiveMinutes has 288
-     * entries. TenMinutes has 144 entries. FifteenMinutes has 96 entries. TwentyMinutes has 72
+     * menu would be determined by the size of the increment as follows; OneMinute has 1440
+     * entries. FiveMinutes has 288 entries. TenMinutes has 144 entries. FifteenMinutes has 96 entries. TwentyMinutes has 72
      * entries. ThirtyMinutes has 48 entries. OneHour has 24 entries.
      */
     public void generatePotentialMenuTimes(TimeIncrement timeIncrement,
             LocalTime optionalStartTime, LocalTime optionalEndTime) {
+        generatePotentialMenuTimes(Duration.ofMinutes(timeIncrement.minutes),
+                optionalStartTime, optionalEndTime);
+    }
+
+    /**
+     * generatePotentialMenuTimes, This will generate the menu times for populating the combo box
+     * menu, using any increment of whole seconds. This can be used for menus with one minute or
+     * one second increments. The menu times will always start at Midnight, and increase by the
+     * increment until the end of the day. Only the menu times from the optional start time to the
+     * optional end time (inclusive) are used. The increment must be at least one second and no
+     * more than one day, and it may not include fractions of a second.
+     *
+     * The menu times are calculated when they are displayed, instead of being stored. The time
+     * menu sizes its rows from a prototype value, and only formats the visible menu times, so the
+     * time needed to open the menu does not depend on the number of menu times. (If a veto policy
+     * is set, the veto policy is asked about each menu time the first time that the menu is
+     * opened, and the allowed menu times are remembered until a setting is changed.)
+     *
+     * Example usage: generatePotentialMenuTimes(Duration.ofSeconds(1), null, null);
+     */
+    public void generatePotentialMenuTimes(Duration increment,
+            LocalTime optionalStartTime, LocalTime optionalEndTime) {
+        if (increment == null || increment.getNano() != 0 || increment.getSeconds() < 1
+                || increment.getSeconds() > 86400) {
+            throw new RuntimeException("TimePickerSettings.generatePotentialMenuTimes(), "
+                    + "The increment must be a whole number of seconds, "
+                    + "from one second to one day.");
+        }
         // If either bounding time does does not already exist, then set it to the maximum range.
         LocalTime startTime = (optionalStartTime == null) ? LocalTime.MIN : optionalStartTime;
         LocalTime endTime = (optionalEndTime == null) ? LocalTime.MAX : optionalEndTime;
-        // Initialize our needed variables.
-        potentialMenuTimes = new ArrayList<>();
-        int increment = timeIncrement.minutes;
-        // Start at midnight, which is the earliest time of day for LocalTime values.
-        LocalTime entry = LocalTime.MIDNIGHT;
-        boolean continueLoop = true;
-        while (continueLoop) {
-            if (PickerUtilities.isLocalTimeInRange(entry, startTime, endTime, true)) {
-                potentialMenuTimes.add(entry);
-            }
-            entry = entry.plusMinutes(increment);
-            // Note: This stopping criteria works as long as as ((60 % increment) == 0).
-            continueLoop = (!(LocalTime.MIDNIGHT.equals(entry)));
-        }
+        int incrementSeconds = (int) increment.getSeconds();
+        // Find the first and last seconds of the day that are inside of the range. Menu times are
+        // always whole seconds, so a start time with a fraction of a second is rounded up.
+        int startSecond = startTime.toSecondOfDay() + ((startTime.getNano() > 0) ? 1 : 0);
+        int endSecond = endTime.toSecondOfDay();
+        // Find the first and last menu times that are inside of the range.
+        int firstSecond = ((startSecond + incrementSeconds - 1) / incrementSeconds)
+                * incrementSeconds;
+        int lastSecond = (endSecond / incrementSeconds) * incrementSeconds;
+        potentialMenuTimes = null;
+        potentialMenuIncrementSeconds = incrementSeconds;
+        potentialMenuFirstSecond = firstSecond;
+        potentialMenuTimeCount = (firstSecond > lastSecond)
+                ? 0 : ((lastSecond - firstSecond) / incrementSeconds) + 1;
+        ++menuTimesRevision;
+        zApplyAutomaticTimeFormats();
     }
 
     /**
@@ -353,6 +497,9 @@ public class TimePickerSettings {
      */
     public void generatePotentialMenuTimes(ArrayList<LocalTime> desiredTimes) {
         potentialMenuTimes = new ArrayList<>();
+        potentialMenuIncrementSeconds = 0;
+        ++menuTimesRevision;
+        zApplyAutomaticTimeFormats();
         if (desiredTimes == null || desiredTimes.isEmpty()) {
             return;
         }
@@ -404,17 +551,53 @@ public class TimePickerSettings {
      * information.
      */
     public DateTimeFormatter getFormatForDisplayTime() {
+        if (formatForDisplayTime == null) {
+            formatForDisplayTime = LocaleDefaults.getTimeDefaults(locale).
+                    getFormatForDisplayTime();
+        }
         return formatForDisplayTime;
     }
 
+    /**
+     * getFontVetoedTime, This returns the text field text font for vetoed times. If the font has
+     * been set to null, then the default font is stored in fontVetoedTime and returned.
+     */
+    public Font getFontVetoedTime() {
+        if (fontVetoedTime == null) {
+            fontVetoedTime = SharedLocaleDefaults.getTextFieldFonts().getFontStrikethrough();
+        }
+        return fontVetoedTime;
+    }
+
     /**
      * getFormatForMenuTimes, Returns the value this setting. See the "set" function for setting
      * information.
      */
     public DateTimeFormatter getFormatForMenuTimes() {
+        if (formatForMenuTimes == null) {
+            formatForMenuTimes = LocaleDefaults.getTimeDefaults(locale).
+                    getFormatForMenuTimes();
+        }
         return formatForMenuTimes;
     }
 
+    /**
+     * getFormatsForParsing, This returns the list of extra parsing formats. If the list still holds
+     * the default formats, then the default formatters are generated. If the list has been set to
+     * null, then a new default list for the locale is stored in formatsForParsing. The returned
+     * list is the list that is used by the time picker, so any changes to the list take effect the
+     * next time that text is parsed.
+     */
+    public ArrayList<DateTimeFormatter> getFormatsForParsing() {
+        if (formatsForParsing == null) {
+            formatsForParsing = LocaleDefaults.getTimeDefaults(locale).getFormatsForParsing();
+        }
+        if (formatsForParsing instanceof LazyFormatterList) {
+            ((LazyFormatterList) formatsForParsing).generateIfNeeded();
+        }
+        return formatsForParsing;
+    }
+
     /**
      * getGapBeforeButtonPixels, Returns the value of this setting. See the "set" function for
      * setting information.
@@ -423,6 +606,27 @@ public class TimePickerSettings {
         return gapBeforeButtonPixels;
     }
 
+    /**
+     * getInputEngine, This returns an immutable input engine that holds the current formatters,
+     * locale, veto policy, allowEmptyTimes setting, and lowercase setting of these settings. The
+     * engine can be used to parse, format, and validate time text without a time picker, and it is
+     * safe to share between threads. The time picker uses the same engine to validate its own
+     * text.
+     *
+     * The returned engine does not change if these settings are changed later. An engine is only
+     * created when the settings have changed since the last call.
+     */
+    public TimeInputEngine getInputEngine() {
+        int currentRevision = getSettingsRevision();
+        if (inputEngine == null || inputEngineRevision != currentRevision
+                || inputEngineUsesLowercase != useLowercaseForDisplayTime) {
+            inputEngine = new TimeInputEngine.Builder(this).build();
+            inputEngineRevision = currentRevision;
+            inputEngineUsesLowercase = useLowercaseForDisplayTime;
+        }
+        return inputEngine;
+    }
+
     /**
      * getLocale, This returns locale setting of the time picker. The locale can only be set in the
      * TimePickerSettings constructor.
@@ -431,6 +635,53 @@ public class TimePickerSettings {
         return locale;
     }
 
+    /**
+     * getMenuEntries, This returns the formatted entries of every potential menu time, including
+     * any vetoed times. The entries are cached. They are only formatted again if the potential
+     * menu times, the menu time formatter, or the lowercase setting have been changed since the
+     * entries were created. The time menu uses the entries to display the menu times, and to find
+     * the selected time without parsing the display text.
+     */
+    public TimeMenuEntries getMenuEntries() {
+        if (potentialMenuTimes == null && potentialMenuIncrementSeconds == 0) {
+            generatePotentialMenuTimes(TimeIncrement.ThirtyMinutes, null, null);
+        }
+        DateTimeFormatter formatter = getFormatForMenuTimes();
+        if (menuEntries == null || !menuEntries.isCurrent(
+                menuTimesRevision, formatter, locale, useLowercaseForMenuTimes)) {
+            menuEntries = (potentialMenuTimes != null)
+                    ? new TimeMenuEntries(potentialMenuTimes, menuTimesRevision,
+                            formatter, locale, useLowercaseForMenuTimes)
+                    : new TimeMenuEntries(potentialMenuFirstSecond, potentialMenuIncrementSeconds,
+                            potentialMenuTimeCount, menuTimesRevision,
+                            formatter, locale, useLowercaseForMenuTimes);
+        }
+        return menuEntries;
+    }
+
+    /**
+     * getMenuEntriesWithoutVetoedTimes, This returns the menu entries that are not vetoed by the
+     * veto policy. The result is cached, so the veto policy is only asked about the menu times
+     * when the menu entries, the veto policy, or the settings revision have been changed. (If the
+     * rules of a veto policy are changed, call setVetoPolicy() again, or call
+     * rebuildCompiledVetoPolicy() for a compiled veto policy.) This means that the time needed to
+     * open the time menu does not depend on the number of menu times.
+     */
+    public TimeMenuEntries getMenuEntriesWithoutVetoedTimes() {
+        TimeMenuEntries entries = getMenuEntries();
+        int revision = getSettingsRevision();
+        if (menuEntriesWithoutVetoedTimes == null
+                || menuEntriesWithoutVetoedTimesSource != entries
+                || menuEntriesWithoutVetoedTimesVetoPolicy != vetoPolicy
+                || menuEntriesWithoutVetoedTimesRevision != revision) {
+            menuEntriesWithoutVetoedTimes = entries.withoutVetoedTimes(vetoPolicy);
+            menuEntriesWithoutVetoedTimesSource = entries;
+            menuEntriesWithoutVetoedTimesVetoPolicy = vetoPolicy;
+            menuEntriesWithoutVetoedTimesRevision = revision;
+        }
+        return menuEntriesWithoutVetoedTimes;
+    }
+
     /**
      * getMinimumSpinnerButtonWidthInPixels, This returns the minimum width of the spinner buttons.
      */
@@ -451,9 +702,51 @@ public class TimePickerSettings {
      * additional details, see TimePickerSettings.potentialMenuTimes.
      */
     public ArrayList<LocalTime> getPotentialMenuTimes() {
+        if (potentialMenuTimes == null && potentialMenuIncrementSeconds == 0) {
+            generatePotentialMenuTimes(TimeIncrement.ThirtyMinutes, null, null);
+        }
+        if (potentialMenuTimes == null) {
+            // The menu times were generated from an increment, so calculate the list.
+            ArrayList<LocalTime> menuTimes = new ArrayList<>(potentialMenuTimeCount);
+            for (int i = 0; i < potentialMenuTimeCount; ++i) {
+                menuTimes.add(LocalTime.ofSecondOfDay(
+                        potentialMenuFirstSecond + (i * potentialMenuIncrementSeconds)));
+            }
+            return menuTimes;
+        }
         return (ArrayList<LocalTime>) potentialMenuTimes.clone();
     }
 
+    /**
+     * getSettingsRevision, This returns a number that changes whenever a setting is changed that
+     * affects the parsing or the validation of the time picker text. This includes the formatters
+     * (including any changes to the formatsForParsing list), the veto policy, and the
+     * allowEmptyTimes setting. The locale can only be set in the constructor, so it never changes.
+     */
+    int getSettingsRevision() {
+        // Notice any changes to the formatsForParsing list. The formatters are compared by
+        // identity, so this check is inexpensive. A default list whose formatters have not been
+        // generated is never read here, so this check never generates the formatters.
+        boolean listIsGenerated = LazyFormatterList.isGenerated(formatsForParsing);
+        int parsingListSize = (formatsForParsing == null || !listIsGenerated)
+                ? 0 : formatsForParsing.size();
+        boolean listIsUnchanged = (revisionParsingList == formatsForParsing)
+                && ((revisionParsingFormats != null) == listIsGenerated)
+                && ((revisionParsingFormats == null)
+                || (revisionParsingFormats.length == parsingListSize));
+        for (int i = 0; (listIsUnchanged && (i < parsingListSize)); ++i) {
+            listIsUnchanged = (revisionParsingFormats[i] == formatsForParsing.get(i));
+        }
+        if (!listIsUnchanged) {
+            revisionParsingList = formatsForParsing;
+            revisionParsingFormats = (!listIsGenerated) ? null : (formatsForParsing == null)
+                    ? new DateTimeFormatter[0]
+                    : formatsForParsing.toArray(new DateTimeFormatter[parsingListSize]);
+            ++settingsRevision;
+        }
+        return settingsRevision;
+    }
+
     /**
      * getVetoPolicy, This returns the veto policy.
      */
@@ -473,10 +766,21 @@ public class TimePickerSettings {
      * returns true.
      */
     public boolean isTimeAllowed(LocalTime time) {
-        if (time == null) {
-            return allowEmptyTimes;
+        return getInputEngine().isTimeAllowed(time);
+    }
+
+    /**
+     * rebuildCompiledVetoPolicy, If the veto policy is a CompiledTimeVetoPolicy, this rebuilds the
+     * compiled bitmap of allowed times from the wrapped veto policy. Call this after the rules of
+     * the wrapped veto policy have been changed. The time picker will check its text against the
+     * rebuilt veto policy the next time that the text is validated. If the veto policy is not a
+     * compiled veto policy, this does nothing.
+     */
+    public void rebuildCompiledVetoPolicy() {
+        if (vetoPolicy instanceof CompiledTimeVetoPolicy) {
+            ((CompiledTimeVetoPolicy) vetoPolicy).rebuild();
+            ++settingsRevision;
         }
-        return (!(InternalUtilities.isTimeVetoed(vetoPolicy, time)));
     }
 
     /**
@@ -496,6 +800,7 @@ public class TimePickerSettings {
      */
     public void setAllowEmptyTimes(boolean allowEmptyTimes) {
         this.allowEmptyTimes = allowEmptyTimes;
+        ++settingsRevision;
         if (parent != null) {
             zApplyAllowEmptyTimes();
         }
@@ -550,6 +855,8 @@ public class TimePickerSettings {
      */
     public void setFormatForDisplayTime(DateTimeFormatter formatForDisplayTime) {
         this.formatForDisplayTime = formatForDisplayTime;
+        displayFormatIsAutomatic = false;
+        ++settingsRevision;
         if (parent != null) {
             parent.setTextFieldToValidStateIfNeeded();
         }
@@ -566,6 +873,8 @@ public class TimePickerSettings {
      */
     public void setFormatForMenuTimes(DateTimeFormatter formatForMenuTimes) {
         this.formatForMenuTimes = formatForMenuTimes;
+        menuFormatIsAutomatic = false;
+        ++settingsRevision;
         if (parent != null) {
             parent.setTextFieldToValidStateIfNeeded();
         }
@@ -635,6 +944,10 @@ public class TimePickerSettings {
      * settings, or false if the last valid time is vetoed or disallowed. Setting a new veto policy
      * does not modify the last valid time. Is up to the programmer to resolve any potential
      * conflict between a new veto policy, and the last valid time stored in the time picker.
+     *
+     * The time picker remembers the answers of the veto policy for its text and its menu times. If
+     * the rules of the veto policy are changed, call this function again with the same policy, so
+     * that the time picker asks the veto policy again.
      */
     public boolean setVetoPolicy(TimeVetoPolicy vetoPolicy) {
         if (parent == null) {
@@ -642,6 +955,7 @@ public class TimePickerSettings {
                     + "A veto policy can only be set after constructing the TimePicker.");
         }
         this.vetoPolicy = vetoPolicy;
+        ++settingsRevision;
         return isTimeAllowed(parent.getTime());
     }
 
@@ -649,7 +963,8 @@ public class TimePickerSettings {
      * use24HourClockFormat, This can be called to set the TimePicker to use a 24-hour clock format.
      * This will replace the settings called formatForDisplayTime, and formatForMenuTimes, with the
      * commonly used 24-hour clock format ("HH:mm"). Any single digit hours will be zero padded in
-     * this format.
+     * this format. If the menu times are generated with an increment that is not a whole number of
+     * minutes, then the format includes seconds ("HH:mm:ss").
      *
      * Localization Note: It is not currently known if the 24 hour clock format is the same for all
      * locales. (Though it is considered likely that this format is the same in most places.) If
@@ -657,8 +972,54 @@ public class TimePickerSettings {
      * you, then please inform the developers.
      */
     public void use24HourClockFormat() {
-        formatForDisplayTime = PickerUtilities.createFormatterFromPatternString("HH:mm", locale);
-        formatForMenuTimes = formatForDisplayTime;
+        uses24HourClock = true;
+        displayFormatIsAutomatic = true;
+        menuFormatIsAutomatic = true;
+        zApplyAutomaticTimeFormats();
+    }
+
+    /**
+     * zApplyAutomaticTimeFormats, This sets the display format and the menu format, if they have
+     * not been supplied by the programmer. The automatic formats include seconds when the menu
+     * times are generated with an increment that is not a whole number of minutes, so that every
+     * menu time has a distinct text, and a chosen time keeps its seconds in the text field.
+     */
+    private void zApplyAutomaticTimeFormats() {
+        if (!displayFormatIsAutomatic && !menuFormatIsAutomatic) {
+            return;
+        }
+        boolean showSeconds = (potentialMenuTimes == null)
+                && ((potentialMenuIncrementSeconds % 60) != 0);
+        TimeDefaults defaults = LocaleDefaults.getTimeDefaults(locale);
+        DateTimeFormatter automaticDisplayFormat;
+        DateTimeFormatter automaticMenuFormat;
+        if (uses24HourClock) {
+            automaticDisplayFormat = PickerUtilities.createFormatterFromPatternString(
+                    (showSeconds) ? "HH:mm:ss" : "HH:mm", locale);
+            automaticMenuFormat = automaticDisplayFormat;
+        } else if (showSeconds) {
+            automaticDisplayFormat = defaults.getFormatForTimesWithSeconds();
+            automaticMenuFormat = automaticDisplayFormat;
+        } else {
+            automaticDisplayFormat = defaults.getFormatForDisplayTime();
+            automaticMenuFormat = defaults.getFormatForMenuTimes();
+        }
+        boolean formatsChanged = false;
+        if (displayFormatIsAutomatic && (getFormatForDisplayTime() != automaticDisplayFormat)) {
+            formatForDisplayTime = automaticDisplayFormat;
+            formatsChanged = true;
+        }
+        if (menuFormatIsAutomatic && (getFormatForMenuTimes() != automaticMenuFormat)) {
+            formatForMenuTimes = automaticMenuFormat;
+            formatsChanged = true;
+        }
+        if (!formatsChanged) {
+            return;
+        }
+        ++settingsRevision;
+        if (parent != null) {
+            parent.setTextFieldToValidStateIfNeeded();
+        }
     }
 
     /**
@@ -820,11 +1181,12 @@ public class TimePickerSettings {
 
     /**
      * TimeIncrement, This is a list of increments that can be used with the generateMenuTimes()
-     * function.
+     * function. (OneMinute is listed last, so that the ordinals of the older constants do not
+     * change.)
      */
     public enum TimeIncrement {
         FiveMinutes(5), TenMinutes(10), FifteenMinutes(15), TwentyMinutes(20), ThirtyMinutes(30),
-        OneHour(60);
+        OneHour(60), OneMinute(1);
 
         /**
          * minutes, This holds the number of minutes represented by the time increment.
@@ -1,5 +1,6 @@
 package com.lgooddatepicker.ysandbox;
 
+import com.lgooddatepicker.zinternaltools.InternalUtilities;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
@@ -13,6 +14,9 @@ import java.util.regex.Pattern;
  * testParsingMatchFunction, This class was written to thoroughly test the effectiveness of the
  * DatePickerUtilities.doesParsedDateMatchText() function. This class is not involved with the
  * normal operation of the date pickers.
+ *
+ * Every tested date is also given to InternalUtilities.doesParsedDateMatchText(), and any result
+ * that differs from the original (string based) version of the function is printed.
  */
 public class TestParsingMatchFunction {
 
@@ -111,6 +115,22 @@ public class TestParsingMatchFunction {
         System.out.println("done.");
     }
 
+    /**
+     * doesParsedDateMatchText, This returns the result of the original version of the function,
+     * after printing any difference between the original version and the current version in the
+     * InternalUtilities class.
+     */
+    static private boolean doesParsedDateMatchText(LocalDate parsedDate, String text,
+            Locale formatLocale) {
+        boolean originalResult = doesParsedDateMatchTextOriginal(parsedDate, text, formatLocale);
+        boolean currentResult = InternalUtilities.doesParsedDateMatchText(
+                parsedDate, text, formatLocale);
+        if (originalResult != currentResult) {
+            System.out.println("implementation difference at " + text);
+        }
+        return originalResult;
+    }
+
     static private boolean isLeapYear(int year) {
         if (year % 4 != 0) {
             return false;
@@ -128,7 +148,7 @@ public class TestParsingMatchFunction {
      * The 31st day of February, April, June, September, or November. The 30th day of February. Or
      * the 29th day of February on any year that is not a leap year.
      */
-    static private boolean doesParsedDateMatchText(LocalDate parsedDate, String text,
+    static private boolean doesParsedDateMatchTextOriginal(LocalDate parsedDate, String text,
             Locale formatLocale) {
         if (parsedDate == null || text == null) {
             return false;
@@ -7,6 +7,9 @@ import com.lgooddatepicker.datepicker.DatePickerSettings;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import javax.swing.*;
 import javax.swing.border.*;
 import java.text.DateFormatSymbols;
@@ -14,9 +17,12 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.YearMonth;
-import com.lgooddatepicker.optionalusertools.DateVetoPolicy;
+import com.lgooddatepicker.optionalusertools.AsyncDateHighlightPolicy;
+import com.lgooddatepicker.optionalusertools.AsyncDateVetoPolicy;
 import com.lgooddatepicker.optionalusertools.DateHighlightPolicy;
+import com.lgooddatepicker.optionalusertools.DateVetoPolicy;
 import com.lgooddatepicker.zinternaltools.JIntegerTextField.IntegerTextFieldNumberChangeListener;
+import com.lgooddatepicker.zinternaltools.MonthPolicyPrefetcher.MonthPolicyData;
 import java.time.Year;
 
 /**
@@ -30,10 +36,40 @@ import java.time.Year;
  * Life cycle: Each time that the user clicks the toggle calendar button on a date picker, a new
  * CalendarPanel instance is created and displayed, inside of a new instance of CustomPopup. The
  * calendar panel instance is closed and disposed each time that the date picker popup is closed.
+ *
+ * If DatePickerSettings.usePooledPopup is true, then the date picker instead keeps its calendar
+ * panel and popup after the popup is closed. The next time that the popup is opened, the same
+ * calendar panel is prepared for reuse and redrawn. See prepareForReuse() and isReusableWith().
  */
 public class CalendarPanel
         extends JPanel implements IntegerTextFieldNumberChangeListener {
 
+    /**
+     * dayOfMonthStrings, This holds the text for each day of the month, from "1" to "31". The text
+     * at index zero is the empty string, which is used for the blank date labels. These strings are
+     * shared so that drawing the calendar does not need to create any day number strings.
+     */
+    static private final String[] dayOfMonthStrings = createDayOfMonthStrings();
+
+    /**
+     * selectedDateBackgroundColor, This is the background color of the selected date label.
+     */
+    static private final Color selectedDateBackgroundColor = new Color(163, 184, 204);
+
+    /**
+     * selectedDateBorder, This is the border of the selected date label.
+     */
+    static private final Border selectedDateBorder = new LineBorder(new Color(99, 130, 191));
+
+    /**
+     * weekdayNamesByLocale, This holds the short weekday names for each locale, in the order that
+     * they are displayed in the calendar. The outer array is indexed by the zero based ordinal of
+     * the first day of the week. Each inner array holds the 7 weekday names, starting with the
+     * first day of the week. The inner arrays should never be modified.
+     */
+    static private final ConcurrentHashMap<Locale, String[][]> weekdayNamesByLocale
+            = new ConcurrentHashMap<>();
+
     /**
      * dateLabels, This holds a list of all the date labels in the calendar, including ones that
      * currently have dates or ones that are blank. This should always have exactly 42 labels. Date
@@ -41,6 +77,32 @@ public class CalendarPanel
      */
     private ArrayList<JLabel> dateLabels;
 
+    /**
+     * dateLabelBackgrounds, dateLabelBorders, dateLabelEnabledStates, dateLabelTexts,
+     * dateLabelToolTips, These hold the state that was most recently applied to each of the 42
+     * date labels. When the calendar is redrawn, only the label properties that differ from this
+     * state are changed.
+     */
+    private Color[] dateLabelBackgrounds = new Color[42];
+    private Border[] dateLabelBorders = new Border[42];
+    private boolean[] dateLabelEnabledStates = new boolean[42];
+    private String[] dateLabelTexts = new String[42];
+    private String[] dateLabelToolTips = new String[42];
+
+    /**
+     * dateLabelStatesAreKnown, This indicates whether or not the date label state arrays hold the
+     * actual state of the date labels. This is false until the calendar is drawn for the first
+     * time, and all of the label properties are applied during the first drawing.
+     */
+    private boolean dateLabelStatesAreKnown = false;
+
+    /**
+     * displayedHighlightStrings, This holds the highlight strings of the displayed month, indexed
+     * by the zero based day of the month. This is null if no day of the displayed month is
+     * highlighted, or while the asynchronous highlight answers of the displayed month are pending.
+     */
+    private String[] displayedHighlightStrings = null;
+
     /**
      * displayedSelectedDate, This stores a date that will be highlighted in the calendar as the
      * "selected date", or it holds null if no date has been selected. This date is copied from the
@@ -50,6 +112,19 @@ public class CalendarPanel
      */
     private LocalDate displayedSelectedDate = null;
 
+    /**
+     * displayedToday, This holds the date that was used as "today" the last time that the calendar
+     * was drawn. The today button and the veto answer for today refer to this date.
+     */
+    private LocalDate displayedToday = LocalDate.now();
+
+    /**
+     * displayedVetoedDaysMask, This holds the vetoed days of the displayed month as a bit mask. Bit
+     * zero represents the first day of the month, and a set bit indicates a vetoed day. This is
+     * only meaningful while vetoesArePending is false.
+     */
+    private int displayedVetoedDaysMask = 0;
+
     /**
      * displayedYearMonth, This stores the currently displayed year and month. This defaults to the
      * current year and month.
@@ -62,6 +137,26 @@ public class CalendarPanel
      */
     private EmptyBorder labelIndicatorEmptyBorder = new EmptyBorder(3, 2, 3, 2);
 
+    /**
+     * layoutSettingsWhenConstructed, This holds the values of the settings that affect the layout
+     * of the calendar panel, at the time that the calendar panel was constructed. The layout
+     * settings are only applied by the constructor, so a calendar panel can only be reused while
+     * these settings are unchanged.
+     */
+    private int[] layoutSettingsWhenConstructed;
+
+    /**
+     * lookAndFeelWhenConstructed, This holds the look and feel that was in use when the calendar
+     * panel was constructed. A calendar panel is not reused after the look and feel is changed.
+     */
+    private LookAndFeel lookAndFeelWhenConstructed;
+
+    /**
+     * monthGrid, This holds the custom painted month grid, if the settings specify that the month
+     * grid should be used instead of the date labels. Otherwise this is null.
+     */
+    private MonthGridPanel monthGrid = null;
+
     /**
      * parentDatePicker, This holds a reference to the date picker that is the parent of this
      * calendar panel. A calendar panel always has a parent date picker. This will never be null
@@ -69,12 +164,45 @@ public class CalendarPanel
      */
     private DatePicker parentDatePicker;
 
+    /**
+     * policyAnswersGeneration, This is incremented each time that policy answers are requested for
+     * the calendar, and each time that the calendar is closed. Asynchronous policy answers are
+     * only applied if this value has not changed since the answers were requested. This discards
+     * any answers for a month that is no longer displayed.
+     */
+    private int policyAnswersGeneration = 0;
+
+    /**
+     * prefetcher, This holds the prefetcher that evaluates the policy data of the months that
+     * neighbor the displayed month. This is null until the calendar is drawn with the
+     * prefetchAdjacentMonths setting enabled.
+     */
+    private MonthPolicyPrefetcher prefetcher = null;
+
     /**
      * settings, This holds a reference to the settings of the parent date picker. This will never
      * be null until the calendar is closed and disposed.
      */
     private DatePickerSettings settings;
 
+    /**
+     * todayIsVetoed, This indicates whether or not the displayed today date is vetoed. This is only
+     * used when today is not in the displayed month, and only while todayVetoIsPending is false.
+     */
+    private boolean todayIsVetoed = false;
+
+    /**
+     * todayVetoIsPending, This indicates that an asynchronous veto answer for the displayed today
+     * date has been requested, and has not yet arrived.
+     */
+    private boolean todayVetoIsPending = false;
+
+    /**
+     * vetoesArePending, This indicates that the asynchronous veto answers for the displayed month
+     * have been requested, and have not yet arrived.
+     */
+    private boolean vetoesArePending = false;
+
     /**
      * weekdayLabels, This holds a list of all the weekday labels in the calendar. This should
      * always have exactly 7 labels. Weekday labels are reused when the currently displayed month or
@@ -112,9 +240,11 @@ public class CalendarPanel
      * Constructor, This creates a calendar panel and stores the parent date picker.
      *
      * Technical note: This constructor is only called from the DatePicker.openPopup() function. A
-     * new CalendarPanel is created every time the popup is opened. Therefore, any
-     * DatePickerSettings variables that are initialized in this constructor are automatically able
-     * to correctly handle being set either before or after, a DatePicker is constructed.
+     * new CalendarPanel is created every time the popup is opened, unless a pooled popup is being
+     * reused. Therefore, any DatePickerSettings variables that are initialized in this constructor
+     * are automatically able to correctly handle being set either before or after, a DatePicker is
+     * constructed. (A pooled calendar panel is only reused if its layout settings are unchanged,
+     * and its colors are applied again each time that it is reused.)
      */
     public CalendarPanel(DatePicker parentDatePicker, DatePickerSettings settings) {
         this.parentDatePicker = parentDatePicker;
@@ -142,21 +272,14 @@ public class CalendarPanel
         setOpaque(true);
 
         // Set the component colors
-        Color calendarPanelBackgroundColor = settings.colorBackgroundCalendarPanel;
-        setBackground(calendarPanelBackgroundColor);
-        headerControlsPanel.setBackground(calendarPanelBackgroundColor);
-        monthAndYearOuterPanel.setBackground(calendarPanelBackgroundColor);
-        footerPanel.setBackground(calendarPanelBackgroundColor);
-        Color navigationButtonsColor = settings.colorBackgroundNavigateYearMonthButtons;
-        if (navigationButtonsColor != null) {
-            buttonPreviousYear.setBackground(navigationButtonsColor);
-            buttonNextYear.setBackground(navigationButtonsColor);
-            buttonPreviousMonth.setBackground(navigationButtonsColor);
-            buttonNextMonth.setBackground(navigationButtonsColor);
-        }
+        applyColorSettings();
 
-        // Generate and add the date labels and weekday labels.
-        addDateLabels();
+        // Generate and add the date labels (or the month grid), and the weekday labels.
+        if (settings.useCustomPaintedDateGrid) {
+            addMonthGrid();
+        } else {
+            addDateLabels();
+        }
         addWeekdayLabels();
 
         // Shrink the buttons for previous and next year and month.
@@ -177,6 +300,10 @@ public class CalendarPanel
         // Set the size of the cell that contains the date panel.
         setSizeOfDatePanelCell();
 
+        // Save the settings that were used for the layout, so that reuse can be checked later.
+        layoutSettingsWhenConstructed = getLayoutSettings(settings);
+        lookAndFeelWhenConstructed = UIManager.getLookAndFeel();
+
         // Set the calendar to show the current month and year by default.
         CalendarPanel.this.drawCalendar(YearMonth.now());
     }
@@ -195,6 +322,7 @@ public class CalendarPanel
             dateLabel.setHorizontalAlignment(SwingConstants.CENTER);
             dateLabel.setVerticalAlignment(SwingConstants.CENTER);
             dateLabel.setBackground(Color.white);
+            dateLabel.setForeground(Color.black);
             dateLabel.setBorder(null);
             dateLabel.setOpaque(true);
             dateLabel.setText("" + i);
@@ -212,6 +340,16 @@ public class CalendarPanel
         }
     }
 
+    /**
+     * addMonthGrid, This adds a single custom painted month grid to the calendar, in place of the
+     * 42 date labels. The month grid is reused any time that the calendar is redrawn.
+     */
+    private void addMonthGrid() {
+        monthGrid = new MonthGridPanel(this);
+        datesPanel.setLayout(new BorderLayout());
+        datesPanel.add(monthGrid, BorderLayout.CENTER);
+    }
+
     /**
      * addWeekdayLabels, This adds a set of 7 weekday labels to the calendar panel. The text of
      * these labels is set with locale sensitive weekday names each time that the calendar is
@@ -236,6 +374,31 @@ public class CalendarPanel
         }
     }
 
+    /**
+     * applyColorSettings, This applies the panel and button colors from the settings to the
+     * components of the calendar panel. The date label colors are applied by drawCalendar().
+     */
+    private void applyColorSettings() {
+        Color calendarPanelBackgroundColor = settings.colorBackgroundCalendarPanel;
+        setBackground(calendarPanelBackgroundColor);
+        headerControlsPanel.setBackground(calendarPanelBackgroundColor);
+        monthAndYearOuterPanel.setBackground(calendarPanelBackgroundColor);
+        footerPanel.setBackground(calendarPanelBackgroundColor);
+        Color navigationButtonsColor = settings.colorBackgroundNavigateYearMonthButtons;
+        if (navigationButtonsColor != null) {
+            buttonPreviousYear.setBackground(navigationButtonsColor);
+            buttonNextYear.setBackground(navigationButtonsColor);
+            buttonPreviousMonth.setBackground(navigationButtonsColor);
+            buttonNextMonth.setBackground(navigationButtonsColor);
+        }
+        if (weekdayLabels != null) {
+            weekDaysPanel.setBackground(settings.colorBackgroundWeekdayLabels);
+            for (JLabel weekdayLabel : weekdayLabels) {
+                weekdayLabel.setBackground(settings.colorBackgroundWeekdayLabels);
+            }
+        }
+    }
+
     /**
      * buttonNextMonthActionPerformed, This event is called when the next month button is pressed.
      * This sets the YearMonth of the calendar to the next month, and redraws the calendar.
@@ -270,16 +433,44 @@ public class CalendarPanel
         drawCalendar(displayedYearMonth.minusYears(1));
     }
 
+    /**
+     * cancelPrefetching, This cancels any background prefetching of policy data that has not yet
+     * started, and forgets the prefetched months. This is called when the calendar popup is closed.
+     */
+    public void cancelPrefetching() {
+        if (prefetcher != null) {
+            prefetcher.cancel();
+        }
+    }
+
     /**
      * clearParent, This is called to remove the parent date picker reference, and the parent date
      * picker settings reference, from the calendar panel. This is called at the same time that the
      * parent date picker wants to close and dispose its popup calendar panel.
      */
     public void clearParent() {
+        ++policyAnswersGeneration;
+        cancelPrefetching();
+        if (monthGrid != null) {
+            monthGrid.clearParent();
+        }
         parentDatePicker = null;
         settings = null;
     }
 
+    /**
+     * createDayOfMonthStrings, This creates the shared array of day of the month strings. See the
+     * dayOfMonthStrings field for details.
+     */
+    static private String[] createDayOfMonthStrings() {
+        String[] strings = new String[32];
+        strings[0] = "";
+        for (int day = 1; day <= 31; ++day) {
+            strings[day] = String.valueOf(day).intern();
+        }
+        return strings;
+    }
+
     /**
      * dateLabelMouseClicked, This event is called any time that the user clicks on a date label in
      * the calendar. This sets the date picker to the selected date, and closes the calendar panel.
@@ -293,10 +484,69 @@ public class CalendarPanel
             return;
         }
         // We have a label with a specific date, so set the date and close the calendar.
-        int dayOfMonth = Integer.parseInt(labelText);
-        LocalDate clickedDate = LocalDate.of(
-                displayedYearMonth.getYear(), displayedYearMonth.getMonth(), dayOfMonth);
-        userSelectedADate(clickedDate);
+        zEventDateCellClicked(Integer.parseInt(labelText));
+    }
+
+    /**
+     * drawDateLabels, This calculates the state of each date label from the displayed month, the
+     * selected date, and the current veto and highlight answers, and applies any label state that
+     * has changed. This also enables or disables the today button. While the veto answers of the
+     * displayed month are pending, the days of the month are drawn in a neutral disabled state.
+     */
+    private void drawDateLabels() {
+        YearMonth yearMonth = displayedYearMonth;
+        // Get the last day of the month.
+        int lastDateOfMonth = getLastDayOfMonth(yearMonth);
+        // Find the label index of the first day of the month. The first day of the month is always
+        // displayed in the first row of the calendar.
+        int firstDayOfMonthWeekdayValue = yearMonth.atDay(1).getDayOfWeek().getValue();
+        int firstDayOfMonthLabelIndex
+                = (firstDayOfMonthWeekdayValue - settings.firstDayOfWeek.getValue() + 7) % 7;
+        // Find the day of the selected date, if one is present in the current month.
+        int selectedDayOfMonth = ((displayedSelectedDate != null)
+                && (YearMonth.from(displayedSelectedDate).equals(yearMonth)))
+                        ? displayedSelectedDate.getDayOfMonth() : 0;
+        // Calculate the state of each date label, and apply any state that has changed.
+        for (int dateLabelArrayIndex = 0; dateLabelArrayIndex < 42; ++dateLabelArrayIndex) {
+            int dayOfMonth = dateLabelArrayIndex - firstDayOfMonthLabelIndex + 1;
+            // Start with the default state for every label.
+            Color background = Color.white;
+            Border border = null;
+            boolean enabled = true;
+            String toolTipText = null;
+            // Labels outside of the valid range for days of this month are left empty.
+            if (dayOfMonth < 1 || dayOfMonth > lastDateOfMonth) {
+                setDateLabelState(dateLabelArrayIndex, dayOfMonthStrings[0],
+                        background, border, enabled, toolTipText);
+                continue;
+            }
+            boolean dateIsVetoed = (displayedVetoedDaysMask & (1 << (dayOfMonth - 1))) != 0;
+            String highlightStringOrNull = (displayedHighlightStrings == null)
+                    ? null : displayedHighlightStrings[dayOfMonth - 1];
+            if (vetoesArePending) {
+                // Pending days keep the default background, but they can not be selected yet.
+                enabled = false;
+            } else if (dateIsVetoed) {
+                enabled = false;
+                background = settings.colorBackgroundVetoedDates;
+            }
+            if ((!vetoesArePending) && (!dateIsVetoed) && (highlightStringOrNull != null)) {
+                background = settings.colorBackgroundHighlightedDates;
+                if (!highlightStringOrNull.isEmpty()) {
+                    toolTipText = highlightStringOrNull;
+                }
+            }
+            // If needed, change the color of the selected date.
+            if (dayOfMonth == selectedDayOfMonth) {
+                background = selectedDateBackgroundColor;
+                border = selectedDateBorder;
+            }
+            setDateLabelState(dateLabelArrayIndex, dayOfMonthStrings[dayOfMonth],
+                    background, border, enabled, toolTipText);
+        }
+        dateLabelStatesAreKnown = true;
+        // If today is vetoed, or if the veto answer for today is pending, disable the today button.
+        labelSetDateToToday.setEnabled(!isDateVetoedAsDisplayed(displayedToday));
     }
 
     /**
@@ -317,121 +567,41 @@ public class CalendarPanel
         // Get the displayed month and year.
         Month displayedMonth = yearMonth.getMonth();
         int displayedYear = yearMonth.getYear();
-        // Get an instance of the calendar symbols for the current locale.
-        DateFormatSymbols symbols = DateFormatSymbols.getInstance(settings.getLocale());
-        // Get the days of the week in the local language.
-        String localShortDaysOfWeek[] = symbols.getShortWeekdays();
         // Get the full name of the month in the current locale.
         int zeroBasedMonthIndex = (displayedMonth.getValue() - 1);
         String localizedFullMonth = settings.translationArrayMonthNames[zeroBasedMonthIndex];
         String localizedShortMonth = settings.translationArrayShortMonthNames[zeroBasedMonthIndex];
-        // Get the first day of the month, and the first day of week.
-        LocalDate firstDayOfMonth = LocalDate.of(displayedYear, displayedMonth, 1);
-        DayOfWeek firstDayOfWeekOfMonth = firstDayOfMonth.getDayOfWeek();
-        // Get the last day of the month.
-        int lastDateOfMonth = getLastDayOfMonth(displayedYearMonth);
-        // Find out if we have a selected date that is inside the currently displayed month.
-        boolean selectedDateIsInDisplayedMonth = (displayedSelectedDate != null)
-                && (displayedSelectedDate.getYear() == displayedYear)
-                && (displayedSelectedDate.getMonth() == displayedMonth);
         // Set the month and the year labels.
         if (monthAndYearInnerPanel.isAncestorOf(yearEditorPanel)) {
             labelMonth.setText(localizedShortMonth);
         } else {
             labelMonth.setText(localizedFullMonth);
         }
-        String displayedYearString = "" + displayedYear;
+        String displayedYearString = String.valueOf(displayedYear);
         labelYear.setText(displayedYearString);
         if (!displayedYearString.equals(yearTextField.getText())) {
             yearTextField.skipNotificationOfNumberChangeListenerWhileTrue = true;
             yearTextField.setText(displayedYearString);
             yearTextField.skipNotificationOfNumberChangeListenerWhileTrue = false;
         }
-        // Set the days of the week labels, and create an array to represent the weekday positions.
-        ArrayList<DayOfWeek> daysOfWeekAsDisplayed = new ArrayList<>();
-        int isoFirstDayOfWeekValue = settings.firstDayOfWeek.getValue();
-        int isoLastDayOfWeekOverflowed = isoFirstDayOfWeekValue + 6;
-        int weekdayLabelArrayIndex = 0;
-        for (int dayOfWeek = isoFirstDayOfWeekValue; dayOfWeek <= isoLastDayOfWeekOverflowed; dayOfWeek++) {
-            int localShortDaysOfWeekArrayIndex = (dayOfWeek % 7) + 1;
-            int isoDayOfWeek = (dayOfWeek > 7) ? (dayOfWeek - 7) : dayOfWeek;
-            DayOfWeek currentDayOfWeek = DayOfWeek.of(isoDayOfWeek);
-            daysOfWeekAsDisplayed.add(currentDayOfWeek);
-            weekdayLabels.get(weekdayLabelArrayIndex).setText(localShortDaysOfWeek[localShortDaysOfWeekArrayIndex]);
-            ++weekdayLabelArrayIndex;
-        }
-        // Set the dates of the month labels.
-        // Also save the label for the selected date, if one is present in the current month.
-        boolean insideValidRange = false;
-        int dayOfMonth = 1;
-        JLabel selectedDateLabel = null;
-        for (int dateLabelArrayIndex = 0; dateLabelArrayIndex < dateLabels.size(); ++dateLabelArrayIndex) {
-            // Get the current date label.
-            JLabel dateLabel = dateLabels.get(dateLabelArrayIndex);
-            // Reset the state of every label to a default state.
-            dateLabel.setBackground(Color.white);
-            dateLabel.setForeground(Color.black);
-            dateLabel.setBorder(null);
-            dateLabel.setEnabled(true);
-            dateLabel.setToolTipText(null);
-            // Calculate the index to use on the daysOfWeekAsDisplayed array.
-            int daysOfWeekAsDisplayedArrayIndex = dateLabelArrayIndex % 7;
-            // Check to see if we are inside the valid range for days of this month.
-            if (daysOfWeekAsDisplayed.get(daysOfWeekAsDisplayedArrayIndex) == firstDayOfWeekOfMonth
-                    && dateLabelArrayIndex < 7) {
-                insideValidRange = true;
-            }
-            if (dayOfMonth > lastDateOfMonth) {
-                insideValidRange = false;
-            }
-            // While we are inside the valid range, set the date labels with the day of the month.
-            if (insideValidRange) {
-                // Get a local date object for the current date.
-                LocalDate currentDate = LocalDate.of(displayedYear, displayedMonth, dayOfMonth);
-                DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
-                DateHighlightPolicy highlightPolicy = settings.highlightPolicy;
-                boolean dateIsVetoed = InternalUtilities.isDateVetoed(vetoPolicy, currentDate);
-                String highlightStringOrNull = null;
-                if (highlightPolicy != null) {
-                    highlightStringOrNull = highlightPolicy.getHighlightStringOrNull(currentDate);
-                }
-                if (dateIsVetoed) {
-                    dateLabel.setEnabled(false);
-                    dateLabel.setBackground(settings.colorBackgroundVetoedDates);
-                }
-                if ((!dateIsVetoed) && (highlightStringOrNull != null)) {
-                    dateLabel.setBackground(settings.colorBackgroundHighlightedDates);
-                    if (!highlightStringOrNull.isEmpty()) {
-                        dateLabel.setToolTipText(highlightStringOrNull);
-                    }
-                }
-                // If needed, save the label for the selected date.
-                if (selectedDateIsInDisplayedMonth && displayedSelectedDate != null
-                        && displayedSelectedDate.getDayOfMonth() == dayOfMonth) {
-                    selectedDateLabel = dateLabel;
-                }
-                // Set the text for the current date.
-                dateLabel.setText("" + dayOfMonth);
-                ++dayOfMonth;
-            } else {
-                // We are not inside the valid range, so set this label to an empty string.
-                dateLabel.setText("");
+        // Set the days of the week labels, using the cached weekday names.
+        String[] weekdayNames = getWeekdayNamesAsDisplayed(
+                settings.getLocale(), settings.firstDayOfWeek);
+        for (int i = 0; i < 7; ++i) {
+            JLabel weekdayLabel = weekdayLabels.get(i);
+            if (!weekdayNames[i].equals(weekdayLabel.getText())) {
+                weekdayLabel.setText(weekdayNames[i]);
             }
         }
-        // If needed, change the color of the selected date.
-        if (selectedDateLabel != null) {
-            selectedDateLabel.setBackground(new Color(163, 184, 204));
-            selectedDateLabel.setBorder(new LineBorder(new Color(99, 130, 191)));
-        }
+        // Request the veto and highlight answers for the displayed month, and draw the date labels
+        // and the today button with the answers that are available now. Any asynchronous answers
+        // that are not yet available will be drawn when they arrive.
+        requestPolicyAnswers(yearMonth);
+        drawDateLabels();
         // Set the label for the today button.
-        String todayDateString = settings.formatForTodayButton.format(LocalDate.now());
+        String todayDateString = settings.formatForTodayButton.format(displayedToday);
         String todayLabel = settings.translationToday + ":  " + todayDateString;
         labelSetDateToToday.setText(todayLabel);
-        // If today is vetoed, disable the today button.
-        DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
-        boolean todayIsVetoed = InternalUtilities.isDateVetoed(
-                vetoPolicy, LocalDate.now());
-        labelSetDateToToday.setEnabled(!todayIsVetoed);
 
         // If null is not allowed, then disable and hide the Clear label. 
         // Note: I had considered centering the today label in the CalendarPanel whenever the 
@@ -454,9 +624,17 @@ public class CalendarPanel
      * February. There should be 29 days in the month of "February 1, -0004".
      */
     private int getLastDayOfMonth(YearMonth yearMonth) {
-        LocalDate firstDayOfMonth = LocalDate.of(yearMonth.getYear(), yearMonth.getMonth(), 1);
-        int lastDayOfMonth = firstDayOfMonth.lengthOfMonth();
-        return lastDayOfMonth;
+        return yearMonth.lengthOfMonth();
+    }
+
+    /**
+     * getLayoutSettings, This returns the values of the settings that affect the layout of a
+     * calendar panel. See the layoutSettingsWhenConstructed field for details.
+     */
+    static private int[] getLayoutSettings(DatePickerSettings settings) {
+        return new int[]{settings.sizeDatePanelMinimumHeight, settings.sizeDatePanelMinimumWidth,
+            settings.sizeDatePanelPixelsExtraHeight, settings.sizeDatePanelPixelsExtraWidth,
+            (settings.useCustomPaintedDateGrid) ? 1 : 0};
     }
 
     /**
@@ -472,6 +650,56 @@ public class CalendarPanel
         return new Point(popupX, popupY);
     }
 
+    /**
+     * getWeekdayNamesAsDisplayed, This returns the short weekday names for the specified locale,
+     * starting with the specified first day of the week. The names for each locale are generated
+     * once, and then shared by all calendar panels. The returned array should not be modified.
+     */
+    static private String[] getWeekdayNamesAsDisplayed(Locale locale, DayOfWeek firstDayOfWeek) {
+        String[][] namesForLocale = weekdayNamesByLocale.computeIfAbsent(locale, (Locale key) -> {
+            // Get the days of the week in the local language. This array uses the (one based)
+            // java.util.Calendar day numbering, which starts with Sunday.
+            String[] localShortDaysOfWeek = DateFormatSymbols.getInstance(key).getShortWeekdays();
+            String[][] names = new String[7][7];
+            for (int first = 0; first < 7; ++first) {
+                for (int column = 0; column < 7; ++column) {
+                    int isoDayOfWeek = ((first + column) % 7) + 1;
+                    names[first][column] = localShortDaysOfWeek[(isoDayOfWeek % 7) + 1];
+                }
+            }
+            return names;
+        });
+        return namesForLocale[firstDayOfWeek.ordinal()];
+    }
+
+    /**
+     * isDateVetoedAsDisplayed, This returns true if the supplied date is vetoed, according to the
+     * veto answers that were requested when the calendar was drawn. Dates in the displayed month
+     * and the displayed today date are treated as vetoed while their answers are pending. The veto
+     * policy is only asked about other dates.
+     */
+    private boolean isDateVetoedAsDisplayed(LocalDate date) {
+        if (YearMonth.from(date).equals(displayedYearMonth)) {
+            return vetoesArePending
+                    || ((displayedVetoedDaysMask & (1 << (date.getDayOfMonth() - 1))) != 0);
+        }
+        if (date.equals(displayedToday)) {
+            return todayVetoIsPending || todayIsVetoed;
+        }
+        return InternalUtilities.isDateVetoed(settings.getVetoPolicy(), date);
+    }
+
+    /**
+     * isReusableWith, This returns true if this calendar panel can be reused with the supplied
+     * settings. A calendar panel can only be reused with the settings instance that it was created
+     * with, and only while the layout settings and the look and feel are unchanged.
+     */
+    public boolean isReusableWith(DatePickerSettings settings) {
+        return (this.settings == settings) && (settings != null)
+                && (lookAndFeelWhenConstructed == UIManager.getLookAndFeel())
+                && Arrays.equals(layoutSettingsWhenConstructed, getLayoutSettings(settings));
+    }
+
     /**
      * labelClearDateMouseClicked, This event is called when the "Clear" label is clicked in a date
      * picker. This sets the date picker date to an empty date. (This sets the last valid date to
@@ -487,12 +715,8 @@ public class CalendarPanel
      */
     private void labelIndicatorMouseEntered(MouseEvent e) {
         JLabel label = ((JLabel) e.getSource());
-        if (label == labelSetDateToToday) {
-            DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
-            boolean todayIsVetoed = InternalUtilities.isDateVetoed(vetoPolicy, LocalDate.now());
-            if (todayIsVetoed) {
-                return;
-            }
+        if (label == labelSetDateToToday && isDateVetoedAsDisplayed(displayedToday)) {
+            return;
         }
         label.setBackground(new Color(184, 207, 229));
         label.setBorder(new CompoundBorder(
@@ -613,6 +837,144 @@ public class CalendarPanel
         yearTextField.requestFocusInWindow();
     }
 
+    /**
+     * prepareForReuse, This returns a pooled calendar panel to the state of a newly constructed
+     * calendar panel, so that it can be shown again. This applies the current color settings,
+     * closes the year editor if it was open, resets the label indicators, and clears the selected
+     * date. The caller should then set the selected date (if any), and draw the desired month.
+     */
+    public void prepareForReuse() {
+        applyColorSettings();
+        if (monthAndYearInnerPanel.isAncestorOf(yearEditorPanel)) {
+            monthAndYearInnerPanel.remove(yearEditorPanel);
+            labelYear.setEnabled(true);
+            labelYear.setVisible(true);
+        }
+        labelIndicatorSetBorderToDefaultState(labelMonth);
+        labelIndicatorSetBorderToDefaultState(labelYear);
+        labelIndicatorSetBorderToDefaultState(labelSetDateToToday);
+        labelIndicatorSetBorderToDefaultState(labelClearDate);
+        displayedSelectedDate = null;
+    }
+
+    /**
+     * requestPolicyAnswers, This requests the veto answers and the highlight answers for the
+     * supplied month, and the veto answer for today. Answers from synchronous policies are stored
+     * immediately.
+     *
+     * If a policy implements one of the asynchronous policy interfaces, then any answers that are
+     * already complete are also stored immediately. Other answers are marked as pending. When a
+     * pending answer arrives, it is stored and the date labels are redrawn on the Event Dispatch
+     * Thread, unless the calendar has since been redrawn or closed. A failed veto answer is treated
+     * as if every requested date was vetoed, and a failed highlight answer is treated as if no date
+     * was highlighted.
+     *
+     * If the prefetchAdjacentMonths setting is enabled, the month data of synchronous policies is
+     * taken from the prefetcher, and the prefetcher starts evaluating the neighboring months. The
+     * prefetcher only serves prefetched data when the calendar moves to a neighboring month.
+     */
+    private void requestPolicyAnswers(final YearMonth yearMonth) {
+        final int generation = ++policyAnswersGeneration;
+        final int lengthOfMonth = yearMonth.lengthOfMonth();
+        DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
+        DateHighlightPolicy highlightPolicy = settings.highlightPolicy;
+        displayedToday = LocalDate.now();
+        boolean todayIsInMonth = YearMonth.from(displayedToday).equals(yearMonth);
+        // If prefetching is enabled, get the data of synchronous policies from the prefetcher.
+        MonthPolicyData prefetchedData = null;
+        if (settings.prefetchAdjacentMonths) {
+            if (prefetcher == null) {
+                prefetcher = new MonthPolicyPrefetcher();
+            }
+            prefetchedData = prefetcher.getMonthData(yearMonth, vetoPolicy, highlightPolicy);
+        }
+        // Request the veto answers.
+        vetoesArePending = false;
+        todayVetoIsPending = false;
+        if (vetoPolicy instanceof AsyncDateVetoPolicy) {
+            AsyncDateVetoPolicy asyncVetoPolicy = (AsyncDateVetoPolicy) vetoPolicy;
+            CompletableFuture<Integer> maskFuture
+                    = asyncVetoPolicy.getVetoedDaysMaskAsync(yearMonth);
+            vetoesArePending = true;
+            zWhenPolicyAnswerArrives(maskFuture, generation, (mask, error) -> {
+                displayedVetoedDaysMask = (error != null || mask == null) ? -1 : mask;
+                displayedVetoedDaysMask &= ((1 << lengthOfMonth) - 1);
+                vetoesArePending = false;
+            });
+            if (!todayIsInMonth) {
+                CompletableFuture<Boolean> todayFuture
+                        = asyncVetoPolicy.isDateAllowedAsync(displayedToday);
+                todayVetoIsPending = true;
+                zWhenPolicyAnswerArrives(todayFuture, generation, (allowed, error) -> {
+                    todayIsVetoed = (error != null) || (!Boolean.TRUE.equals(allowed));
+                    todayVetoIsPending = false;
+                });
+            }
+        } else {
+            displayedVetoedDaysMask = (prefetchedData != null) ? prefetchedData.vetoedDaysMask
+                    : InternalUtilities.getVetoedDaysMask(vetoPolicy, yearMonth);
+            todayIsVetoed = (!todayIsInMonth)
+                    && InternalUtilities.isDateVetoed(vetoPolicy, displayedToday);
+        }
+        // Request the highlight answers.
+        displayedHighlightStrings = null;
+        if (highlightPolicy instanceof AsyncDateHighlightPolicy) {
+            AsyncDateHighlightPolicy asyncHighlightPolicy
+                    = (AsyncDateHighlightPolicy) highlightPolicy;
+            CompletableFuture<String[]> highlightsFuture
+                    = asyncHighlightPolicy.getHighlightStringsAsync(yearMonth);
+            zWhenPolicyAnswerArrives(highlightsFuture, generation, (highlights, error) -> {
+                if (error == null && highlights != null) {
+                    displayedHighlightStrings = Arrays.copyOf(
+                            highlights, Math.max(highlights.length, lengthOfMonth));
+                }
+            });
+        } else {
+            displayedHighlightStrings = (prefetchedData != null) ? prefetchedData.highlights
+                    : InternalUtilities.getHighlightStringsOrNull(highlightPolicy, yearMonth);
+        }
+        // Start evaluating the neighboring months in the background.
+        if (prefetchedData != null) {
+            prefetcher.prefetchAdjacentMonths(yearMonth, vetoPolicy, highlightPolicy);
+        }
+    }
+
+    /**
+     * setDateLabelState, This applies the supplied state to the date label at the specified index.
+     * Only the label properties that differ from the most recently applied state are changed, so
+     * that unchanged labels do not need to be revalidated or repainted. If the month grid is in
+     * use, then the state is applied to the matching cell of the month grid instead.
+     */
+    private void setDateLabelState(int index, String text, Color background, Border border,
+            boolean enabled, String toolTipText) {
+        if (monthGrid != null) {
+            monthGrid.setCellState(index, text, background, border, enabled, toolTipText);
+            return;
+        }
+        JLabel dateLabel = dateLabels.get(index);
+        boolean applyAll = !dateLabelStatesAreKnown;
+        if (applyAll || dateLabelTexts[index] != text) {
+            dateLabel.setText(text);
+            dateLabelTexts[index] = text;
+        }
+        if (applyAll || !Objects.equals(dateLabelBackgrounds[index], background)) {
+            dateLabel.setBackground(background);
+            dateLabelBackgrounds[index] = background;
+        }
+        if (applyAll || dateLabelBorders[index] != border) {
+            dateLabel.setBorder(border);
+            dateLabelBorders[index] = border;
+        }
+        if (applyAll || dateLabelEnabledStates[index] != enabled) {
+            dateLabel.setEnabled(enabled);
+            dateLabelEnabledStates[index] = enabled;
+        }
+        if (applyAll || !Objects.equals(dateLabelToolTips[index], toolTipText)) {
+            dateLabel.setToolTipText(toolTipText);
+            dateLabelToolTips[index] = toolTipText;
+        }
+    }
+
     /**
      * setDisplayedSelectedDate, This sets the date that will be marked as "selected" in the
      * calendar. Note that this function does -not- change the displayed YearMonth.
@@ -698,11 +1060,8 @@ public class CalendarPanel
      */
     private void userSelectedADate(LocalDate selectedDate) {
         // If a date was selected and the date is vetoed, do nothing.
-        if (selectedDate != null) {
-            DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
-            if (InternalUtilities.isDateVetoed(vetoPolicy, selectedDate)) {
-                return;
-            }
+        if (selectedDate != null && isDateVetoedAsDisplayed(selectedDate)) {
+            return;
         }
         // Save the selected date.
         this.displayedSelectedDate = selectedDate;
@@ -721,6 +1080,39 @@ public class CalendarPanel
         }
     }
 
+    /**
+     * zWhenPolicyAnswerArrives, This arranges for the supplied action to store the result of an
+     * asynchronous policy answer. If the answer is already complete, then the action is run
+     * immediately. Otherwise the action is run on the Event Dispatch Thread when the answer
+     * arrives, followed by a redraw of the date labels. Answers that arrive after the calendar has
+     * been redrawn or closed are discarded.
+     */
+    private <T> void zWhenPolicyAnswerArrives(CompletableFuture<T> future, final int generation,
+            final BiConsumer<T, Throwable> storeAnswerAction) {
+        if (future.isDone()) {
+            future.whenComplete(storeAnswerAction);
+            return;
+        }
+        future.whenComplete((answer, error) -> SwingUtilities.invokeLater(() -> {
+            if (generation != policyAnswersGeneration || settings == null) {
+                return;
+            }
+            storeAnswerAction.accept(answer, error);
+            drawDateLabels();
+        }));
+    }
+
+    /**
+     * zEventDateCellClicked, This is called when the user clicks on a date in the calendar. This
+     * is used by both the date labels and the month grid. This sets the date picker to the
+     * clicked date of the displayed month, and closes the calendar panel.
+     */
+    void zEventDateCellClicked(int dayOfMonth) {
+        LocalDate clickedDate = LocalDate.of(
+                displayedYearMonth.getYear(), displayedYearMonth.getMonth(), dayOfMonth);
+        userSelectedADate(clickedDate);
+    }
+
     @Override
     public void integerTextFieldNumberChanged(JIntegerTextField source, int newValue) {
         YearMonth newYearMonth = YearMonth.of(newValue, displayedYearMonth.getMonth());
@@ -36,6 +36,11 @@ import javax.swing.border.LineBorder;
  * ComponentListener notes: This class listens for movement in the top window of the component which
  * initiated the popup. If the topWindow moves, then the popup will be closed. This class handles
  * its own registration and de-registration of the listener with the top window component.
+ *
+ * Reuse notes: By default, a custom popup can only be shown once. After it is hidden, its display
+ * window is released. If setReusable(true) has been called, then hiding the popup only makes the
+ * display window invisible, and the same popup (with the same contents) can be shown again. A
+ * reusable popup should be released with the dispose() function when it is no longer needed.
  */
 public class CustomPopup extends Popup
         implements WindowFocusListener, ComponentListener {
@@ -47,6 +52,25 @@ public class CustomPopup extends Popup
      */
     private JWindow displayWindow;
 
+    /**
+     * isReusable, This indicates whether or not the popup can be shown again after it is hidden.
+     * See the class description for details.
+     */
+    private boolean isReusable = false;
+
+    /**
+     * listenersAreRegistered, This indicates whether or not this class is currently registered as
+     * a listener with the display window and the top window. The listeners are registered while
+     * the popup is open.
+     */
+    private boolean listenersAreRegistered = false;
+
+    /**
+     * optionalBorder, This holds the border that was supplied to the constructor, or null if the
+     * default border is being used.
+     */
+    private Border optionalBorder;
+
     /**
      * CustomPopupCloseListener, If this has been set to something besides null, then this listener
      * will be notified whenever this popup is closed, regardless of whether that close was
@@ -87,6 +111,7 @@ public class CustomPopup extends Popup
         // Save the initialization variables for future use.
         this.topWindow = topWindow;
         this.optionalCustomPopupCloseListener = optionalCustomPopupCloseListener;
+        this.optionalBorder = optionalBorder;
         // Create the panel that will be added to the display window.
         JPanel mainPanel = new JPanel();
         mainPanel.setLayout(new BorderLayout());
@@ -162,6 +187,21 @@ public class CustomPopup extends Popup
         // Do nothing here.
     }
 
+    /**
+     * dispose, This hides the popup (if it is open), and releases the display window. After this
+     * is called, the popup cannot be shown again. This is mainly needed for reusable popups, since
+     * a popup that is not reusable releases its display window when it is hidden.
+     */
+    public void dispose() {
+        hide();
+        if (displayWindow != null) {
+            displayWindow.dispose();
+            displayWindow = null;
+        }
+        topWindow = null;
+        optionalCustomPopupCloseListener = null;
+    }
+
     /**
      * getBounds, This returns the bounds of the CustomPopup displayWindow in the form of a
      * Rectangle object. The bounds specify this component's width, height, and location relative to
@@ -179,6 +219,20 @@ public class CustomPopup extends Popup
      */
     @Override
     public void hide() {
+        if (isReusable) {
+            // A reusable popup keeps its display window, top window, and close listener.
+            if (!listenersAreRegistered) {
+                return;
+            }
+            displayWindow.setVisible(false);
+            displayWindow.removeWindowFocusListener(this);
+            topWindow.removeComponentListener(this);
+            listenersAreRegistered = false;
+            if (optionalCustomPopupCloseListener != null) {
+                optionalCustomPopupCloseListener.zEventCustomPopupWasClosed(this);
+            }
+            return;
+        }
         if (displayWindow != null) {
             displayWindow.setVisible(false);
             displayWindow.removeWindowFocusListener(this);
@@ -188,12 +242,32 @@ public class CustomPopup extends Popup
             topWindow.removeComponentListener(this);
             topWindow = null;
         }
+        listenersAreRegistered = false;
         if (optionalCustomPopupCloseListener != null) {
             optionalCustomPopupCloseListener.zEventCustomPopupWasClosed(this);
             optionalCustomPopupCloseListener = null;
         }
     }
 
+    /**
+     * isReusableFor, This returns true if this is a reusable popup that can be shown again for the
+     * supplied top window and border. A popup can only be reused within the top window that was
+     * supplied to its constructor, because the top window is the owner of the display window.
+     */
+    public boolean isReusableFor(Window topWindow, Border optionalBorder) {
+        return isReusable && (displayWindow != null) && (this.topWindow == topWindow)
+                && (this.optionalBorder == optionalBorder);
+    }
+
+    /**
+     * pack, This resizes the display window to fit the preferred size of its contents. This can be
+     * used when the contents of a reusable popup have changed size.
+     */
+    public void pack() {
+        displayWindow.pack();
+        displayWindow.validate();
+    }
+
     /**
      * registerListeners, This function registers this class as a listener with the appropriate
      * components. De-registration is handled in the hide() function.
@@ -203,6 +277,7 @@ public class CustomPopup extends Popup
         displayWindow.addWindowFocusListener(this);
         // Register this class as a window movement listener with the top window.
         topWindow.addComponentListener(this);
+        listenersAreRegistered = true;
     }
 
     /**
@@ -213,10 +288,22 @@ public class CustomPopup extends Popup
     }
 
     /**
-     * show, This shows the visible component of the popup window.
+     * setReusable, This sets whether or not the popup can be shown again after it is hidden. See
+     * the class description for details. This should be set before the popup is first hidden.
+     */
+    public void setReusable(boolean isReusable) {
+        this.isReusable = isReusable;
+    }
+
+    /**
+     * show, This shows the visible component of the popup window. If this is a reusable popup that
+     * was previously hidden, then the listeners are registered again before it is shown.
      */
     @Override
     public void show() {
+        if (!listenersAreRegistered) {
+            registerListeners();
+        }
         displayWindow.setVisible(true);
     }
 
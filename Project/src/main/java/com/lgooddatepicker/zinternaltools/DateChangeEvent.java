@@ -21,17 +21,17 @@ public class DateChangeEvent {
     /**
      * source, This is the date picker that generated the event.
      */
-    private DatePicker source;
+    private final DatePicker source;
 
     /**
      * oldDate, This holds the value of the DatePicker date, before the date changed.
      */
-    private LocalDate oldDate;
+    private final LocalDate oldDate;
 
     /**
      * newDate, This holds the value of the DatePicker date, after the date changed.
      */
-    private LocalDate newDate;
+    private final LocalDate newDate;
 
     /**
      * getSource, Returns the date picker that generated the event.
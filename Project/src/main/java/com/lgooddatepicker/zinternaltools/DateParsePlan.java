@@ -0,0 +1,339 @@
+package com.lgooddatepicker.zinternaltools;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalField;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * DateParsePlan, This holds a compiled parsing plan for the date formatters of one DateInputEngine.
+ * The parse plan produces exactly the same results as InternalUtilities.getParsedDateOrNull(), but
+ * it avoids retrying formatters that can never read the typed text.
+ *
+ * The formatters of the plan are kept in the same fixed order that is used by the date picker:
+ * The formatForDatesCommonEra, the formatForDatesBeforeCommonEra, and then each of the
+ * formatsForParsing. The plan records which formatter last parsed a date successfully. That
+ * formatter is tried first, but only when the ambiguity check proves that every formatter which
+ * precedes it in the fixed order will reject the text. This guarantees that reordering can never
+ * change which date a string is parsed to.
+ *
+ * Ambiguity check: Whether or not a formatter can read a piece of text depends on the "shape" of
+ * the text, but it does not depend on the values of the digits in the text. The shape of the text
+ * is the text with every digit replaced by the digit 9. For each shape, the plan remembers the
+ * lowest formatter index that might accept text with that shape. All the formatters before that
+ * index are skipped without being tried. (Some locales use digits inside of their month names,
+ * weekday names, or era names. For example the Chinese month names are "1月" through "12月". For
+ * those locales, the value of the digits can change whether or not a formatter accepts the text,
+ * so the plan uses the full text instead of the shape.)
+ *
+ * The formatters of a plan never change. If the plan was created without a parsing formats list,
+ * then the default parsing formats of the locale are added to the end of the plan the first time
+ * that the era formatters cannot parse the text. The plan also exposes a hit counter for each
+ * formatter.
+ *
+ * A parse plan is owned by a date input engine, and it is shared by every thread that uses that
+ * engine. All the functions of this class are thread safe. When text is parsed by more than one
+ * thread at the same time, the remembered shapes and the last successful formatter only change the
+ * order in which the formatters are tried, so they can never change the parsed date.
+ */
+public class DateParsePlan {
+
+    /**
+     * maximumRememberedShapes, This is the maximum number of text shapes that will be remembered by
+     * the ambiguity check. When this number is reached, the remembered shapes are forgotten.
+     */
+    static private final int maximumRememberedShapes = 64;
+
+    /**
+     * localeTextContainsDigits, This remembers whether or not the date text (the month names,
+     * weekday names, and era names) of each locale contains any ascii digits.
+     */
+    static private final ConcurrentHashMap<Locale, Boolean> localeTextContainsDigits
+            = new ConcurrentHashMap<>();
+
+    /**
+     * compiled, This holds the current formatters of the plan, and the data that depends on them.
+     * This is replaced (once) when the default parsing formats are added to the plan.
+     */
+    private volatile CompiledFormatters compiled;
+
+    /**
+     * hitCounts, This holds the number of successful parses for each formatter of the plan. The
+     * indexes of this array match the indexes of the formatters.
+     */
+    private volatile AtomicLongArray hitCounts;
+
+    /**
+     * lastSuccessfulIndex, This holds the index of the formatter that most recently parsed a date
+     * successfully, or -1 if no formatter has succeeded since the plan was created.
+     */
+    private volatile int lastSuccessfulIndex = -1;
+
+    /**
+     * locale, This holds the locale that is used to check for nonexistent dates, and to generate
+     * the default parsing formats.
+     */
+    private final Locale locale;
+
+    /**
+     * Constructor, This creates a parse plan for the supplied formatters. The parsing formats list
+     * is copied. If the parsing formats list is null, then the default parsing formats of the
+     * locale are used, and those are only generated when they are first needed. This is intended to
+     * be called by the DateInputEngine class.
+     */
+    public DateParsePlan(DateTimeFormatter formatCE, DateTimeFormatter formatBCE,
+            List<DateTimeFormatter> formatsForParsing, Locale locale) {
+        this.locale = locale;
+        int parsingListSize = (formatsForParsing == null) ? 0 : formatsForParsing.size();
+        DateTimeFormatter[] formatters = new DateTimeFormatter[2 + parsingListSize];
+        formatters[0] = formatCE;
+        formatters[1] = formatBCE;
+        for (int i = 0; i < parsingListSize; ++i) {
+            formatters[2 + i] = formatsForParsing.get(i);
+        }
+        compiled = new CompiledFormatters(formatters, (formatsForParsing != null));
+        hitCounts = new AtomicLongArray(formatters.length);
+    }
+
+    /**
+     * getFormatter, This returns the formatter at the specified index of the plan. The indexes
+     * follow the fixed parsing order. See the class description for details.
+     */
+    public DateTimeFormatter getFormatter(int index) {
+        return compiled.formatters[index];
+    }
+
+    /**
+     * getFormatterCount, This returns the number of formatters in the plan. If the default parsing
+     * formats have not been needed yet, then only the two era formatters are counted.
+     */
+    public int getFormatterCount() {
+        return compiled.formatters.length;
+    }
+
+    /**
+     * getHitCount, This returns the number of dates that were successfully parsed by the formatter
+     * at the specified index, since the plan was created or reset.
+     */
+    public long getHitCount(int index) {
+        return hitCounts.get(index);
+    }
+
+    /**
+     * getLastSuccessfulIndex, This returns the index of the formatter that most recently parsed a
+     * date successfully. This returns -1 if no formatter has succeeded since the plan was created.
+     */
+    public int getLastSuccessfulIndex() {
+        return lastSuccessfulIndex;
+    }
+
+    /**
+     * getParsedDateOrNull, This takes text from the date picker text field, and tries to parse it
+     * into a java.time.LocalDate instance. If the text cannot be parsed, this will return null.
+     * The result is always identical to the result of InternalUtilities.getParsedDateOrNull(),
+     * when that function is called with the formatters and locale of the plan.
+     */
+    public LocalDate getParsedDateOrNull(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        text = text.trim().toLowerCase();
+        CompiledFormatters current = compiled;
+        LocalDate parsedDate = parseWithFormatters(text, current);
+        // The default parsing formats are only generated when the era formatters cannot parse the
+        // text. The era formatters are always tried first, so the result is the same as if the
+        // parsing formats had been generated in advance.
+        if ((parsedDate == null) && (!current.isComplete)) {
+            parsedDate = parseWithFormatters(text, addDefaultParsingFormats());
+        }
+        // Check for any "successfully" parsed but nonexistent dates like Feb 31.
+        if ((parsedDate != null)
+                && (!InternalUtilities.doesParsedDateMatchText(parsedDate, text, locale))) {
+            return null;
+        }
+        return parsedDate;
+    }
+
+    /**
+     * resetHitCounts, This sets all the hit counters of the plan to zero.
+     */
+    public synchronized void resetHitCounts() {
+        hitCounts = new AtomicLongArray(compiled.formatters.length);
+    }
+
+    /**
+     * addDefaultParsingFormats, This adds the default parsing formats of the locale to the end of
+     * the plan, if they have not been added already. The hit counts of the era formatters are kept.
+     * This returns the complete formatters.
+     */
+    private synchronized CompiledFormatters addDefaultParsingFormats() {
+        if (compiled.isComplete) {
+            return compiled;
+        }
+        DateTimeFormatter[] eraFormatters = compiled.formatters;
+        List<DateTimeFormatter> defaultFormats
+                = LocaleDefaults.getDateDefaults(locale).getFormatsForParsing();
+        DateTimeFormatter[] formatters
+                = new DateTimeFormatter[eraFormatters.length + defaultFormats.size()];
+        System.arraycopy(eraFormatters, 0, formatters, 0, eraFormatters.length);
+        for (int i = 0; i < defaultFormats.size(); ++i) {
+            formatters[eraFormatters.length + i] = defaultFormats.get(i);
+        }
+        AtomicLongArray oldHitCounts = hitCounts;
+        AtomicLongArray newHitCounts = new AtomicLongArray(formatters.length);
+        for (int i = 0; i < oldHitCounts.length(); ++i) {
+            newHitCounts.set(i, oldHitCounts.get(i));
+        }
+        hitCounts = newHitCounts;
+        compiled = new CompiledFormatters(formatters, true);
+        return compiled;
+    }
+
+    /**
+     * parseWithFormatters, This tries each of the supplied formatters in order, starting with the
+     * index that is suggested by the shape of the text. This returns the first parsed date, or
+     * null. The supplied text must already be trimmed and lowercase.
+     */
+    private LocalDate parseWithFormatters(String text, CompiledFormatters current) {
+        DateTimeFormatter[] formatters = current.formatters;
+        LocalDate parsedDate = null;
+        for (int i = getStartIndex(text, current);
+                ((parsedDate == null) && (i < formatters.length)); ++i) {
+            parsedDate = ParsingEngine.parseDateOrNull(text, formatters[i]);
+            if (parsedDate != null) {
+                AtomicLongArray counts = hitCounts;
+                if (i < counts.length()) {
+                    counts.incrementAndGet(i);
+                }
+                lastSuccessfulIndex = i;
+            }
+        }
+        return parsedDate;
+    }
+
+    /**
+     * doesLocaleTextContainDigits, This returns true if any of the month names, weekday names, or
+     * era names of the supplied locale contain an ascii digit. The result is remembered for each
+     * locale.
+     */
+    static private boolean doesLocaleTextContainDigits(Locale locale) {
+        return localeTextContainsDigits.computeIfAbsent(locale, (Locale key) -> {
+            TemporalField[] fields = new TemporalField[]{
+                ChronoField.MONTH_OF_YEAR, ChronoField.DAY_OF_WEEK, ChronoField.ERA};
+            for (TemporalField field : fields) {
+                for (long value = field.range().getMinimum();
+                        value <= field.range().getMaximum(); ++value) {
+                    for (TextStyle style : TextStyle.values()) {
+                        String text = new DateTimeFormatterBuilder()
+                                .appendText(field, style).toFormatter(key)
+                                .format(LocalDate.of(2000, 1, 1).with(field, value));
+                        for (int i = 0; i < text.length(); ++i) {
+                            if (text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * getStartIndex, This performs the ambiguity check for the supplied text. This returns the
+     * lowest formatter index that might be able to parse the text. Every formatter before the
+     * returned index is guaranteed to reject the text.
+     *
+     * The last successful formatter is returned as soon as all the formatters before it have been
+     * shown to reject the text. That formatter will then be tried first.
+     */
+    private int getStartIndex(String text, CompiledFormatters current) {
+        String shape = (current.digitsAreShapeSafe) ? getTextShape(text) : text;
+        Integer rememberedIndex = current.shapeStartIndexes.get(shape);
+        if (rememberedIndex != null) {
+            return rememberedIndex;
+        }
+        DateTimeFormatter[] formatters = current.formatters;
+        int successfulIndex = lastSuccessfulIndex;
+        int startIndex = 0;
+        while ((startIndex < formatters.length) && (startIndex != successfulIndex)
+                && (!ParsingEngine.isFullyAccepted(text, formatters[startIndex]))) {
+            ++startIndex;
+        }
+        if (current.shapeStartIndexes.size() >= maximumRememberedShapes) {
+            current.shapeStartIndexes.clear();
+        }
+        current.shapeStartIndexes.put(shape, startIndex);
+        return startIndex;
+    }
+
+    /**
+     * getTextShape, This returns the shape of the supplied text. The shape is the text with every
+     * ascii digit replaced by the digit 9. Only ascii digits are replaced, because those are the
+     * only digits that are read by the number parsers of the standard DateTimeFormatter styles.
+     */
+    static private String getTextShape(String text) {
+        char[] shape = text.toCharArray();
+        for (int i = 0; i < shape.length; ++i) {
+            if (shape[i] >= '0' && shape[i] <= '8') {
+                shape[i] = '9';
+            }
+        }
+        return new String(shape);
+    }
+
+    /**
+     * CompiledFormatters, This holds one fixed set of plan formatters, with the data that depends
+     * on those formatters. The remembered shapes are held here, because a remembered start index
+     * is only correct for the formatters that were used to calculate it.
+     */
+    static private class CompiledFormatters {
+
+        /**
+         * digitsAreShapeSafe, This indicates whether or not the digits in the text can be replaced
+         * when calculating the shape of the text. This is false if any formatter uses a locale
+         * with digits in its date text.
+         */
+        private final boolean digitsAreShapeSafe;
+
+        /**
+         * formatters, This holds the formatters, in the fixed parsing order.
+         */
+        private final DateTimeFormatter[] formatters;
+
+        /**
+         * isComplete, This is false if the default parsing formats still need to be added to the
+         * end of the formatters.
+         */
+        private final boolean isComplete;
+
+        /**
+         * shapeStartIndexes, This maps each remembered text shape to the lowest formatter index
+         * that might accept text with that shape.
+         */
+        private final ConcurrentHashMap<String, Integer> shapeStartIndexes
+                = new ConcurrentHashMap<>();
+
+        /**
+         * Constructor, This stores the supplied formatters, and checks whether the digits of the
+         * text can be replaced when calculating text shapes.
+         */
+        private CompiledFormatters(DateTimeFormatter[] formatters, boolean isComplete) {
+            this.formatters = formatters;
+            this.isComplete = isComplete;
+            boolean shapeSafe = true;
+            for (DateTimeFormatter formatter : formatters) {
+                if (formatter != null && doesLocaleTextContainDigits(formatter.getLocale())) {
+                    shapeSafe = false;
+                }
+            }
+            this.digitsAreShapeSafe = shapeSafe;
+        }
+    }
+}
@@ -11,8 +11,10 @@ import java.time.LocalTime;
  * DateTimeChangeEvent, An instance of this event class is passed to each registered
  * DateTimeChangeListener, whenever the date or the time in a DateTimePicker has changed.
  *
- * Note that this class will always contain either one dateChangeEvent, or one timeChangeEvent, but
- * never both events at the same time.
+ * Note that this class will always contain a dateChangeEvent, a timeChangeEvent, or both. Both
+ * events are included when the date and the time were changed together, such as by a call to
+ * DateTimePicker.setDateTime(), or when the DateTimePicker is coalescing its change events. In that
+ * case, getOldDateTime() and getNewDateTime() describe the whole change.
  */
 public class DateTimeChangeEvent {
 
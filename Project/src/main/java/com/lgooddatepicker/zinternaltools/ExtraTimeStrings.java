@@ -66,4 +66,20 @@ public class ExtraTimeStrings {
     public static DateTimeFormatter getDefaultFormatForMenuTimes(Locale locale) {
         return getDefaultFormatForDisplayTime(locale);
     }
+
+    /**
+     * getDefaultFormatForTimesWithSeconds, This returns the default format for displaying times
+     * that include seconds. This is used for the menu times and the display time when the menu
+     * times are generated with an increment that is not a whole number of minutes.
+     */
+    public static DateTimeFormatter getDefaultFormatForTimesWithSeconds(Locale locale) {
+        DateTimeFormatter format = new DateTimeFormatterBuilder().parseLenient().
+                parseCaseInsensitive().appendLocalized(null, FormatStyle.MEDIUM).toFormatter(locale);
+        String language = locale.getLanguage();
+        if ("en".equals(language)) {
+            format = new DateTimeFormatterBuilder().parseLenient().parseCaseInsensitive().
+                    appendPattern("h:mm:ssa").toFormatter(locale);
+        }
+        return format;
+    }
 }
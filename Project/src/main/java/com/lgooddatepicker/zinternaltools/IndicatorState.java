@@ -0,0 +1,14 @@
+package com.lgooddatepicker.zinternaltools;
+
+/**
+ * IndicatorState, This lists the text field indicator states that can be calculated from picker
+ * text and the picker settings. The "DisabledComponent" state is not included, because that state
+ * depends on the picker component instead of the text. The "PendingValue" state indicates a parsed
+ * value that is waiting for an answer from an asynchronous veto policy.
+ *
+ * This is used by the date and time input engines, and by the pickers. This does not depend on any
+ * Swing classes.
+ */
+public enum IndicatorState {
+    ValidFullOrEmptyValue, UnparsableValue, VetoedValue, DisallowedEmptyValue, PendingValue;
+}
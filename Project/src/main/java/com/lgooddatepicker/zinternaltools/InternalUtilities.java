@@ -2,15 +2,19 @@ package com.lgooddatepicker.zinternaltools;
 
 import java.awt.GridBagConstraints;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Properties;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import com.lgooddatepicker.optionalusertools.BulkDateHighlightPolicy;
+import com.lgooddatepicker.optionalusertools.BulkDateVetoPolicy;
+import com.lgooddatepicker.optionalusertools.DateHighlightPolicy;
 import com.lgooddatepicker.optionalusertools.DateVetoPolicy;
 import com.lgooddatepicker.optionalusertools.TimeVetoPolicy;
 import java.time.LocalTime;
@@ -22,6 +26,13 @@ import java.time.LocalTime;
  */
 public class InternalUtilities {
 
+    /**
+     * eraBCStrings, This holds the lowercase name of the BC era for each locale that has been
+     * used by the doesParsedDateMatchText() function.
+     */
+    private static final ConcurrentHashMap<Locale, String> eraBCStrings
+            = new ConcurrentHashMap<>();
+
     /**
      * doesParsedDateMatchText, This compares the numbers in a parsed date, to the original text
      * from which the date was parsed. Specifically this compares the day of the month and the year
@@ -35,42 +46,73 @@ public class InternalUtilities {
      * defined as those dates that are returned from the LocalDate class, when using the
      * localDate.plusDays(1) function. Invalid dates are defined as any of the following: The 31st
      * day of February, April, June, September, or November. The 30th day of February. Or the 29th
-     * day of February on any year that is not a leap year.
+     * day of February on any year that is not a leap year. The ysandbox.TestParsingMatchFunction
+     * class compares this function to the original (string based) version of the function.
+     *
+     * Implementation note: This function is called for each parsed date, which can mean several
+     * times for each keystroke. The digits are counted with a simple character loop, without any
+     * regular expressions or string building. The BC era name is cached for each locale.
      */
     static public boolean doesParsedDateMatchText(LocalDate parsedDate, String text,
             Locale formatLocale) {
         if (parsedDate == null || text == null) {
             return false;
         }
-        text = text.toLowerCase();
-        // This only matches numbers, and it does not include any hyphen "-".
-        Pattern pattern = Pattern.compile("\\d+");
-        Matcher matcher = pattern.matcher(text);
-        ArrayList<String> unsignedNumbersFound = new ArrayList<>();
-        while (matcher.find()) {
-            String foundString = matcher.group();
-            foundString = forceNumberStringToTwoDigits(foundString);
-            unsignedNumbersFound.add(foundString);
+        // Choose the year number that should be found in the text. BC years are one-based, while
+        // the ISO years that are used by LocalDate are zero-based.
+        int yearForText = parsedDate.getYear();
+        if (parsedDate.getYear() < 1
+                && text.toLowerCase().contains(getEraBCString(formatLocale))) {
+            yearForText = parsedDate.getYear() - 1;
+        }
+        // The numbers are compared using (at most) their last two digits, and without any sign.
+        int dayOfMonthLastTwoDigits = parsedDate.getDayOfMonth();
+        int yearLastTwoDigits = Math.abs(yearForText % 100);
+        // Count the unsigned numbers in the text that match the day of the month, or the year.
+        // This only reads ascii digits, and it does not include any hyphen "-".
+        int dayOfMonthMatches = 0;
+        int yearMatches = 0;
+        int index = 0;
+        int length = text.length();
+        while (index < length) {
+            char character = text.charAt(index);
+            if (character < '0' || character > '9') {
+                ++index;
+                continue;
+            }
+            int numberLastTwoDigits = 0;
+            while (index < length && (character = text.charAt(index)) >= '0' && character <= '9') {
+                numberLastTwoDigits = ((numberLastTwoDigits % 10) * 10) + (character - '0');
+                ++index;
+            }
+            if (numberLastTwoDigits == dayOfMonthLastTwoDigits) {
+                ++dayOfMonthMatches;
+            }
+            if (numberLastTwoDigits == yearLastTwoDigits) {
+                ++yearMatches;
+            }
+        }
+        // The day of the month uses up one matching number, before the year is matched.
+        boolean dayOfMonthFound = (dayOfMonthMatches > 0);
+        if (dayOfMonthFound && (dayOfMonthLastTwoDigits == yearLastTwoDigits)) {
+            --yearMatches;
         }
-        String parsedDayOfMonth = "" + parsedDate.getDayOfMonth();
-        parsedDayOfMonth = forceNumberStringToTwoDigits(parsedDayOfMonth);
-        boolean dayOfMonthFound = unsignedNumbersFound.remove(parsedDayOfMonth);
+        boolean yearFound = (yearMatches > 0);
+        return yearFound && dayOfMonthFound;
+    }
 
-        DateTimeFormatter formatBC = DateTimeFormatter.ofPattern("G", formatLocale);
-        String eraBCString = LocalDate.of(-100, 1, 1).format(formatBC).toLowerCase();
-        if (parsedDate.getYear() < 1 && text.contains(eraBCString)) {
-            String parsedYearForBC = "" + (parsedDate.getYear() - 1);
-            parsedYearForBC = parsedYearForBC.replace("-", "");
-            parsedYearForBC = forceNumberStringToTwoDigits(parsedYearForBC);
-            boolean yearFoundForBC = unsignedNumbersFound.remove(parsedYearForBC);
-            return yearFoundForBC && dayOfMonthFound;
-        } else {
-            String parsedYear = "" + parsedDate.getYear();
-            parsedYear = parsedYear.replace("-", "");
-            parsedYear = forceNumberStringToTwoDigits(parsedYear);
-            boolean yearFound = unsignedNumbersFound.remove(parsedYear);
-            return yearFound && dayOfMonthFound;
+    /**
+     * getEraBCString, This returns the lowercase name of the BC era in the specified locale. The
+     * era names are remembered for each locale, because this is called for each parsed date.
+     */
+    private static String getEraBCString(Locale formatLocale) {
+        String eraBCString = eraBCStrings.get(formatLocale);
+        if (eraBCString == null) {
+            DateTimeFormatter formatBC = DateTimeFormatter.ofPattern("G", formatLocale);
+            eraBCString = LocalDate.of(-100, 1, 1).format(formatBC).toLowerCase();
+            eraBCStrings.put(formatLocale, eraBCString);
         }
+        return eraBCString;
     }
 
     /**
@@ -87,22 +129,6 @@ public class InternalUtilities {
         }
     }
 
-    /**
-     * forceNumberStringToTwoDigits, This takes a string of digits, and forces it to be two digits
-     * long. First any extra leftmost digits are truncated, leaving only the right one digit or
-     * right two digits. If there is only one digit, it is zero padded to enforce a two digit string
-     * result. This function is used by the DatePickerUtilities.doesParsedDateMatchText() function.
-     */
-    private static String forceNumberStringToTwoDigits(String text) {
-        while (text.length() < 2) {
-            text = "0" + text;
-        }
-        if (text.length() > 2) {
-            text = text.substring(text.length() - 2, text.length());
-        }
-        return text;
-    }
-
     /**
      * generateDefaultFormatterCE, This returns a default formatter for the specified locale, that
      * can be used for displaying or parsing AD dates. The formatter is generated from the default
@@ -155,25 +181,13 @@ public class InternalUtilities {
             return null;
         }
         text = text.trim().toLowerCase();
-        LocalDate parsedDate = null;
+        // Note: The parsing engine does not use exceptions to report unparsable text.
+        LocalDate parsedDate = ParsingEngine.parseDateOrNull(text, displayFormatterAD);
         if (parsedDate == null) {
-            try {
-                parsedDate = LocalDate.parse(text, displayFormatterAD);
-            } catch (Exception ex) {
-            }
-        }
-        if (parsedDate == null) {
-            try {
-                // Note: each parse attempt must have its own try/catch block. 
-                parsedDate = LocalDate.parse(text, displayFormatterBC);
-            } catch (Exception ex) {
-            }
+            parsedDate = ParsingEngine.parseDateOrNull(text, displayFormatterBC);
         }
         for (int i = 0; ((parsedDate == null) && (i < parsingFormatters.size())); ++i) {
-            try {
-                parsedDate = LocalDate.parse(text, parsingFormatters.get(i));
-            } catch (Exception ex) {
-            }
+            parsedDate = ParsingEngine.parseDateOrNull(text, parsingFormatters.get(i));
         }
         // Check for any "successfully" parsed but nonexistent dates like Feb 31.
         // Note, this function has been thoroughly tested. See the function docs for details.
@@ -191,25 +205,13 @@ public class InternalUtilities {
             return null;
         }
         timeText = timeText.trim().toLowerCase();
-        LocalTime parsedTime = null;
+        // Note: The parsing engine does not use exceptions to report unparsable text.
+        LocalTime parsedTime = ParsingEngine.parseTimeOrNull(timeText, formatForDisplayTime);
         if (parsedTime == null) {
-            try {
-                parsedTime = LocalTime.parse(timeText, formatForDisplayTime);
-            } catch (Exception ex) {
-            }
-        }
-        if (parsedTime == null) {
-            try {
-                // Note: each parse attempt must have its own try/catch block. 
-                parsedTime = LocalTime.parse(timeText, formatForMenuTimes);
-            } catch (Exception ex) {
-            }
+            parsedTime = ParsingEngine.parseTimeOrNull(timeText, formatForMenuTimes);
         }
         for (int i = 0; ((parsedTime == null) && (i < formatsForParsing.size())); ++i) {
-            try {
-                parsedTime = LocalTime.parse(timeText, formatsForParsing.get(i));
-            } catch (Exception ex) {
-            }
+            parsedTime = ParsingEngine.parseTimeOrNull(timeText, formatsForParsing.get(i));
         }
         return parsedTime;
     }
@@ -238,15 +240,85 @@ public class InternalUtilities {
         return gc;
     }
 
+    /**
+     * getHighlightStringsOrNull, This returns the highlight strings of every day of the supplied
+     * month, in an array that is indexed by the zero based day of the month. This returns null if
+     * the policy is null, or if no day of the month is highlighted. The returned array should not
+     * be modified.
+     *
+     * If the policy implements BulkDateHighlightPolicy, then the whole month is retrieved with a
+     * single call. Otherwise the policy is called once for each day of the month.
+     */
+    static public String[] getHighlightStringsOrNull(
+            DateHighlightPolicy policy, YearMonth yearMonth) {
+        if (policy == null) {
+            return null;
+        }
+        int lengthOfMonth = yearMonth.lengthOfMonth();
+        if (policy instanceof BulkDateHighlightPolicy) {
+            String[] highlights
+                    = ((BulkDateHighlightPolicy) policy).getHighlightStringsOrNull(yearMonth);
+            if (highlights == null || highlights.length >= lengthOfMonth) {
+                return highlights;
+            }
+            // Extend a short array, so that every day of the month has an element.
+            return Arrays.copyOf(highlights, lengthOfMonth);
+        }
+        String[] highlights = null;
+        for (int day = 1; day <= lengthOfMonth; ++day) {
+            String highlight = policy.getHighlightStringOrNull(yearMonth.atDay(day));
+            if (highlight != null) {
+                if (highlights == null) {
+                    highlights = new String[lengthOfMonth];
+                }
+                highlights[day - 1] = highlight;
+            }
+        }
+        return highlights;
+    }
+
+    /**
+     * getVetoedDaysMask, This returns the vetoed days of the supplied month as a bit mask. Bit zero
+     * represents the first day of the month, and a set bit indicates a vetoed day. This returns
+     * zero if the policy is null. Any bits beyond the last day of the month are always cleared.
+     *
+     * If the policy implements BulkDateVetoPolicy, then the whole month is retrieved with a single
+     * call. Otherwise the policy is called once for each day of the month.
+     */
+    static public int getVetoedDaysMask(DateVetoPolicy policy, YearMonth yearMonth) {
+        if (policy == null) {
+            return 0;
+        }
+        int lengthOfMonth = yearMonth.lengthOfMonth();
+        if (policy instanceof BulkDateVetoPolicy) {
+            int mask = ((BulkDateVetoPolicy) policy).getVetoedDaysMask(yearMonth);
+            return mask & ((1 << lengthOfMonth) - 1);
+        }
+        int mask = 0;
+        for (int day = 1; day <= lengthOfMonth; ++day) {
+            if (!policy.isDateAllowed(yearMonth.atDay(day))) {
+                mask |= (1 << (day - 1));
+            }
+        }
+        return mask;
+    }
+
     /**
      * isDateVetoed, This is a convenience function for checking whether or not a particular date is
      * vetoed. Note that veto policies do not have any say about null dates, so this function always
      * returns false for null dates.
+     *
+     * If the policy implements BulkDateVetoPolicy, then the answer is taken from the vetoed days of
+     * the month that contains the date.
      */
     static public boolean isDateVetoed(DateVetoPolicy policy, LocalDate date) {
         if (policy == null || date == null) {
             return false;
         }
+        if (policy instanceof BulkDateVetoPolicy) {
+            int mask = ((BulkDateVetoPolicy) policy).getVetoedDaysMask(YearMonth.from(date));
+            return (mask & (1 << (date.getDayOfMonth() - 1))) != 0;
+        }
         return (!policy.isDateAllowed(date));
     }
 
@@ -0,0 +1,281 @@
+package com.lgooddatepicker.zinternaltools;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * LazyFormatterList, This is the default formatsForParsing list of the date picker settings and
+ * the time picker settings. The list behaves exactly like a normal ArrayList, but the default
+ * formatters are only added to the list the first time that the list is read or modified. Many
+ * pickers never parse typed text, so their parsing formats are never generated.
+ *
+ * The picker code can use isGenerated() to check whether the list still holds its (not yet
+ * generated) default contents, without generating them. Like the settings that own it, this class
+ * is not thread safe.
+ */
+public class LazyFormatterList extends ArrayList<DateTimeFormatter> {
+
+    /**
+     * serialVersionUID, This is the serialization version of this class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * defaultFormats, This supplies the default formatters of the list. This is set to null after
+     * the default formatters have been added to the list.
+     */
+    private transient Supplier<List<DateTimeFormatter>> defaultFormats;
+
+    /**
+     * Constructor, This creates a list that will hold the formatters of the supplied default
+     * formats, once the list is first used.
+     */
+    public LazyFormatterList(Supplier<List<DateTimeFormatter>> defaultFormats) {
+        this.defaultFormats = defaultFormats;
+    }
+
+    /**
+     * generateIfNeeded, This adds the default formatters to the list, if they have not been added
+     * already.
+     */
+    public void generateIfNeeded() {
+        if (defaultFormats != null) {
+            Supplier<List<DateTimeFormatter>> formats = defaultFormats;
+            defaultFormats = null;
+            super.addAll(formats.get());
+        }
+    }
+
+    /**
+     * isGenerated, This returns true if the default formatters of the list have been generated.
+     * If this returns false, then the list still holds the default formats of its locale.
+     */
+    public boolean isGenerated() {
+        return (defaultFormats == null);
+    }
+
+    /**
+     * isGenerated, This returns false if the supplied list is a LazyFormatterList whose default
+     * formatters have not been generated yet. Otherwise this returns true. This never generates
+     * the formatters.
+     */
+    static public boolean isGenerated(List<DateTimeFormatter> list) {
+        return !(list instanceof LazyFormatterList) || ((LazyFormatterList) list).isGenerated();
+    }
+
+    /**
+     * writeReplace, This serializes the list as a normal ArrayList, with all of its formatters.
+     */
+    private Object writeReplace() {
+        return new ArrayList<>(this);
+    }
+
+    // Every public ArrayList method generates the default formatters before it is used.
+    @Override
+    public void trimToSize() {
+        generateIfNeeded();
+        super.trimToSize();
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        generateIfNeeded();
+        super.ensureCapacity(minCapacity);
+    }
+
+    @Override
+    public int size() {
+        generateIfNeeded();
+        return super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        generateIfNeeded();
+        return super.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        generateIfNeeded();
+        return super.contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        generateIfNeeded();
+        return super.indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        generateIfNeeded();
+        return super.lastIndexOf(o);
+    }
+
+    @Override
+    public Object clone() {
+        generateIfNeeded();
+        return super.clone();
+    }
+
+    @Override
+    public Object[] toArray() {
+        generateIfNeeded();
+        return super.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        generateIfNeeded();
+        return super.toArray(a);
+    }
+
+    @Override
+    public DateTimeFormatter get(int index) {
+        generateIfNeeded();
+        return super.get(index);
+    }
+
+    @Override
+    public DateTimeFormatter set(int index, DateTimeFormatter element) {
+        generateIfNeeded();
+        return super.set(index, element);
+    }
+
+    @Override
+    public boolean add(DateTimeFormatter e) {
+        generateIfNeeded();
+        return super.add(e);
+    }
+
+    @Override
+    public void add(int index, DateTimeFormatter element) {
+        generateIfNeeded();
+        super.add(index, element);
+    }
+
+    @Override
+    public DateTimeFormatter remove(int index) {
+        generateIfNeeded();
+        return super.remove(index);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        generateIfNeeded();
+        return super.remove(o);
+    }
+
+    @Override
+    public void clear() {
+        generateIfNeeded();
+        super.clear();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends DateTimeFormatter> c) {
+        generateIfNeeded();
+        return super.addAll(c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends DateTimeFormatter> c) {
+        generateIfNeeded();
+        return super.addAll(index, c);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        generateIfNeeded();
+        return super.removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        generateIfNeeded();
+        return super.retainAll(c);
+    }
+
+    @Override
+    public ListIterator<DateTimeFormatter> listIterator(int index) {
+        generateIfNeeded();
+        return super.listIterator(index);
+    }
+
+    @Override
+    public ListIterator<DateTimeFormatter> listIterator() {
+        generateIfNeeded();
+        return super.listIterator();
+    }
+
+    @Override
+    public Iterator<DateTimeFormatter> iterator() {
+        generateIfNeeded();
+        return super.iterator();
+    }
+
+    @Override
+    public List<DateTimeFormatter> subList(int fromIndex, int toIndex) {
+        generateIfNeeded();
+        return super.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public void forEach(Consumer<? super DateTimeFormatter> action) {
+        generateIfNeeded();
+        super.forEach(action);
+    }
+
+    @Override
+    public Spliterator<DateTimeFormatter> spliterator() {
+        generateIfNeeded();
+        return super.spliterator();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super DateTimeFormatter> filter) {
+        generateIfNeeded();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<DateTimeFormatter> operator) {
+        generateIfNeeded();
+        super.replaceAll(operator);
+    }
+
+    @Override
+    public void sort(Comparator<? super DateTimeFormatter> c) {
+        generateIfNeeded();
+        super.sort(c);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        generateIfNeeded();
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        generateIfNeeded();
+        return super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        generateIfNeeded();
+        return super.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.lgooddatepicker.zinternaltools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * ListenerRegistry, This holds the registered change listeners of a picker, as an array snapshot
+ * that is copied whenever a listener is added or removed (copy on write). The pickers use this
+ * class to store their date change, time change, and date time change listeners.
+ *
+ * Dispatching an event only reads the current snapshot array, and loops over that array without
+ * creating an iterator. Because a snapshot array is never modified after it is published, a
+ * listener may add or remove listeners (including itself) while an event is being dispatched. The
+ * change takes effect with the next event. Listeners may be added and removed from any thread.
+ */
+public final class ListenerRegistry<L> {
+
+    /**
+     * listeners, This holds the current snapshot of the registered listeners. A new array is
+     * created by each change, so a snapshot array is never modified after it is published.
+     */
+    private volatile L[] listeners;
+
+    /**
+     * Constructor, This creates an empty registry. The supplied empty array is used as the initial
+     * snapshot, and it is used to create the arrays of the correct listener type.
+     */
+    public ListenerRegistry(L[] emptyArray) {
+        this.listeners = Arrays.copyOf(emptyArray, 0);
+    }
+
+    /**
+     * add, This registers the supplied listener. A listener that is added more than once is
+     * notified once for each time that it was added. Null listeners are ignored.
+     */
+    public synchronized void add(L listener) {
+        if (listener == null) {
+            return;
+        }
+        L[] current = listeners;
+        L[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * getListeners, This returns the current snapshot of the registered listeners, for dispatching
+     * an event. The returned array must not be modified.
+     */
+    public L[] getListeners() {
+        return listeners;
+    }
+
+    /**
+     * isEmpty, This returns true if no listeners are registered.
+     */
+    public boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    /**
+     * remove, This removes the first registration of the supplied listener, if it is registered.
+     */
+    public synchronized void remove(L listener) {
+        L[] current = listeners;
+        for (int index = 0; index < current.length; ++index) {
+            if (current[index].equals(listener)) {
+                L[] updated = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * toArrayList, This returns a new ArrayList that contains the registered listeners.
+     */
+    public ArrayList<L> toArrayList() {
+        return new ArrayList<>(Arrays.asList(listeners));
+    }
+}
@@ -0,0 +1,284 @@
+package com.lgooddatepicker.zinternaltools;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LocaleDefaults, This class holds a process wide cache of the default date and time values that
+ * are generated for each locale. These values are used by the DatePickerSettings and
+ * TimePickerSettings constructors, and by the date and time input engines. This class does not use
+ * any Swing classes, so it can be used by the input engines on a server.
+ *
+ * Only immutable values are stored in this cache. (Such as DateTimeFormatter instances and
+ * Strings.) Any mutable values, such as the month name arrays and the formatter lists, are stored
+ * as private data, and each caller receives its own copy.
+ *
+ * The default values for each locale are generated the first time that the locale is used. The
+ * default formatters that are not needed by a settings constructor are only generated the first
+ * time that they are requested. All the functions of this class are thread safe.
+ */
+public class LocaleDefaults {
+
+    /**
+     * dateDefaultsByLocale, This holds the date picker default values for each locale.
+     */
+    static private final ConcurrentHashMap<Locale, DateDefaults> dateDefaultsByLocale
+            = new ConcurrentHashMap<>();
+
+    /**
+     * timeDefaultsByLocale, This holds the time picker default values for each locale.
+     */
+    static private final ConcurrentHashMap<Locale, TimeDefaults> timeDefaultsByLocale
+            = new ConcurrentHashMap<>();
+
+    /**
+     * getDateDefaults, This returns the date picker default values for the specified locale. The
+     * default values are generated the first time that each locale is requested.
+     */
+    static public DateDefaults getDateDefaults(Locale locale) {
+        return dateDefaultsByLocale.computeIfAbsent(locale, DateDefaults::new);
+    }
+
+    /**
+     * getTimeDefaults, This returns the time picker default values for the specified locale. The
+     * default values are generated the first time that each locale is requested.
+     */
+    static public TimeDefaults getTimeDefaults(Locale locale) {
+        return timeDefaultsByLocale.computeIfAbsent(locale, TimeDefaults::new);
+    }
+
+    /**
+     * DateDefaults, This holds the immutable date picker default values for one locale.
+     */
+    static public class DateDefaults {
+
+        /**
+         * formatForDatesBeforeCommonEra, This is the default format for BCE dates. This is
+         * generated the first time that it is requested.
+         */
+        private DateTimeFormatter formatForDatesBeforeCommonEra = null;
+
+        /**
+         * formatForDatesCommonEra, This is the default format for CE dates. This is generated the
+         * first time that it is requested.
+         */
+        private DateTimeFormatter formatForDatesCommonEra = null;
+
+        /**
+         * formatForTodayButton, This is the default format for the today button.
+         */
+        public final DateTimeFormatter formatForTodayButton;
+
+        /**
+         * formatsForParsing, This holds the default parsing formats, in an unmodifiable list. This
+         * is generated the first time that it is requested.
+         */
+        private List<DateTimeFormatter> formatsForParsing = null;
+
+        /**
+         * locale, This is the locale of these default values.
+         */
+        private final Locale locale;
+
+        /**
+         * monthNames, This holds the default month names.
+         */
+        private final String[] monthNames;
+
+        /**
+         * shortMonthNames, This holds the default short month names.
+         */
+        private final String[] shortMonthNames;
+
+        /**
+         * translationClear, This is the default translation for the "Clear" button.
+         */
+        public final String translationClear;
+
+        /**
+         * translationToday, This is the default translation for the "Today" button.
+         */
+        public final String translationToday;
+
+        /**
+         * Constructor, This generates the date picker default values for the specified locale.
+         */
+        private DateDefaults(Locale locale) {
+            this.locale = locale;
+            translationToday = TranslationSource.getTranslation(locale, "today", "Today");
+            translationClear = TranslationSource.getTranslation(locale, "clear", "Clear");
+            monthNames = ExtraDateStrings.getDefaultMonthNamesForLocale(locale);
+            shortMonthNames = ExtraDateStrings.getDefaultShortMonthNamesForLocale(locale);
+            formatForTodayButton = DateTimeFormatter.ofLocalizedDate(
+                    FormatStyle.MEDIUM).withLocale(locale);
+        }
+
+        /**
+         * getFormatForDatesBeforeCommonEra, This returns the default format for BCE dates.
+         */
+        public synchronized DateTimeFormatter getFormatForDatesBeforeCommonEra() {
+            if (formatForDatesBeforeCommonEra == null) {
+                formatForDatesBeforeCommonEra
+                        = InternalUtilities.generateDefaultFormatterBCE(locale);
+            }
+            return formatForDatesBeforeCommonEra;
+        }
+
+        /**
+         * getFormatForDatesCommonEra, This returns the default format for CE dates.
+         */
+        public synchronized DateTimeFormatter getFormatForDatesCommonEra() {
+            if (formatForDatesCommonEra == null) {
+                formatForDatesCommonEra = InternalUtilities.generateDefaultFormatterCE(locale);
+            }
+            return formatForDatesCommonEra;
+        }
+
+        /**
+         * getFormatsForParsing, This returns a new (modifiable) list that contains the default
+         * parsing formats.
+         */
+        public ArrayList<DateTimeFormatter> getFormatsForParsing() {
+            synchronized (this) {
+                if (formatsForParsing == null) {
+                    // Create a set of default parsing formatters, from short to long, followed by
+                    // any common extra parsing formats for the locale.
+                    FormatStyle[] allFormatStyles = new FormatStyle[]{
+                        FormatStyle.SHORT, FormatStyle.MEDIUM, FormatStyle.LONG, FormatStyle.FULL};
+                    ArrayList<DateTimeFormatter> parsingFormats = new ArrayList<>();
+                    for (FormatStyle formatStyle : allFormatStyles) {
+                        parsingFormats.add(new DateTimeFormatterBuilder().parseLenient()
+                                .parseCaseInsensitive().appendLocalized(formatStyle, null)
+                                .toFormatter(locale));
+                    }
+                    parsingFormats.addAll(ExtraDateStrings.getExtraParsingFormatsForLocale(locale));
+                    formatsForParsing = Collections.unmodifiableList(parsingFormats);
+                }
+            }
+            return new ArrayList<>(formatsForParsing);
+        }
+
+        /**
+         * getMonthNames, This returns a new array that contains the default month names.
+         */
+        public String[] getMonthNames() {
+            return monthNames.clone();
+        }
+
+        /**
+         * getShortMonthNames, This returns a new array that contains the default short month
+         * names.
+         */
+        public String[] getShortMonthNames() {
+            return shortMonthNames.clone();
+        }
+    }
+
+    /**
+     * TimeDefaults, This holds the immutable time picker default values for one locale.
+     */
+    static public class TimeDefaults {
+
+        /**
+         * formatForDisplayTime, This is the default format for displaying the time. This is
+         * generated the first time that it is requested.
+         */
+        private DateTimeFormatter formatForDisplayTime = null;
+
+        /**
+         * formatForMenuTimes, This is the default format for the menu times. This is generated
+         * the first time that it is requested.
+         */
+        private DateTimeFormatter formatForMenuTimes = null;
+
+        /**
+         * formatForTimesWithSeconds, This is the default format for times that include seconds.
+         * This is generated the first time that it is requested.
+         */
+        private DateTimeFormatter formatForTimesWithSeconds = null;
+
+        /**
+         * formatsForParsing, This holds the default parsing formats, in an unmodifiable list. This
+         * is generated the first time that it is requested.
+         */
+        private List<DateTimeFormatter> formatsForParsing = null;
+
+        /**
+         * locale, This is the locale of these default values.
+         */
+        private final Locale locale;
+
+        /**
+         * Constructor, This creates the time picker default values for the specified locale. The
+         * values themselves are generated the first time that they are requested.
+         */
+        private TimeDefaults(Locale locale) {
+            this.locale = locale;
+        }
+
+        /**
+         * getFormatForDisplayTime, This returns the default format for displaying the time.
+         */
+        public synchronized DateTimeFormatter getFormatForDisplayTime() {
+            if (formatForDisplayTime == null) {
+                formatForDisplayTime = ExtraTimeStrings.getDefaultFormatForDisplayTime(locale);
+            }
+            return formatForDisplayTime;
+        }
+
+        /**
+         * getFormatForMenuTimes, This returns the default format for the menu times.
+         */
+        public synchronized DateTimeFormatter getFormatForMenuTimes() {
+            if (formatForMenuTimes == null) {
+                formatForMenuTimes = ExtraTimeStrings.getDefaultFormatForMenuTimes(locale);
+            }
+            return formatForMenuTimes;
+        }
+
+        /**
+         * getFormatForTimesWithSeconds, This returns the default format for times that include
+         * seconds.
+         */
+        public synchronized DateTimeFormatter getFormatForTimesWithSeconds() {
+            if (formatForTimesWithSeconds == null) {
+                formatForTimesWithSeconds
+                        = ExtraTimeStrings.getDefaultFormatForTimesWithSeconds(locale);
+            }
+            return formatForTimesWithSeconds;
+        }
+
+        /**
+         * getFormatsForParsing, This returns a new (modifiable) list that contains the default
+         * parsing formats.
+         */
+        public ArrayList<DateTimeFormatter> getFormatsForParsing() {
+            synchronized (this) {
+                if (formatsForParsing == null) {
+                    // Create a set of default parsing formatters, starting with the ISO format,
+                    // then from short to long, followed by any common extra parsing formats for
+                    // the locale.
+                    FormatStyle[] allFormatStyles = new FormatStyle[]{
+                        FormatStyle.SHORT, FormatStyle.MEDIUM, FormatStyle.LONG, FormatStyle.FULL};
+                    ArrayList<DateTimeFormatter> parsingFormats = new ArrayList<>();
+                    parsingFormats.add(DateTimeFormatter.ISO_LOCAL_TIME);
+                    for (FormatStyle formatStyle : allFormatStyles) {
+                        parsingFormats.add(new DateTimeFormatterBuilder().parseLenient()
+                                .parseCaseInsensitive().appendLocalized(null, formatStyle)
+                                .toFormatter(locale));
+                    }
+                    parsingFormats.addAll(
+                            ExtraTimeStrings.getExtraTimeParsingFormatsForLocale(locale));
+                    formatsForParsing = Collections.unmodifiableList(parsingFormats);
+                }
+            }
+            return new ArrayList<>(formatsForParsing);
+        }
+    }
+}
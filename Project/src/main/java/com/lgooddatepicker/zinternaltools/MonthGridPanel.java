@@ -0,0 +1,597 @@
+package com.lgooddatepicker.zinternaltools;
+
+import java.awt.Color;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.FocusListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import javax.accessibility.Accessible;
+import javax.accessibility.AccessibleAction;
+import javax.accessibility.AccessibleComponent;
+import javax.accessibility.AccessibleContext;
+import javax.accessibility.AccessibleRole;
+import javax.accessibility.AccessibleState;
+import javax.accessibility.AccessibleStateSet;
+import javax.swing.JPanel;
+import javax.swing.ToolTipManager;
+import javax.swing.UIManager;
+import javax.swing.border.Border;
+
+/**
+ * MonthGridPanel, This is a single component that displays the 42 date cells of a calendar panel.
+ * This can be used by the CalendarPanel class instead of the 42 date labels. The choice between
+ * the date labels and this component is made with DatePickerSettings.useCustomPaintedDateGrid.
+ *
+ * All the date cells are painted in a single paintComponent() pass. The cells are laid out in 6
+ * rows and 7 columns, in the same way that a GridLayout would lay out the date labels. Mouse
+ * clicks and tooltips are resolved by calculating which cell is under the mouse, so no child
+ * components or per cell listeners are needed. For screen readers, the component exposes one
+ * accessible child for each cell.
+ *
+ * The state of each cell (text, background color, border, enabled state, and tooltip text) is
+ * supplied by the calendar panel whenever the calendar is drawn. Only the cells that have changed
+ * are repainted.
+ */
+public class MonthGridPanel extends JPanel {
+
+    /**
+     * serialVersionUID, This is the serialization version of this class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * cellCount, This is the number of cells in the grid.
+     */
+    static private final int cellCount = 42;
+
+    /**
+     * columnCount, This is the number of columns in the grid.
+     */
+    static private final int columnCount = 7;
+
+    /**
+     * rowCount, This is the number of rows in the grid.
+     */
+    static private final int rowCount = 6;
+
+    /**
+     * cellBackgrounds, This holds the background color of each cell.
+     */
+    private Color[] cellBackgrounds = new Color[cellCount];
+
+    /**
+     * cellBorders, This holds the border of each cell, or null if a cell has no border.
+     */
+    private Border[] cellBorders = new Border[cellCount];
+
+    /**
+     * cellEnabledStates, This holds the enabled state of each cell. Disabled cells are painted
+     * with the disabled label text color.
+     */
+    private boolean[] cellEnabledStates = new boolean[cellCount];
+
+    /**
+     * cellTexts, This holds the text of each cell. Cells that do not hold a date have empty text.
+     */
+    private String[] cellTexts = new String[cellCount];
+
+    /**
+     * cellToolTips, This holds the tooltip text of each cell, or null if a cell has no tooltip.
+     */
+    private String[] cellToolTips = new String[cellCount];
+
+    /**
+     * parentCalendar, This holds a reference to the calendar panel that contains this grid. This
+     * will be null after the calendar panel has been closed.
+     */
+    private CalendarPanel parentCalendar;
+
+    /**
+     * Constructor, This creates a month grid for the supplied calendar panel. All the cells start
+     * empty, with a white background.
+     */
+    public MonthGridPanel(CalendarPanel parentCalendar) {
+        this.parentCalendar = parentCalendar;
+        Arrays.fill(cellTexts, "");
+        Arrays.fill(cellBackgrounds, Color.white);
+        Arrays.fill(cellEnabledStates, true);
+        setOpaque(true);
+        setBackground(Color.white);
+        setForeground(Color.black);
+        Font labelFont = UIManager.getFont("Label.font");
+        if (labelFont != null) {
+            setFont(labelFont);
+        }
+        // The tooltip manager will call getToolTipText(MouseEvent) for each mouse position.
+        ToolTipManager.sharedInstance().registerComponent(this);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = getCellIndexAt(e.getPoint());
+                if (index >= 0) {
+                    cellClicked(index);
+                }
+            }
+        });
+    }
+
+    /**
+     * clearParent, This removes the reference to the parent calendar panel. This is called when
+     * the calendar panel is closed.
+     */
+    public void clearParent() {
+        parentCalendar = null;
+    }
+
+    /**
+     * getAccessibleContext, This returns the accessible context of the grid. The accessible context
+     * exposes one accessible child for each cell.
+     */
+    @Override
+    public AccessibleContext getAccessibleContext() {
+        if (accessibleContext == null) {
+            accessibleContext = new AccessibleMonthGrid();
+        }
+        return accessibleContext;
+    }
+
+    /**
+     * getCellBounds, This returns the bounds of the cell at the specified index, relative to this
+     * component. The cells are sized in the same way as a GridLayout with 6 rows and 7 columns.
+     * Any extra pixels that do not divide evenly are split between the edges of the grid.
+     */
+    public Rectangle getCellBounds(int index) {
+        Insets insets = getInsets();
+        int usableWidth = getWidth() - insets.left - insets.right;
+        int usableHeight = getHeight() - insets.top - insets.bottom;
+        int cellWidth = usableWidth / columnCount;
+        int cellHeight = usableHeight / rowCount;
+        int startX = insets.left + ((usableWidth - (cellWidth * columnCount)) / 2);
+        int startY = insets.top + ((usableHeight - (cellHeight * rowCount)) / 2);
+        int column = index % columnCount;
+        int row = index / columnCount;
+        return new Rectangle(startX + (column * cellWidth), startY + (row * cellHeight),
+                cellWidth, cellHeight);
+    }
+
+    /**
+     * getCellIndexAt, This returns the index of the cell at the specified point, or -1 if the
+     * point is not inside any cell. This is calculated arithmetically from the cell sizes.
+     */
+    public int getCellIndexAt(Point point) {
+        Rectangle first = getCellBounds(0);
+        if (first.width <= 0 || first.height <= 0) {
+            return -1;
+        }
+        int relativeX = point.x - first.x;
+        int relativeY = point.y - first.y;
+        if (relativeX < 0 || relativeY < 0) {
+            return -1;
+        }
+        int column = relativeX / first.width;
+        int row = relativeY / first.height;
+        if (column >= columnCount || row >= rowCount) {
+            return -1;
+        }
+        return (row * columnCount) + column;
+    }
+
+    /**
+     * getCellText, This returns the text of the cell at the specified index.
+     */
+    public String getCellText(int index) {
+        return cellTexts[index];
+    }
+
+    /**
+     * getPreferredSize, This returns the preferred size of the grid. This is calculated in the same
+     * way as the grid layout of date labels that the month grid replaces. Each cell is as large as
+     * the largest cell text plus the insets of its border, and the grid is 7 cells wide and 6 cells
+     * tall.
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        FontMetrics metrics = getFontMetrics(getFont());
+        int cellWidth = 0;
+        int cellHeight = 0;
+        for (int index = 0; index < cellCount; ++index) {
+            String text = cellTexts[index];
+            boolean hasText = (text != null && !text.isEmpty());
+            int width = (hasText) ? metrics.stringWidth(text) : 0;
+            int height = (hasText) ? metrics.getHeight() : 0;
+            Border border = cellBorders[index];
+            if (border != null) {
+                Insets borderInsets = border.getBorderInsets(this);
+                width += borderInsets.left + borderInsets.right;
+                height += borderInsets.top + borderInsets.bottom;
+            }
+            cellWidth = Math.max(cellWidth, width);
+            cellHeight = Math.max(cellHeight, height);
+        }
+        Insets insets = getInsets();
+        return new Dimension((cellWidth * columnCount) + insets.left + insets.right,
+                (cellHeight * rowCount) + insets.top + insets.bottom);
+    }
+
+    /**
+     * getToolTipText, This returns the tooltip text of the cell under the mouse, or null if that
+     * cell has no tooltip text.
+     */
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int index = getCellIndexAt(event.getPoint());
+        return (index < 0) ? null : cellToolTips[index];
+    }
+
+    /**
+     * setCellState, This sets the state of the cell at the specified index. If the state has
+     * changed, then only the area of that cell is repainted. If the text or the border has changed,
+     * then the grid is also revalidated, because the preferred size may have changed.
+     */
+    public void setCellState(int index, String text, Color background, Border border,
+            boolean enabled, String toolTipText) {
+        if (Objects.equals(cellTexts[index], text)
+                && Objects.equals(cellBackgrounds[index], background)
+                && cellBorders[index] == border && cellEnabledStates[index] == enabled
+                && Objects.equals(cellToolTips[index], toolTipText)) {
+            return;
+        }
+        boolean sizeMayChange = !Objects.equals(cellTexts[index], text)
+                || cellBorders[index] != border;
+        cellTexts[index] = text;
+        cellBackgrounds[index] = background;
+        cellBorders[index] = border;
+        cellEnabledStates[index] = enabled;
+        cellToolTips[index] = toolTipText;
+        if (sizeMayChange) {
+            revalidate();
+        }
+        repaint(getCellBounds(index));
+    }
+
+    /**
+     * paintComponent, This paints all the cells of the grid. Cells that do not intersect the clip
+     * area are skipped.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Rectangle clip = g.getClipBounds();
+        g.setFont(getFont());
+        FontMetrics metrics = g.getFontMetrics();
+        Color disabledForeground = UIManager.getColor("Label.disabledForeground");
+        if (disabledForeground == null) {
+            disabledForeground = Color.gray;
+        }
+        for (int index = 0; index < cellCount; ++index) {
+            Rectangle cell = getCellBounds(index);
+            if (clip != null && !clip.intersects(cell)) {
+                continue;
+            }
+            if (cellBackgrounds[index] != null) {
+                g.setColor(cellBackgrounds[index]);
+                g.fillRect(cell.x, cell.y, cell.width, cell.height);
+            }
+            if (cellBorders[index] != null) {
+                cellBorders[index].paintBorder(this, g, cell.x, cell.y, cell.width, cell.height);
+            }
+            String text = cellTexts[index];
+            if (text != null && !text.isEmpty()) {
+                int textX = cell.x + ((cell.width - metrics.stringWidth(text)) / 2);
+                int textY = cell.y + ((cell.height - metrics.getHeight()) / 2)
+                        + metrics.getAscent();
+                g.setColor(cellEnabledStates[index] ? getForeground() : disabledForeground);
+                g.drawString(text, textX, textY);
+            }
+        }
+    }
+
+    /**
+     * cellClicked, This is called when a cell has been clicked, or when the click action of an
+     * accessible cell has been performed. Cells that do not hold a date are ignored.
+     */
+    private void cellClicked(int index) {
+        String text = cellTexts[index];
+        if (parentCalendar == null || text == null || text.isEmpty()) {
+            return;
+        }
+        parentCalendar.zEventDateCellClicked(Integer.parseInt(text));
+    }
+
+    /**
+     * AccessibleMonthGrid, This is the accessible context of the month grid. This exposes one
+     * accessible child for each cell of the grid.
+     */
+    private class AccessibleMonthGrid extends AccessibleJPanel {
+
+        /**
+         * serialVersionUID, This is the serialization version of this class.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * cells, This holds the accessible cells. These are created the first time that they are
+         * requested.
+         */
+        private AccessibleCell[] cells = null;
+
+        @Override
+        public AccessibleRole getAccessibleRole() {
+            return AccessibleRole.TABLE;
+        }
+
+        @Override
+        public int getAccessibleChildrenCount() {
+            return cellCount;
+        }
+
+        @Override
+        public Accessible getAccessibleChild(int i) {
+            if (i < 0 || i >= cellCount) {
+                return null;
+            }
+            if (cells == null) {
+                cells = new AccessibleCell[cellCount];
+                for (int index = 0; index < cellCount; ++index) {
+                    cells[index] = new AccessibleCell(index);
+                }
+            }
+            return cells[i];
+        }
+
+        @Override
+        public Accessible getAccessibleAt(Point p) {
+            int index = getCellIndexAt(p);
+            return (index < 0) ? null : getAccessibleChild(index);
+        }
+    }
+
+    /**
+     * AccessibleCell, This is the accessible representation of one cell of the month grid. The
+     * accessible name is the text of the cell, and the accessible description is the tooltip text
+     * of the cell. The single accessible action selects the date of the cell.
+     */
+    private class AccessibleCell extends AccessibleContext
+            implements Accessible, AccessibleComponent, AccessibleAction {
+
+        /**
+         * index, This is the index of the cell in the grid.
+         */
+        private final int index;
+
+        /**
+         * Constructor, This creates the accessible representation of the cell at the specified
+         * index.
+         */
+        private AccessibleCell(int index) {
+            this.index = index;
+            setAccessibleParent(MonthGridPanel.this);
+        }
+
+        @Override
+        public AccessibleContext getAccessibleContext() {
+            return this;
+        }
+
+        @Override
+        public String getAccessibleName() {
+            return (accessibleName != null) ? accessibleName : cellTexts[index];
+        }
+
+        @Override
+        public String getAccessibleDescription() {
+            return (accessibleDescription != null) ? accessibleDescription : cellToolTips[index];
+        }
+
+        @Override
+        public AccessibleRole getAccessibleRole() {
+            return AccessibleRole.PUSH_BUTTON;
+        }
+
+        @Override
+        public AccessibleStateSet getAccessibleStateSet() {
+            AccessibleStateSet states = new AccessibleStateSet();
+            if (cellEnabledStates[index]) {
+                states.add(AccessibleState.ENABLED);
+            }
+            if (isShowing()) {
+                states.add(AccessibleState.SHOWING);
+            }
+            if (isVisible()) {
+                states.add(AccessibleState.VISIBLE);
+            }
+            if (cellEnabledStates[index] && cellBorders[index] != null) {
+                states.add(AccessibleState.SELECTED);
+            }
+            return states;
+        }
+
+        @Override
+        public int getAccessibleIndexInParent() {
+            return index;
+        }
+
+        @Override
+        public int getAccessibleChildrenCount() {
+            return 0;
+        }
+
+        @Override
+        public Accessible getAccessibleChild(int i) {
+            return null;
+        }
+
+        @Override
+        public Locale getLocale() {
+            return MonthGridPanel.this.getLocale();
+        }
+
+        @Override
+        public AccessibleComponent getAccessibleComponent() {
+            return this;
+        }
+
+        @Override
+        public AccessibleAction getAccessibleAction() {
+            return this;
+        }
+
+        @Override
+        public int getAccessibleActionCount() {
+            return 1;
+        }
+
+        @Override
+        public String getAccessibleActionDescription(int i) {
+            return (i == 0) ? UIManager.getString("AbstractButton.clickText") : null;
+        }
+
+        @Override
+        public boolean doAccessibleAction(int i) {
+            if (i != 0 || !cellEnabledStates[index]) {
+                return false;
+            }
+            cellClicked(index);
+            return true;
+        }
+
+        @Override
+        public Color getBackground() {
+            return cellBackgrounds[index];
+        }
+
+        @Override
+        public void setBackground(Color c) {
+        }
+
+        @Override
+        public Color getForeground() {
+            return MonthGridPanel.this.getForeground();
+        }
+
+        @Override
+        public void setForeground(Color c) {
+        }
+
+        @Override
+        public Cursor getCursor() {
+            return MonthGridPanel.this.getCursor();
+        }
+
+        @Override
+        public void setCursor(Cursor cursor) {
+        }
+
+        @Override
+        public Font getFont() {
+            return MonthGridPanel.this.getFont();
+        }
+
+        @Override
+        public void setFont(Font f) {
+        }
+
+        @Override
+        public FontMetrics getFontMetrics(Font f) {
+            return MonthGridPanel.this.getFontMetrics(f);
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return cellEnabledStates[index];
+        }
+
+        @Override
+        public void setEnabled(boolean b) {
+        }
+
+        @Override
+        public boolean isVisible() {
+            return MonthGridPanel.this.isVisible();
+        }
+
+        @Override
+        public void setVisible(boolean b) {
+        }
+
+        @Override
+        public boolean isShowing() {
+            return MonthGridPanel.this.isShowing();
+        }
+
+        @Override
+        public boolean contains(Point p) {
+            Rectangle cell = getCellBounds(index);
+            return (p.x >= 0) && (p.y >= 0) && (p.x < cell.width) && (p.y < cell.height);
+        }
+
+        @Override
+        public Point getLocationOnScreen() {
+            Point gridLocation = MonthGridPanel.this.getLocationOnScreen();
+            Rectangle cell = getCellBounds(index);
+            return new Point(gridLocation.x + cell.x, gridLocation.y + cell.y);
+        }
+
+        @Override
+        public Point getLocation() {
+            return getCellBounds(index).getLocation();
+        }
+
+        @Override
+        public void setLocation(Point p) {
+        }
+
+        @Override
+        public Rectangle getBounds() {
+            return getCellBounds(index);
+        }
+
+        @Override
+        public void setBounds(Rectangle r) {
+        }
+
+        @Override
+        public Dimension getSize() {
+            return getCellBounds(index).getSize();
+        }
+
+        @Override
+        public void setSize(Dimension d) {
+        }
+
+        @Override
+        public Accessible getAccessibleAt(Point p) {
+            return null;
+        }
+
+        @Override
+        public boolean isFocusTraversable() {
+            return false;
+        }
+
+        @Override
+        public void requestFocus() {
+        }
+
+        @Override
+        public void addFocusListener(FocusListener l) {
+        }
+
+        @Override
+        public void removeFocusListener(FocusListener l) {
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.lgooddatepicker.zinternaltools;
+
+import com.lgooddatepicker.optionalusertools.AsyncDateHighlightPolicy;
+import com.lgooddatepicker.optionalusertools.AsyncDateVetoPolicy;
+import com.lgooddatepicker.optionalusertools.DateHighlightPolicy;
+import com.lgooddatepicker.optionalusertools.DateVetoPolicy;
+import com.lgooddatepicker.optionalusertools.MutableDatePolicy;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * MonthPolicyPrefetcher, This evaluates the veto policy and the highlight policy of a calendar
+ * panel for whole months. Each time that a month is drawn, the calendar panel asks the prefetcher
+ * to evaluate the neighboring months (the previous and next month, and the same month of the
+ * previous and next year) on a background thread. When the user then navigates to one of those
+ * months, the policy data is served from memory.
+ *
+ * The policies can change at any time, so prefetched data is only used for a navigation from the
+ * displayed month to one of its neighbors. The displayed month itself is evaluated again every
+ * time that it is drawn. Each drawing replaces the prefetched neighbors, and forgets any other
+ * months. If a policy implements MutableDatePolicy, then all the prefetched months are also
+ * forgotten whenever the revision of the policy changes.
+ *
+ * Asynchronous policies are not prefetched, because they already avoid blocking the calendar. For
+ * an asynchronous veto policy the stored vetoed days mask is always zero, and for an asynchronous
+ * highlight policy the stored highlights are always null.
+ *
+ * Because the policies are called from a background thread, the policies of a date picker that
+ * uses prefetching must be safe to call from threads other than the Swing Event Dispatch Thread.
+ *
+ * The prefetcher is only used from the Event Dispatch Thread. All the background work runs on one
+ * shared daemon thread, which is created the first time that it is needed.
+ */
+class MonthPolicyPrefetcher {
+
+    /**
+     * backgroundExecutor, This is the shared executor that evaluates prefetched months for all the
+     * calendar panels. This is null until it is needed.
+     */
+    static private ExecutorService backgroundExecutor = null;
+
+    /**
+     * displayedMonth, This holds the month that was most recently requested with getMonthData(),
+     * or null if no month has been requested since the prefetcher was cancelled.
+     */
+    private YearMonth displayedMonth = null;
+
+    /**
+     * highlightPolicy, This holds the highlight policy that was used to create the cached months.
+     */
+    private DateHighlightPolicy highlightPolicy = null;
+
+    /**
+     * highlightPolicyRevision, This holds the revision of the highlight policy when the cached
+     * months were created. This is only used if the policy implements MutableDatePolicy.
+     */
+    private long highlightPolicyRevision = 0;
+
+    /**
+     * months, This maps each prefetched neighbor of the displayed month to the task that evaluates
+     * the policies for that month. This never holds more than four months.
+     */
+    private final HashMap<YearMonth, FutureTask<MonthPolicyData>> months = new HashMap<>();
+
+    /**
+     * vetoPolicy, This holds the veto policy that was used to create the cached months.
+     */
+    private DateVetoPolicy vetoPolicy = null;
+
+    /**
+     * vetoPolicyRevision, This holds the revision of the veto policy when the cached months were
+     * created. This is only used if the policy implements MutableDatePolicy.
+     */
+    private long vetoPolicyRevision = 0;
+
+    /**
+     * cancel, This cancels any background work that has not yet started, and forgets every cached
+     * month. This is called when the calendar popup is closed, and when a policy has changed.
+     */
+    void cancel() {
+        for (FutureTask<MonthPolicyData> task : months.values()) {
+            task.cancel(false);
+        }
+        months.clear();
+        displayedMonth = null;
+    }
+
+    /**
+     * getMonthData, This returns the policy data for the supplied month. If the supplied month is
+     * a neighbor of the previously displayed month, and that neighbor was prefetched, then the
+     * prefetched data is returned. (If the background evaluation of the month is in progress, this
+     * waits for it to finish.) Otherwise, including when the same month is drawn again, the month
+     * is evaluated on the calling thread. The supplied month becomes the displayed month.
+     */
+    MonthPolicyData getMonthData(YearMonth yearMonth,
+            DateVetoPolicy vetoPolicy, DateHighlightPolicy highlightPolicy) {
+        usePolicies(vetoPolicy, highlightPolicy);
+        FutureTask<MonthPolicyData> task = (isNeighbor(displayedMonth, yearMonth))
+                ? months.remove(yearMonth) : null;
+        displayedMonth = yearMonth;
+        // A task that has not started is cancelled, and the month is evaluated right here.
+        if (task == null || ((!task.isDone()) && task.cancel(false)) || task.isCancelled()) {
+            return evaluateMonth(yearMonth, vetoPolicy, highlightPolicy);
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException | ExecutionException | CancellationException ex) {
+            // Evaluate the month again on this thread, so that any policy exception is thrown
+            // here, in the same way as it would be without prefetching.
+            return evaluateMonth(yearMonth, vetoPolicy, highlightPolicy);
+        }
+    }
+
+    /**
+     * prefetchAdjacentMonths, This starts the background evaluation of the neighbors of the
+     * supplied month. The neighbors are the previous and next month, and the same month of the
+     * previous and next year. Any previously prefetched months are forgotten, so the prefetched
+     * data is never older than the most recent drawing of the calendar.
+     */
+    void prefetchAdjacentMonths(YearMonth yearMonth,
+            DateVetoPolicy vetoPolicy, DateHighlightPolicy highlightPolicy) {
+        usePolicies(vetoPolicy, highlightPolicy);
+        for (FutureTask<MonthPolicyData> task : months.values()) {
+            task.cancel(false);
+        }
+        months.clear();
+        boolean vetoPolicyNeedsPrefetching = (vetoPolicy != null)
+                && (!(vetoPolicy instanceof AsyncDateVetoPolicy));
+        boolean highlightPolicyNeedsPrefetching = (highlightPolicy != null)
+                && (!(highlightPolicy instanceof AsyncDateHighlightPolicy));
+        if (!(vetoPolicyNeedsPrefetching || highlightPolicyNeedsPrefetching)) {
+            return;
+        }
+        YearMonth[] neighbors = new YearMonth[]{yearMonth.minusMonths(1), yearMonth.plusMonths(1),
+            yearMonth.minusYears(1), yearMonth.plusYears(1)};
+        for (YearMonth neighbor : neighbors) {
+            FutureTask<MonthPolicyData> task = createTask(neighbor);
+            months.put(neighbor, task);
+            getBackgroundExecutor().execute(task);
+        }
+    }
+
+    /**
+     * createTask, This creates a task that evaluates the current policies for the supplied month.
+     */
+    private FutureTask<MonthPolicyData> createTask(final YearMonth yearMonth) {
+        final DateVetoPolicy taskVetoPolicy = vetoPolicy;
+        final DateHighlightPolicy taskHighlightPolicy = highlightPolicy;
+        return new FutureTask<>(() -> evaluateMonth(
+                yearMonth, taskVetoPolicy, taskHighlightPolicy));
+    }
+
+    /**
+     * usePolicies, This forgets every cached month if the supplied policies are not the policies
+     * that were used to create the cached months, or if the revision of either policy has changed
+     * since the cached months were created.
+     */
+    private void usePolicies(DateVetoPolicy vetoPolicy, DateHighlightPolicy highlightPolicy) {
+        long newVetoPolicyRevision = getPolicyRevision(vetoPolicy);
+        long newHighlightPolicyRevision = getPolicyRevision(highlightPolicy);
+        if (vetoPolicy != this.vetoPolicy || highlightPolicy != this.highlightPolicy
+                || newVetoPolicyRevision != vetoPolicyRevision
+                || newHighlightPolicyRevision != highlightPolicyRevision) {
+            cancel();
+            this.vetoPolicy = vetoPolicy;
+            this.highlightPolicy = highlightPolicy;
+            vetoPolicyRevision = newVetoPolicyRevision;
+            highlightPolicyRevision = newHighlightPolicyRevision;
+        }
+    }
+
+    /**
+     * evaluateMonth, This evaluates the supplied policies for the supplied month.
+     */
+    static private MonthPolicyData evaluateMonth(YearMonth yearMonth,
+            DateVetoPolicy vetoPolicy, DateHighlightPolicy highlightPolicy) {
+        int vetoedDaysMask = (vetoPolicy instanceof AsyncDateVetoPolicy)
+                ? 0 : InternalUtilities.getVetoedDaysMask(vetoPolicy, yearMonth);
+        String[] highlights = (highlightPolicy instanceof AsyncDateHighlightPolicy)
+                ? null : InternalUtilities.getHighlightStringsOrNull(highlightPolicy, yearMonth);
+        return new MonthPolicyData(vetoedDaysMask, highlights);
+    }
+
+    /**
+     * getPolicyRevision, This returns the revision of the supplied policy, if the policy implements
+     * MutableDatePolicy. Otherwise this returns zero.
+     */
+    static private long getPolicyRevision(Object policy) {
+        return (policy instanceof MutableDatePolicy)
+                ? ((MutableDatePolicy) policy).getPolicyRevision() : 0;
+    }
+
+    /**
+     * isNeighbor, This returns true if the second month is the previous or next month, or the same
+     * month of the previous or next year, of the first month. This returns false if the first
+     * month is null.
+     */
+    static private boolean isNeighbor(YearMonth displayedMonth, YearMonth yearMonth) {
+        if (displayedMonth == null) {
+            return false;
+        }
+        long monthDistance = Math.abs(displayedMonth.until(yearMonth, ChronoUnit.MONTHS));
+        return (monthDistance == 1) || (monthDistance == 12);
+    }
+
+    /**
+     * getBackgroundExecutor, This returns the shared background executor, and creates it if
+     * needed. The executor uses a single daemon thread, so that it never prevents the application
+     * from exiting.
+     */
+    static private synchronized ExecutorService getBackgroundExecutor() {
+        if (backgroundExecutor == null) {
+            backgroundExecutor = Executors.newSingleThreadExecutor((Runnable runnable) -> {
+                Thread thread = new Thread(runnable, "LGoodDatePicker month prefetcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return backgroundExecutor;
+    }
+
+    /**
+     * MonthPolicyData, This holds the evaluated policy data for one month.
+     */
+    static class MonthPolicyData {
+
+        /**
+         * highlights, This holds the highlight string of each day of the month, indexed by the zero
+         * based day of the month. This is null if no day of the month is highlighted. This array
+         * should not be modified.
+         */
+        final String[] highlights;
+
+        /**
+         * vetoedDaysMask, This holds the vetoed days of the month. Bit zero represents the first
+         * day of the month, and a set bit indicates a vetoed day.
+         */
+        final int vetoedDaysMask;
+
+        /**
+         * Constructor, This creates the policy data for one month.
+         */
+        MonthPolicyData(int vetoedDaysMask, String[] highlights) {
+            this.vetoedDaysMask = vetoedDaysMask;
+            this.highlights = highlights;
+        }
+    }
+}
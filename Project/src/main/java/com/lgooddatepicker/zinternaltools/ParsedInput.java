@@ -0,0 +1,85 @@
+package com.lgooddatepicker.zinternaltools;
+
+/**
+ * ParsedInput, This holds the immutable result of parsing and validating one piece of date or time
+ * text with a DateInputEngine or a TimeInputEngine. The result includes the parsed value (or
+ * null), the veto verdict, and the indicator state that a picker would show for the text.
+ *
+ * The indicator state also describes why text was not accepted: UnparsableValue (the text could
+ * not be parsed), VetoedValue (the parsed value is vetoed), or DisallowedEmptyValue (the text is
+ * empty, and empty values are not allowed). Instances of this class may be shared between threads.
+ *
+ * The type parameter is the type of the parsed value, for example LocalDate or LocalTime.
+ */
+public final class ParsedInput<T> {
+
+    /**
+     * indicatorState, This holds the indicator state for the text.
+     */
+    private final IndicatorState indicatorState;
+
+    /**
+     * isVetoed, This indicates whether or not the parsed value was vetoed by the veto policy.
+     */
+    private final boolean isVetoed;
+
+    /**
+     * parsedValue, This holds the parsed value of the text, or null if the text was empty or could
+     * not be parsed.
+     */
+    private final T parsedValue;
+
+    /**
+     * text, This holds the text that was parsed.
+     */
+    private final String text;
+
+    /**
+     * Constructor, This creates a result for the supplied text.
+     */
+    public ParsedInput(String text, T parsedValue, boolean isVetoed,
+            IndicatorState indicatorState) {
+        this.text = text;
+        this.parsedValue = parsedValue;
+        this.isVetoed = isVetoed;
+        this.indicatorState = indicatorState;
+    }
+
+    /**
+     * getIndicatorState, This returns the indicator state for the text.
+     */
+    public IndicatorState getIndicatorState() {
+        return indicatorState;
+    }
+
+    /**
+     * getParsedValue, This returns the parsed value of the text, or null if the text was empty or
+     * could not be parsed. A parsed value is returned even if it was vetoed.
+     */
+    public T getParsedValue() {
+        return parsedValue;
+    }
+
+    /**
+     * getText, This returns the text that was parsed.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * isValid, This returns true if the text would be accepted by a picker. This means that the
+     * text holds a value that is not vetoed, or that the text is empty and empty values are
+     * allowed. For valid empty text, the parsed value is null.
+     */
+    public boolean isValid() {
+        return indicatorState == IndicatorState.ValidFullOrEmptyValue;
+    }
+
+    /**
+     * isVetoed, This returns true if the parsed value was vetoed by the veto policy.
+     */
+    public boolean isVetoed() {
+        return isVetoed;
+    }
+}
@@ -0,0 +1,62 @@
+package com.lgooddatepicker.zinternaltools;
+
+/**
+ * ParsedTextCache, This holds the result of parsing and validating one piece of picker text. This
+ * is used by the date picker and the time picker, so that each change of the text field text only
+ * needs to be parsed once, and only needs to be checked against the veto policy once.
+ *
+ * The cached result is identified by the text, and by a settings revision number. The settings
+ * revision number is supplied by the picker settings, and it changes whenever a setting that
+ * affects parsing or validation has been changed. (Such as the formatters or the veto policy.)
+ * Any change to the text or the revision number means that the cached result is no longer current.
+ *
+ * The cached result itself is an immutable ParsedInput instance. Storing a new result replaces the
+ * instance, so a result that was returned from this cache never changes, and may safely be kept.
+ *
+ * The type parameter is the type of the parsed value, for example LocalDate or LocalTime.
+ */
+public class ParsedTextCache<T> {
+
+    /**
+     * input, This holds the cached result, or null if no result has been stored in this cache.
+     */
+    private ParsedInput<T> input = null;
+
+    /**
+     * settingsRevision, This holds the settings revision number that was used to create the cached
+     * result.
+     */
+    private int settingsRevision = 0;
+
+    /**
+     * clear, This removes any cached result.
+     */
+    public void clear() {
+        input = null;
+    }
+
+    /**
+     * getInput, This returns the cached result, or null if no result has been stored.
+     */
+    public ParsedInput<T> getInput() {
+        return input;
+    }
+
+    /**
+     * isCurrent, This returns true if this cache holds a result for the supplied text and settings
+     * revision number. Otherwise this returns false.
+     */
+    public boolean isCurrent(String text, int settingsRevision) {
+        return (input != null) && (this.settingsRevision == settingsRevision)
+                && (input.getText() != null) && input.getText().equals(text);
+    }
+
+    /**
+     * store, This stores a new result in the cache. Any previous result is replaced. The text of
+     * the result identifies the result.
+     */
+    public void store(int settingsRevision, ParsedInput<T> input) {
+        this.settingsRevision = settingsRevision;
+        this.input = input;
+    }
+}
@@ -0,0 +1,79 @@
+package com.lgooddatepicker.zinternaltools;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+
+/**
+ * ParsingEngine, This class contains static functions for parsing text with a DateTimeFormatter,
+ * without relying on exceptions to report text that does not match the formatter.
+ *
+ * The standard java.time parsing functions (such as LocalDate.parse()) throw a
+ * DateTimeParseException for every string that cannot be parsed. The pickers try a whole list of
+ * formatters for every keystroke, and most of those attempts are expected to fail. Creating an
+ * exception (and filling its stack trace) for each failed attempt is expensive. This class first
+ * performs an unresolved parse with a ParsePosition, which reports failures through the parse
+ * position instead of an exception. Only text that is fully accepted by the formatter is then
+ * passed to the resolving parse function. The precedence and the leniency of the formatters are
+ * not changed, because the same formatter object is used for both steps.
+ */
+public class ParsingEngine {
+
+    /**
+     * parseDateOrNull, This tries to parse the supplied text into a LocalDate using the supplied
+     * formatter. This returns null if the formatter could not parse the text. The text is used
+     * exactly as supplied, so any trimming or lowercasing should be done by the caller.
+     */
+    public static LocalDate parseDateOrNull(String text, DateTimeFormatter formatter) {
+        return parseOrNull(text, formatter, LocalDate::from);
+    }
+
+    /**
+     * parseTimeOrNull, This tries to parse the supplied text into a LocalTime using the supplied
+     * formatter. This returns null if the formatter could not parse the text. The text is used
+     * exactly as supplied, so any trimming or lowercasing should be done by the caller.
+     */
+    public static LocalTime parseTimeOrNull(String text, DateTimeFormatter formatter) {
+        return parseOrNull(text, formatter, LocalTime::from);
+    }
+
+    /**
+     * isFullyAccepted, This returns true if the supplied formatter can read the entire supplied
+     * text, without considering whether the parsed fields can be resolved into a valid value. A
+     * false result is final, which means that the formatter can never parse the text. This never
+     * throws an exception for unparsable text.
+     */
+    public static boolean isFullyAccepted(String text, DateTimeFormatter formatter) {
+        if (text == null || formatter == null) {
+            return false;
+        }
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor unresolved = formatter.parseUnresolved(text, position);
+        return (unresolved != null) && (position.getErrorIndex() < 0)
+                && (position.getIndex() == text.length());
+    }
+
+    /**
+     * parseOrNull, This tries to parse the supplied text using the supplied formatter and query.
+     * This returns null if the formatter could not parse the text.
+     *
+     * Implementation note: Text that is rejected by the unresolved parse will never create an
+     * exception. Text that is accepted by the unresolved parse can still fail during resolution,
+     * (for example the 13th month of a year), so the resolving parse keeps a try/catch block. That
+     * case is rare in comparison to the text that simply does not match a formatter.
+     */
+    private static <T> T parseOrNull(String text, DateTimeFormatter formatter,
+            TemporalQuery<T> query) {
+        if (!isFullyAccepted(text, formatter)) {
+            return null;
+        }
+        try {
+            return formatter.parse(text, query);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+}
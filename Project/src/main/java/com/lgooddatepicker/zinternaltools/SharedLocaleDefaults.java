@@ -0,0 +1,96 @@
+package com.lgooddatepicker.zinternaltools;
+
+import java.awt.Font;
+import java.awt.font.TextAttribute;
+import java.util.Map;
+import java.util.Objects;
+import javax.swing.JTextField;
+import javax.swing.LookAndFeel;
+import javax.swing.UIManager;
+
+/**
+ * SharedLocaleDefaults, This class holds a process wide cache of the default text field fonts that
+ * are used by the DatePickerSettings and TimePickerSettings constructors. The fonts depend on the
+ * current look and feel. The default values that depend only on the locale (such as the default
+ * formatters) are held by the LocaleDefaults class, which does not use any Swing classes.
+ *
+ * Only immutable values are stored in this cache. This allows many settings instances to share
+ * the default fonts. All the functions of this class are thread safe.
+ */
+public class SharedLocaleDefaults {
+
+    /**
+     * textFieldFonts, This holds the default text field fonts for the most recently used look and
+     * feel. This is replaced if the look and feel is changed.
+     */
+    static private volatile TextFieldFonts textFieldFonts = null;
+
+    /**
+     * getTextFieldFonts, This returns the default text field fonts for the current look and feel.
+     * The fonts are generated the first time that they are requested, and again whenever the look
+     * and feel, or the "TextField.font" value of the UIManager, has been changed.
+     */
+    static public TextFieldFonts getTextFieldFonts() {
+        LookAndFeel lookAndFeel = UIManager.getLookAndFeel();
+        Font textFieldFont = UIManager.getFont("TextField.font");
+        TextFieldFonts fonts = textFieldFonts;
+        if (fonts == null || fonts.lookAndFeel != lookAndFeel
+                || !Objects.equals(fonts.textFieldFont, textFieldFont)) {
+            fonts = new TextFieldFonts(lookAndFeel, textFieldFont);
+            textFieldFonts = fonts;
+        }
+        return fonts;
+    }
+
+    /**
+     * TextFieldFonts, This holds the default text field fonts for one look and feel.
+     */
+    static public class TextFieldFonts {
+
+        /**
+         * fontNormal, This is the default text field font.
+         */
+        public final Font fontNormal;
+
+        /**
+         * fontStrikethrough, This is the default text field font with a strikethrough attribute.
+         * This is generated the first time that it is requested.
+         */
+        private Font fontStrikethrough = null;
+
+        /**
+         * lookAndFeel, This holds the look and feel that was used to create these fonts.
+         */
+        private final LookAndFeel lookAndFeel;
+
+        /**
+         * textFieldFont, This holds the "TextField.font" value of the UIManager that was used to
+         * create these fonts. This is only stored so that a change can be detected.
+         */
+        private final Font textFieldFont;
+
+        /**
+         * Constructor, This generates the default text field fonts for the specified look and
+         * feel. The look and feel and the text field font are only stored so that a change can be
+         * detected.
+         */
+        private TextFieldFonts(LookAndFeel lookAndFeel, Font textFieldFont) {
+            this.lookAndFeel = lookAndFeel;
+            this.textFieldFont = textFieldFont;
+            fontNormal = new JTextField().getFont();
+        }
+
+        /**
+         * getFontStrikethrough, This returns the default text field font with a strikethrough
+         * attribute.
+         */
+        public synchronized Font getFontStrikethrough() {
+            if (fontStrikethrough == null) {
+                Map attributes = fontNormal.getAttributes();
+                attributes.put(TextAttribute.STRIKETHROUGH, TextAttribute.STRIKETHROUGH_ON);
+                fontStrikethrough = new Font(attributes);
+            }
+            return fontStrikethrough;
+        }
+    }
+}
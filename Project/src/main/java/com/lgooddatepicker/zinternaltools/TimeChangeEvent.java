@@ -21,17 +21,17 @@ public class TimeChangeEvent {
     /**
      * source, This is the time picker that generated the event.
      */
-    private TimePicker source;
+    private final TimePicker source;
 
     /**
      * oldTime, This holds the value of the TimePicker time, before the time changed.
      */
-    private LocalTime oldTime;
+    private final LocalTime oldTime;
 
     /**
      * newTime, This holds the value of the TimePicker time, after the time changed.
      */
-    private LocalTime newTime;
+    private final LocalTime newTime;
 
     /**
      * getSource, Returns the time picker that generated the event.
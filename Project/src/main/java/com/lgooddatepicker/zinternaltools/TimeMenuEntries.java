@@ -0,0 +1,344 @@
+package com.lgooddatepicker.zinternaltools;
+
+import com.lgooddatepicker.optionalusertools.CompiledTimeVetoPolicy;
+import com.lgooddatepicker.optionalusertools.TimeVetoPolicy;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * TimeMenuEntries, This holds an immutable list of time menu entries. Each entry holds a menu time
+ * and the display text of that menu time. The time menu finds the selected time from the index of
+ * the selected entry, without parsing the display text.
+ *
+ * The entries are chosen from a list of candidate times. The candidate times are either supplied
+ * as a list, or they are calculated from a first time and an increment. Calculated candidates are
+ * never stored, so a menu with one entry for every second of the day uses very little memory. The
+ * display text of each candidate is formatted the first time that it is requested, and then it is
+ * remembered. The time menu list only requests the text of the visible entries.
+ *
+ * The time picker settings keep one instance of this class, which holds every potential menu time.
+ * That instance is only created again when the menu times, the menu time formatter, the locale,
+ * or the lowercase setting have been changed. See isCurrent(). The settings then remove the
+ * vetoed times with withoutVetoedTimes(), and they also keep the result until the veto policy or
+ * another setting has been changed. The entries that remain after the veto are stored as a
+ * bitmap over the candidates, with a count of the allowed candidates before each word of the
+ * bitmap, so that an entry can be found from its index without storing the entries.
+ */
+public final class TimeMenuEntries {
+
+    /**
+     * allowedBits, This holds one bit for each candidate, and a set bit indicates a candidate that
+     * is included in these entries. This is null if every candidate is included.
+     */
+    private final long[] allowedBits;
+
+    /**
+     * allowedCountBeforeWord, This holds the number of included candidates before each word of the
+     * allowedBits array. This is null if every candidate is included.
+     */
+    private final int[] allowedCountBeforeWord;
+
+    /**
+     * candidateCount, This holds the number of candidate times.
+     */
+    private final int candidateCount;
+
+    /**
+     * candidateTexts, This holds the display text of each candidate, or null for candidates that
+     * have not been formatted yet. This array is shared by all the entries that are created from
+     * the same candidates. Display texts are added when they are first requested, and they are
+     * never changed after that.
+     */
+    private final String[] candidateTexts;
+
+    /**
+     * candidateTimes, This holds the candidate times, if they were supplied as a list. This is null
+     * if the candidate times are calculated. This array is never modified.
+     */
+    private final LocalTime[] candidateTimes;
+
+    /**
+     * firstSecondOfDay, incrementSeconds, These hold the second of the day of the first calculated
+     * candidate time, and the number of seconds between calculated candidate times. These are not
+     * used if the candidate times were supplied as a list.
+     */
+    private final int firstSecondOfDay;
+    private final int incrementSeconds;
+
+    /**
+     * formatForMenuTimes, This holds the formatter that is used to create the display texts.
+     */
+    private final DateTimeFormatter formatForMenuTimes;
+
+    /**
+     * locale, This holds the locale that is used to create the display texts.
+     */
+    private final Locale locale;
+
+    /**
+     * menuTimesRevision, This holds the revision number of the menu times that were used to create
+     * these entries.
+     */
+    private final int menuTimesRevision;
+
+    /**
+     * size, This holds the number of entries.
+     */
+    private final int size;
+
+    /**
+     * useLowercase, This indicates whether the display texts are converted to lowercase.
+     */
+    private final boolean useLowercase;
+
+    /**
+     * Constructor, This creates the entries for the supplied list of menu times. The display text
+     * of each time is formatted with the supplied formatter when it is first requested, and
+     * converted to lowercase if requested.
+     */
+    public TimeMenuEntries(List<LocalTime> menuTimes, int menuTimesRevision,
+            DateTimeFormatter formatForMenuTimes, Locale locale, boolean useLowercase) {
+        this(menuTimes.toArray(new LocalTime[menuTimes.size()]), 0, 0, menuTimes.size(),
+                menuTimesRevision, formatForMenuTimes, locale, useLowercase);
+    }
+
+    /**
+     * Constructor, This creates the entries for calculated menu times. The menu times start at the
+     * supplied second of the day, and are separated by the supplied number of seconds. The display
+     * text of each time is formatted with the supplied formatter when it is first requested, and
+     * converted to lowercase if requested.
+     */
+    public TimeMenuEntries(int firstSecondOfDay, int incrementSeconds, int count,
+            int menuTimesRevision, DateTimeFormatter formatForMenuTimes, Locale locale,
+            boolean useLowercase) {
+        this(null, firstSecondOfDay, incrementSeconds, count,
+                menuTimesRevision, formatForMenuTimes, locale, useLowercase);
+    }
+
+    /**
+     * Constructor, This creates entries that include every candidate.
+     */
+    private TimeMenuEntries(LocalTime[] candidateTimes, int firstSecondOfDay,
+            int incrementSeconds, int candidateCount, int menuTimesRevision,
+            DateTimeFormatter formatForMenuTimes, Locale locale, boolean useLowercase) {
+        this.candidateTimes = candidateTimes;
+        this.firstSecondOfDay = firstSecondOfDay;
+        this.incrementSeconds = incrementSeconds;
+        this.candidateCount = candidateCount;
+        this.candidateTexts = new String[candidateCount];
+        this.menuTimesRevision = menuTimesRevision;
+        this.formatForMenuTimes = formatForMenuTimes;
+        this.locale = locale;
+        this.useLowercase = useLowercase;
+        this.allowedBits = null;
+        this.allowedCountBeforeWord = null;
+        this.size = candidateCount;
+    }
+
+    /**
+     * Constructor, This creates entries that include the candidates of the supplied entries that
+     * are set in the supplied bitmap.
+     */
+    private TimeMenuEntries(TimeMenuEntries source, long[] allowedBits) {
+        this.candidateTimes = source.candidateTimes;
+        this.firstSecondOfDay = source.firstSecondOfDay;
+        this.incrementSeconds = source.incrementSeconds;
+        this.candidateCount = source.candidateCount;
+        this.candidateTexts = source.candidateTexts;
+        this.menuTimesRevision = source.menuTimesRevision;
+        this.formatForMenuTimes = source.formatForMenuTimes;
+        this.locale = source.locale;
+        this.useLowercase = source.useLowercase;
+        this.allowedBits = allowedBits;
+        this.allowedCountBeforeWord = new int[allowedBits.length];
+        int count = 0;
+        for (int word = 0; word < allowedBits.length; ++word) {
+            allowedCountBeforeWord[word] = count;
+            count += Long.bitCount(allowedBits[word]);
+        }
+        this.size = count;
+    }
+
+    /**
+     * getPrototypeText, This returns a display text that can be used as the prototype cell value
+     * of the time menu list, or null if there are no entries. The time menu list uses the
+     * prototype to size every row, instead of measuring every entry. The longest text of up to 48
+     * evenly spaced entries is returned.
+     */
+    public String getPrototypeText() {
+        String prototype = null;
+        int step = Math.max(1, size / 48);
+        for (int index = 0; index < size; index += step) {
+            String text = getText(index);
+            if (prototype == null || text.length() > prototype.length()) {
+                prototype = text;
+            }
+        }
+        return prototype;
+    }
+
+    /**
+     * getText, This returns the display text of the entry at the supplied index.
+     */
+    public String getText(int index) {
+        int candidate = toCandidateIndex(index);
+        String text = candidateTexts[candidate];
+        if (text == null) {
+            text = formatForMenuTimes.format(getCandidateTime(candidate));
+            text = (useLowercase) ? text.toLowerCase(locale) : text;
+            candidateTexts[candidate] = text;
+        }
+        return text;
+    }
+
+    /**
+     * getTime, This returns the menu time of the entry at the supplied index.
+     */
+    public LocalTime getTime(int index) {
+        return getCandidateTime(toCandidateIndex(index));
+    }
+
+    /**
+     * isCurrent, This returns true if these entries were created with the supplied menu times
+     * revision, formatter, locale, and lowercase setting. Otherwise this returns false.
+     */
+    public boolean isCurrent(int menuTimesRevision, DateTimeFormatter formatForMenuTimes,
+            Locale locale, boolean useLowercase) {
+        return (this.menuTimesRevision == menuTimesRevision)
+                && (this.formatForMenuTimes == formatForMenuTimes)
+                && (this.locale.equals(locale)) && (this.useLowercase == useLowercase);
+    }
+
+    /**
+     * size, This returns the number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * withoutVetoedTimes, This returns the entries whose menu times are not vetoed by the supplied
+     * veto policy. If no menu time is vetoed, then this instance is returned. The veto policy is
+     * asked about each candidate time once, but no display text is formatted, and no list of
+     * entries is created. If the veto policy is a CompiledTimeVetoPolicy, and the calculated
+     * candidates line up with the bitmap of the compiled policy, then the veto policy is not asked
+     * about each time. See withoutCompiledVetoedTimes().
+     */
+    public TimeMenuEntries withoutVetoedTimes(TimeVetoPolicy vetoPolicy) {
+        if (vetoPolicy == null) {
+            return this;
+        }
+        if (vetoPolicy instanceof CompiledTimeVetoPolicy) {
+            TimeMenuEntries entries
+                    = withoutCompiledVetoedTimes((CompiledTimeVetoPolicy) vetoPolicy);
+            if (entries != null) {
+                return entries;
+            }
+        }
+        long[] bits = new long[(candidateCount + 63) >>> 6];
+        boolean anyVetoed = false;
+        for (int index = 0; index < size; ++index) {
+            int candidate = toCandidateIndex(index);
+            if (vetoPolicy.isTimeAllowed(getCandidateTime(candidate))) {
+                bits[candidate >>> 6] |= (1L << candidate);
+            } else {
+                anyVetoed = true;
+            }
+        }
+        return (anyVetoed) ? new TimeMenuEntries(this, bits) : this;
+    }
+
+    /**
+     * getCandidateTime, This returns the candidate time at the supplied candidate index.
+     */
+    private LocalTime getCandidateTime(int candidate) {
+        if (candidateTimes != null) {
+            return candidateTimes[candidate];
+        }
+        return LocalTime.ofSecondOfDay(firstSecondOfDay + ((long) candidate * incrementSeconds));
+    }
+
+    /**
+     * toCandidateIndex, This returns the candidate index of the entry at the supplied index. If
+     * some candidates are not included, the word of the allowed bitmap that holds the entry is
+     * found with a binary search, and the entry is found inside of that word.
+     */
+    private int toCandidateIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("TimeMenuEntries.toCandidateIndex(), "
+                    + "Index: " + index + ", Size: " + size);
+        }
+        if (allowedBits == null) {
+            return index;
+        }
+        // Find the last word that has no more than (index) included candidates before it.
+        int low = 0;
+        int high = allowedCountBeforeWord.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (allowedCountBeforeWord[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        // Skip the included candidates in the word that come before the entry.
+        long word = allowedBits[low];
+        for (int skip = index - allowedCountBeforeWord[low]; skip > 0; --skip) {
+            word &= (word - 1);
+        }
+        return (low << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * withoutCompiledVetoedTimes, This returns the entries whose menu times are allowed by the
+     * bitmap of the supplied compiled veto policy, or null if the candidates do not line up with
+     * the bitmap. The candidates line up if they are calculated, if no candidate has already been
+     * removed, and if the first time and the increment are whole multiples of the bitmap
+     * resolution. If the increment equals the bitmap resolution, the allowed candidates are copied
+     * from the bitmap one word at a time. Otherwise, each candidate is checked with a single bit
+     * test.
+     */
+    private TimeMenuEntries withoutCompiledVetoedTimes(CompiledTimeVetoPolicy vetoPolicy) {
+        int secondsPerBit = (vetoPolicy.usesSeconds()) ? 1 : 60;
+        if (candidateTimes != null || allowedBits != null
+                || (firstSecondOfDay % secondsPerBit) != 0
+                || (incrementSeconds % secondsPerBit) != 0) {
+            return null;
+        }
+        long[] bitmap = vetoPolicy.getAllowedTimesBitmap();
+        long[] bits = new long[(candidateCount + 63) >>> 6];
+        int firstBit = firstSecondOfDay / secondsPerBit;
+        int bitStep = incrementSeconds / secondsPerBit;
+        if (bitStep == 1) {
+            // Copy the bitmap, shifted so that the first candidate becomes bit zero.
+            int shift = firstBit & 63;
+            for (int word = 0; word < bits.length; ++word) {
+                int bitmapWord = (firstBit >>> 6) + word;
+                long value = (bitmapWord < bitmap.length) ? (bitmap[bitmapWord] >>> shift) : 0;
+                if (shift != 0 && (bitmapWord + 1) < bitmap.length) {
+                    value |= (bitmap[bitmapWord + 1] << (64 - shift));
+                }
+                bits[word] = value;
+            }
+            // Clear any bits after the last candidate.
+            if ((candidateCount & 63) != 0) {
+                bits[bits.length - 1] &= ((1L << candidateCount) - 1);
+            }
+        } else {
+            for (int candidate = 0; candidate < candidateCount; ++candidate) {
+                int bit = firstBit + (candidate * bitStep);
+                if ((bitmap[bit >>> 6] & (1L << bit)) != 0) {
+                    bits[candidate >>> 6] |= (1L << candidate);
+                }
+            }
+        }
+        int allowedCount = 0;
+        for (long word : bits) {
+            allowedCount += Long.bitCount(word);
+        }
+        return (allowedCount == candidateCount) ? this : new TimeMenuEntries(this, bits);
+    }
+}
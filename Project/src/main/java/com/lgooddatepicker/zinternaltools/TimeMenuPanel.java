@@ -14,12 +14,11 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 
 public class TimeMenuPanel extends JPanel {
 
-    private DefaultListModel timeListModel;
+    private LookAndFeel lookAndFeelWhenConstructed;
+    private TimeMenuListModel timeListModel;
     private TimePicker parentTimePicker;
     private TimePickerSettings settings;
 
@@ -27,7 +26,7 @@ public class TimeMenuPanel extends JPanel {
         this.parentTimePicker = parentTimePicker;
         this.settings = settings;
         initComponents();
-        timeListModel = new DefaultListModel();
+        timeListModel = new TimeMenuListModel();
         timeList.setModel(timeListModel);
 
         timeList.addMouseMotionListener(new MouseAdapter() {
@@ -51,9 +50,9 @@ public class TimeMenuPanel extends JPanel {
             public void keyReleased(KeyEvent event) {
                 if (event.getKeyCode() == KeyEvent.VK_ENTER) {
                     event.consume();
-                    String selectedTimeString = (String) timeList.getSelectedValue();
-                    if (selectedTimeString != null) {
-                        userSelectedATime(selectedTimeString);
+                    int selectedIndex = timeList.getSelectedIndex();
+                    if (selectedIndex != -1) {
+                        userSelectedATime(selectedIndex);
                     }
                 }
             }
@@ -63,6 +62,32 @@ public class TimeMenuPanel extends JPanel {
         // Set the maximum number of visible menu rows to the appropriate value.
         int maximumMenuRows = Math.min(settings.maximumVisibleMenuRows, timeListModel.getSize());
         timeList.setVisibleRowCount(maximumMenuRows);
+        lookAndFeelWhenConstructed = UIManager.getLookAndFeel();
+    }
+
+    /**
+     * isReusableWith, This returns true if this time menu panel can be reused with the supplied
+     * settings. A time menu panel can only be reused with the settings instance that it was
+     * created with, and only while the look and feel is unchanged.
+     */
+    public boolean isReusableWith(TimePickerSettings settings) {
+        return (this.settings == settings) && (settings != null)
+                && (lookAndFeelWhenConstructed == UIManager.getLookAndFeel());
+    }
+
+    /**
+     * prepareForReuse, This returns a pooled time menu panel to the state of a newly constructed
+     * time menu panel, so that it can be shown again. The time entries are generated again, in
+     * case the menu times or the veto policy have been changed.
+     */
+    public void prepareForReuse() {
+        generateTimeEntriesFromSettings();
+        int maximumMenuRows = Math.min(settings.maximumVisibleMenuRows, timeListModel.getSize());
+        timeList.setVisibleRowCount(maximumMenuRows);
+        timeList.clearSelection();
+        if (timeListModel.getSize() > 0) {
+            timeList.ensureIndexIsVisible(0);
+        }
     }
 
     public void mouseDraggedFromToggleButton() {
@@ -100,16 +125,11 @@ public class TimeMenuPanel extends JPanel {
             tryClosePopup();
             return;
         }
-        try {
-            String selectedTimeString = (String) timeList.getModel().getElementAt(index);
-            if (selectedTimeString != null && !selectedTimeString.isEmpty()) {
-                userSelectedATime(selectedTimeString);
-            }
-        } catch (Exception e) {
+        if (index < 0 || index >= timeListModel.getSize()) {
             throw new RuntimeException("TimeMenuPanel.mouseReleasedWhileTimeListIsOpen() "
-                    + "Time menu list index is out of bounds. This should not happen. "
-                    + e.getMessage());
+                    + "Time menu list index is out of bounds. This should not happen. ");
         }
+        userSelectedATime(index);
     }
 
     public void clearParent() {
@@ -117,31 +137,39 @@ public class TimeMenuPanel extends JPanel {
         settings = null;
     }
 
+    /**
+     * generateTimeEntriesFromSettings, This fills the time menu with the menu times that are not
+     * vetoed. The formatted menu entries, and the entries that remain after the veto, are cached
+     * by the settings. The menu times are only formatted when the menu times or the menu format
+     * settings have been changed, and the veto policy is only asked about the menu times when the
+     * menu entries, the veto policy, or the settings revision have been changed.
+     * The entries of the list model are replaced in one step. This fires at most one event for the
+     * added or removed rows, and at most one event for the rows that were changed.
+     *
+     * The list rows are sized from a prototype menu text, so that the list does not measure every
+     * entry. Together with the list model, which only formats the visible entries, this allows
+     * menus with very many entries (such as one entry for every second of the day) to open quickly.
+     */
     void generateTimeEntriesFromSettings() {
-        timeListModel.clear();
-        DateTimeFormatter formatForMenuTimes = settings.getFormatForMenuTimes();
-        ArrayList<LocalTime> menuTimes = settings.getPotentialMenuTimes();
-        for (LocalTime localTime : menuTimes) {
-            if (!InternalUtilities.isTimeVetoed(settings.getVetoPolicy(), localTime)) {
-                String localizedTime = formatForMenuTimes.format(localTime);
-                if (settings.useLowercaseForMenuTimes) {
-                    localizedTime = localizedTime.toLowerCase(settings.getLocale());
-                }
-                timeListModel.addElement(localizedTime);
-            }
+        TimeMenuEntries entries = settings.getMenuEntriesWithoutVetoedTimes();
+        String prototypeText = entries.getPrototypeText();
+        if (prototypeText == null) {
+            timeList.setFixedCellWidth(-1);
+            timeList.setFixedCellHeight(-1);
+        } else {
+            timeList.setPrototypeCellValue(prototypeText);
         }
+        timeListModel.setEntries(entries);
     }
 
-    private void userSelectedATime(String selectedTimeString) {
-        // Try to parse the selected time string. 
-        LocalTime selectedTime = InternalUtilities.getParsedTimeOrNull(selectedTimeString, settings.getFormatForDisplayTime(), settings.getFormatForMenuTimes(),
-                settings.formatsForParsing, settings.getLocale());
-        // Check to see if the time was parsed. The time should always parse successfully.
-        if (selectedTime == null) {
-            throw new RuntimeException("TimeMenuPanel, "
-                    + "Could not parse menu time. This should not happen.");
-        }
-
+    /**
+     * userSelectedATime, This is called when the user selects the menu entry at the supplied
+     * index. The selected time is taken directly from the menu entries, without parsing the menu
+     * text. If the time is not vetoed, this sets the time picker to the selected time, and closes
+     * the time menu.
+     */
+    private void userSelectedATime(int selectedIndex) {
+        LocalTime selectedTime = timeListModel.getTimeAt(selectedIndex);
         // If the selected time is vetoed, do nothing.
         TimeVetoPolicy vetoPolicy = settings.getVetoPolicy();
         if (InternalUtilities.isTimeVetoed(vetoPolicy, selectedTime)) {
@@ -157,7 +185,7 @@ public class TimeMenuPanel extends JPanel {
     private void initComponents() {
         // JFormDesigner - Component initialization - DO NOT MODIFY  //GEN-BEGIN:initComponents
         timeScrollPane = new JScrollPane();
-        timeList = new JList();
+        timeList = new JList<>();
 
         //======== this ========
         setBorder(null);
@@ -180,7 +208,7 @@ public class TimeMenuPanel extends JPanel {
 
     // JFormDesigner - Variables declaration - DO NOT MODIFY  //GEN-BEGIN:variables
     private JScrollPane timeScrollPane;
-    private JList timeList;
+    private JList<String> timeList;
     // JFormDesigner - End of variables declaration  //GEN-END:variables
 
     private void tryClosePopup() {
@@ -193,6 +221,71 @@ public class TimeMenuPanel extends JPanel {
         timeList.requestFocusInWindow();
     }
 
+    /**
+     * TimeMenuListModel, This is the list model of the time menu. The model displays the entries of
+     * an immutable TimeMenuEntries instance. The menu time of each entry can be retrieved by index.
+     */
+    static private class TimeMenuListModel extends AbstractListModel<String> {
+
+        /**
+         * serialVersionUID, This is the serialization version of this class.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * entries, This holds the displayed menu entries.
+         */
+        private TimeMenuEntries entries = null;
+
+        /**
+         * getElementAt, Part of ListModel. This returns the display text of the entry at the
+         * supplied index.
+         */
+        @Override
+        public String getElementAt(int index) {
+            return entries.getText(index);
+        }
+
+        /**
+         * getSize, Part of ListModel. This returns the number of entries.
+         */
+        @Override
+        public int getSize() {
+            return (entries == null) ? 0 : entries.size();
+        }
+
+        /**
+         * getTimeAt, This returns the menu time of the entry at the supplied index.
+         */
+        LocalTime getTimeAt(int index) {
+            return entries.getTime(index);
+        }
+
+        /**
+         * setEntries, This replaces the displayed entries. If the entries are unchanged, then no
+         * event is fired. Otherwise an intervalRemoved or an intervalAdded event is fired for any
+         * rows that were removed or added, followed by one contentsChanged event for the rows
+         * that exist in both the old and the new entries. The list selection is kept consistent
+         * by the removed and added events.
+         */
+        void setEntries(TimeMenuEntries newEntries) {
+            if (newEntries == entries) {
+                return;
+            }
+            int oldSize = getSize();
+            entries = newEntries;
+            int newSize = getSize();
+            if (oldSize > newSize) {
+                fireIntervalRemoved(this, newSize, oldSize - 1);
+            } else if (newSize > oldSize) {
+                fireIntervalAdded(this, oldSize, newSize - 1);
+            }
+            if (Math.min(oldSize, newSize) > 0) {
+                fireContentsChanged(this, 0, Math.min(oldSize, newSize) - 1);
+            }
+        }
+    }
+
     public void selectFirstEntry() {
         if (timeList.getModel().getSize() > 0) {
             timeList.setSelectedIndex(0);
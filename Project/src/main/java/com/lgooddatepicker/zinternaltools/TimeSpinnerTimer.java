@@ -1,8 +1,6 @@
 package com.lgooddatepicker.zinternaltools;
 
 import com.lgooddatepicker.timepicker.TimePicker;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import javax.swing.Timer;
 
 /**
@@ -10,127 +8,154 @@ import javax.swing.Timer;
  * accelerates over a set period of time. This is used by the time picker component. The increment
  * event is used to change the time and the time picker while the user is holding a spinner
  * activation key. (The spinner functionality may be activated with the keyboard or the mouse.)
+ *
+ * Only one time picker can be spinning at any moment, so a single spinner timer is shared by every
+ * time picker in the application. The shared Swing timer is created the first time that any
+ * spinner is pressed. A time picker that is not spinning does not hold any timer state.
+ *
+ * The rate of the increment events is calculated from the time that has elapsed since the spinner
+ * started changing the time, as measured with System.nanoTime(). The acceleration therefore stays
+ * the same even when the Event Dispatch Thread is busy, and some timer ticks are delivered late.
+ *
+ * This class is only used from the Swing Event Dispatch Thread.
  */
 public class TimeSpinnerTimer {
 
     /**
-     * timePicker, This holds the time picker that is associated with this class.
+     * changeAmountMinutes, This holds the number of minutes that should be added or subtracted
+     * with each increment of the spinning time picker value. This will typically be -1 or 1.
      */
-    final private TimePicker timePicker;
+    static private int changeAmountMinutes = 0;
 
     /**
-     * timePicker, This holds the number of minutes that should be added or subtracted with each
-     * increment of the time picker value. This will typically be -1 or 1.
+     * lastIncrementNanoTime, This holds the System.nanoTime() value of the last increment event.
      */
-    final private int changeAmountMinutes;
+    static private long lastIncrementNanoTime = 0;
 
     /**
-     * timer, This holds the timer associated with this class.
+     * millisForIndexList, This indicates how long each value in the millisPerIncrementList should
+     * be used, before moving onto the next value in the millisPerIncrementList. The last value is
+     * used for as long as the spinner remains active.
      */
-    final private Timer timer;
+    static private final int[] millisForIndexList = new int[]{
+        4200, 2800, 1900, 1400, 1000, 1000, 1000, 0};
 
     /**
-     * startDelayMillis, This indicates how long the timer should wait before firing its first tick.
-     * This value is used to make sure that the user can easily increase or decrease the date picker
-     * value by only 1 minute.
-     */
-    final private int startDelayMillis = 700;
-    /**
-     * timerRate, This indicates how often the timer should call the tick function, in milliseconds.
+     * millisPerIncrementList, For as long as any particular index in this array remains in effect,
+     * the currently used number indicates how many milliseconds should pass between increment
+     * events.
      */
-    final private int timerRate = 20;
+    static private final int[] millisPerIncrementList = new int[]{
+        280, 220, 180, 120, 80, 60, 40, 20};
+
     /**
-     * millisForIndexList, This indicates how long each value in the divisorList should be used,
-     * before moving onto the next value in the divisorList.
+     * spinningTimePicker, This holds the time picker that is currently spinning, or null if no time
+     * picker is spinning.
      */
-    final private int[] millisForIndexList = new int[]{
-        4200, 2800, 1900, 1400, 1000, 1000, 1000, 0};
+    static private TimePicker spinningTimePicker = null;
+
     /**
-     * divisorList, For as long as any particular index in this array remains in effect, the
-     * currently used number indicates how many tick calls should pass before the time picker value
-     * should be changed. For example, the number 3 indicates that the time picker value should be
-     * changed only once for every 3 calls to the tick function.
+     * startDelayMillis, This indicates how long the timer should wait before firing its first tick.
+     * This value is used to make sure that the user can easily increase or decrease the date picker
+     * value by only 1 minute.
      */
-    final private int[] divisorList = new int[]{14, 11, 9, 6, 4, 3, 2, 1};
+    static private final int startDelayMillis = 700;
+
     /**
-     * startedIndexTimeStamp, This indicates the time that the currently used index in the
-     * divisorList started to be used.
+     * startedIncrementingNanoTime, This holds the System.nanoTime() value of the first increment
+     * event of the current spinner activation, or zero if the first tick has not yet occurred.
      */
-    private long startedIndexTimeStamp = 0;
+    static private long startedIncrementingNanoTime = 0;
+
     /**
-     * currentIndex, This indicates the index that is currently in effect for the divisorList and
-     * the millisForIndexList.
+     * timer, This holds the shared Swing timer. This is null until a spinner is first pressed.
      */
-    private int currentIndex = 0;
+    static private Timer timer = null;
+
     /**
-     * ticksSinceIndexChange, This keeps track of the number of ticks that has passed since the last
-     * time that the current index was changed. This helps us calculate when we need to change the
-     * index to the next value.
+     * timerRate, This indicates how often the timer should call the tick function, in milliseconds.
      */
-    private int ticksSinceIndexChange;
+    static private final int timerRate = 20;
 
     /**
-     * Constructor.
+     * Constructor, This class only has static members.
      */
-    public TimeSpinnerTimer(TimePicker timePicker, int changeAmountMinutes) {
-        this.timePicker = timePicker;
-        this.changeAmountMinutes = changeAmountMinutes;
-        timer = new Timer(timerRate, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent event) {
-                tick();
-            }
-        });
-        timer.setInitialDelay(startDelayMillis);
+    private TimeSpinnerTimer() {
     }
 
     /**
-     * tick, This is called once each time that the timer fires. (Every 20 milliseconds).
-     *
-     * However, the value in the time picker will only be changed once for every certain number of
-     * calls to the tick() function. The number of calls which is required is controlled by the
-     * "divisorList" array values.
-     *
-     * The amount of time that is spent using each divisorList array value is controlled by the
-     * "millisForIndexList".
+     * start, This starts the spinner for the supplied time picker, and initializes the needed
+     * variables. If another time picker was spinning, then that spinner is stopped.
      */
-    private void tick() {
-        if (startedIndexTimeStamp == 0) {
-            startedIndexTimeStamp = System.currentTimeMillis();
+    static public void start(TimePicker timePicker, int changeAmountMinutes) {
+        if (timer == null) {
+            timer = new Timer(timerRate, event -> tick());
+            timer.setInitialDelay(startDelayMillis);
         }
-        long timeElapsedSinceIndexStartMilliseconds = System.currentTimeMillis() - startedIndexTimeStamp;
-        int maximumIndex = divisorList.length - 1;
-        int currentDivisor = divisorList[currentIndex];
-        if (ticksSinceIndexChange % currentDivisor == 0) {
-            timePicker.zInternalTryChangeTimeByIncrement(changeAmountMinutes);
-            // System.out.println("\nMillis: " + System.currentTimeMillis());
-            // System.out.println("Divisor: " + divisor);
-            // System.out.println("Value: " + timePicker.getTime());
-            if ((currentIndex < maximumIndex)
-                    && (timeElapsedSinceIndexStartMilliseconds > millisForIndexList[currentIndex])) {
-                ticksSinceIndexChange = 0;
-                ++currentIndex;
-                startedIndexTimeStamp = System.currentTimeMillis();
-            }
-        }
-        ++ticksSinceIndexChange;
+        timer.stop();
+        spinningTimePicker = timePicker;
+        TimeSpinnerTimer.changeAmountMinutes = changeAmountMinutes;
+        startedIncrementingNanoTime = 0;
+        lastIncrementNanoTime = 0;
+        timer.start();
     }
 
     /**
-     * stop, This is called to stop the timer.
+     * stop, This stops the spinner of the supplied time picker, if it is spinning with the supplied
+     * change amount. This does nothing if the supplied time picker is not spinning, or if it is
+     * spinning in the other direction.
      */
-    public void stop() {
+    static public void stop(TimePicker timePicker, int changeAmountMinutes) {
+        if (timer == null || spinningTimePicker != timePicker
+                || TimeSpinnerTimer.changeAmountMinutes != changeAmountMinutes) {
+            return;
+        }
         timer.stop();
+        spinningTimePicker = null;
     }
 
     /**
-     * start, This is called to start the timer, and to initialize the needed variables.
+     * getMillisPerIncrement, This returns the number of milliseconds that should pass between
+     * increment events, after the spinner has been changing the time for the supplied number of
+     * milliseconds.
      */
-    public void start() {
-        startedIndexTimeStamp = 0;
-        currentIndex = 0;
-        ticksSinceIndexChange = 0;
-        timer.start();
+    static private int getMillisPerIncrement(long elapsedMillis) {
+        int maximumIndex = millisPerIncrementList.length - 1;
+        for (int index = 0; index < maximumIndex; ++index) {
+            elapsedMillis -= millisForIndexList[index];
+            if (elapsedMillis < 0) {
+                return millisPerIncrementList[index];
+            }
+        }
+        return millisPerIncrementList[maximumIndex];
     }
 
+    /**
+     * tick, This is called once each time that the timer fires. (Every 20 milliseconds).
+     *
+     * However, the value in the time picker will only be changed when the current increment
+     * interval has passed since the last change. The increment interval becomes shorter as the
+     * elapsed time since the first change grows, as controlled by the "millisPerIncrementList" and
+     * the "millisForIndexList" arrays.
+     */
+    static private void tick() {
+        if (spinningTimePicker == null) {
+            timer.stop();
+            return;
+        }
+        long now = System.nanoTime();
+        if (startedIncrementingNanoTime == 0) {
+            startedIncrementingNanoTime = now;
+        } else {
+            long elapsedMillis = (now - startedIncrementingNanoTime) / 1000000L;
+            // Allow half of a tick of timer jitter, so that an increment that is due on this tick
+            // is not postponed to the next tick.
+            long nanosSinceIncrement = (now - lastIncrementNanoTime) + (timerRate * 500000L);
+            if (nanosSinceIncrement < getMillisPerIncrement(elapsedMillis) * 1000000L) {
+                return;
+            }
+        }
+        lastIncrementNanoTime = now;
+        spinningTimePicker.zInternalTryChangeTimeByIncrement(changeAmountMinutes);
+    }
 }